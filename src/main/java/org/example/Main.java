@@ -3,12 +3,20 @@ package org.example;
 import org.example.algorithms.*;
 import org.example.metrics.CSVWriter;
 import org.example.metrics.MetricsCollector;
+import org.example.metrics.PerformanceMetrics;
 import org.example.util.ArrayUtils;
+import org.example.util.RandomUtils;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Random;
+import java.util.List;
 
 public class Main {
-    private static final Random random = new Random(42);
+    private static final long DEFAULT_SEED = 42;
     
     public static void main(String[] args) {
         if (args.length == 0 || args[0].equals("--help") || args[0].equals("-h")) {
@@ -17,6 +25,21 @@ public class Main {
         }
         
         try {
+            args = applySeed(args);
+            if (args.length == 0) {
+                printUsage();
+                return;
+            }
+            
+            if (args[0].equalsIgnoreCase("external")) {
+                runExternalSort(args);
+                return;
+            }
+            if (args[0].equalsIgnoreCase("mmap")) {
+                runMappedSort(args);
+                return;
+            }
+            
             String algorithm = args[0];
             int size = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
             int runs = args.length > 2 ? Integer.parseInt(args[2]) : 1;
@@ -32,11 +55,17 @@ public class Main {
     private static void printUsage() {
         System.out.println("Divide-and-Conquer Algorithms Performance Tool");
         System.out.println();
-        System.out.println("Usage: java -jar app.jar <algorithm> [size] [runs] [output]");
+        System.out.println("Usage: java -jar app.jar <algorithm> [size] [runs] [output] [--seed <n>]");
+        System.out.println("       java -jar app.jar external <input> <output> [chunkSize]");
+        System.out.println("       java -jar app.jar mmap <file>");
         System.out.println();
         System.out.println("Algorithms:");
         System.out.println("  mergesort    - MergeSort with linear merge and cutoff");
+        System.out.println("  mergesort-inplace - Stable MergeSort without a merge buffer (low memory)");
         System.out.println("  quicksort    - QuickSort with randomized pivot");
+        System.out.println("  radixsort    - LSD radix sort with 8-bit digits");
+        System.out.println("  samplesort   - Parallel sample sort with per-phase timings");
+        System.out.println("  adaptive     - Dispatcher that picks an engine from input statistics");
         System.out.println("  select       - Deterministic select (median-of-medians)");
         System.out.println("  closest      - Closest pair of points (2D)");
         System.out.println("  all          - Run all algorithms");
@@ -45,17 +74,99 @@ public class Main {
         System.out.println("  size         - Input size (default: 1000)");
         System.out.println("  runs         - Number of runs (default: 1)");
         System.out.println("  output       - Output CSV file (default: results.csv)");
+        System.out.println("  chunkSize    - Ints sorted in memory per run (external only)");
+        System.out.println("  --seed <n>   - Seed inputs and randomized pivots (default: 42)");
         System.out.println();
         System.out.println("Examples:");
         System.out.println("  java -jar app.jar mergesort 10000 5 results.csv");
+        System.out.println("  java -jar app.jar mergesort-inplace 100000 3");
         System.out.println("  java -jar app.jar all 1000 10");
+        System.out.println("  java -jar app.jar quicksort 100000 3 results.csv --seed 42");
         System.out.println("  java -jar app.jar closest 500");
+        System.out.println("  java -jar app.jar external input.bin sorted.bin 1000000");
+        System.out.println("  java -jar app.jar mmap data.bin");
+    }
+    
+    /**
+     * Remove a {@code --seed <n>} option from the arguments, wherever it appears, and seed
+     * {@link RandomUtils} with it, or with DEFAULT_SEED when there is none, so every run is
+     * reproducible.
+     */
+    private static String[] applySeed(String[] args) {
+        List<String> remaining = new ArrayList<>();
+        long seed = DEFAULT_SEED;
+        
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--seed")) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("--seed requires a value");
+                }
+                seed = Long.parseLong(args[++i]);
+            } else {
+                remaining.add(args[i]);
+            }
+        }
+        
+        RandomUtils.setSeed(seed);
+        return remaining.toArray(new String[0]);
+    }
+    
+    /**
+     * Sort a file of big-endian ints in place through a memory mapping, so the data is
+     * never copied onto the heap. A single mapping is limited to 2 GB.
+     */
+    private static void runMappedSort(String[] args) throws Exception {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("mmap requires a <file>");
+        }
+        
+        Path file = Paths.get(args[1]);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size % Integer.BYTES != 0) {
+                throw new IllegalArgumentException("File length is not a multiple of " + Integer.BYTES + " bytes");
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("File is too large to map: " + size + " bytes");
+            }
+            
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            QuickSort.sort(mapped.asIntBuffer(), metrics);
+            mapped.force();
+        }
+        
+        System.out.println("Sorted " + file + " in place");
+        System.out.println(metrics.getSummary());
+    }
+    
+    private static void runExternalSort(String[] args) throws Exception {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("external requires <input> and <output> files");
+        }
+        
+        Path input = Paths.get(args[1]);
+        Path output = Paths.get(args[2]);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        if (args.length > 3) {
+            ExternalMergeSort.sort(input, output, Integer.parseInt(args[3]), metrics);
+        } else {
+            ExternalMergeSort.sort(input, output, metrics);
+        }
+        
+        PerformanceMetrics performance = metrics.getPerformanceMetrics();
+        System.out.println("External sort of " + input + " written to " + output);
+        System.out.println(metrics.getSummary());
+        System.out.println(String.format("Bytes read: %d, Bytes written: %d, Merge passes: %d",
+                performance.getBytesRead(), performance.getBytesWritten(), performance.getMergePasses()));
     }
     
     private static void runAlgorithm(String algorithm, int size, int runs, String outputFile) throws Exception {
         CSVWriter csvWriter = new CSVWriter(outputFile);
         csvWriter.setHeaders("Algorithm", "Size", "Run", "Time(ms)", "Comparisons", 
-                           "ArrayAccesses", "Allocations", "Swaps", "MaxDepth");
+                           "ArrayAccesses", "Allocations", "Swaps", "MaxDepth", "Fallbacks", "PeakAuxBytes");
         
         System.out.println("Running " + algorithm + " with size " + size + " for " + runs + " runs");
         
@@ -63,9 +174,21 @@ public class Main {
             case "mergesort":
                 runMergeSort(size, runs, csvWriter);
                 break;
+            case "mergesort-inplace":
+                runInPlaceMergeSort(size, runs, csvWriter);
+                break;
             case "quicksort":
                 runQuickSort(size, runs, csvWriter);
                 break;
+            case "radixsort":
+                runRadixSort(size, runs, csvWriter);
+                break;
+            case "samplesort":
+                runSampleSort(size, runs, csvWriter);
+                break;
+            case "adaptive":
+                runAdaptiveSort(size, runs, csvWriter);
+                break;
             case "select":
                 runSelect(size, runs, csvWriter);
                 break;
@@ -97,6 +220,20 @@ public class Main {
         }
     }
     
+    private static void runInPlaceMergeSort(int size, int runs, CSVWriter csvWriter) throws Exception {
+        for (int run = 1; run <= runs; run++) {
+            int[] array = ArrayUtils.generateRandomArray(size, 1000);
+            MetricsCollector metrics = new MetricsCollector();
+            
+            MergeSort.sortInPlace(array, metrics);
+            
+            csvWriter.addMetricsRow("MergeSortInPlace", size, metrics.getPerformanceMetrics(), 
+                                  metrics.getDepthTracker());
+            
+            System.out.println("Run " + run + ": " + metrics.getSummary());
+        }
+    }
+    
     private static void runQuickSort(int size, int runs, CSVWriter csvWriter) throws Exception {
         for (int run = 1; run <= runs; run++) {
             int[] array = ArrayUtils.generateRandomArray(size, 1000);
@@ -111,12 +248,54 @@ public class Main {
         }
     }
     
+    private static void runRadixSort(int size, int runs, CSVWriter csvWriter) throws Exception {
+        for (int run = 1; run <= runs; run++) {
+            int[] array = ArrayUtils.generateRandomArray(size, 1000);
+            MetricsCollector metrics = new MetricsCollector();
+            
+            RadixSort.sort(array, metrics);
+            
+            csvWriter.addMetricsRow("RadixSort", size, metrics.getPerformanceMetrics(), 
+                                  metrics.getDepthTracker());
+            
+            System.out.println("Run " + run + ": " + metrics.getSummary());
+        }
+    }
+    
+    private static void runSampleSort(int size, int runs, CSVWriter csvWriter) throws Exception {
+        for (int run = 1; run <= runs; run++) {
+            int[] array = ArrayUtils.generateRandomArray(size, Integer.MAX_VALUE);
+            MetricsCollector metrics = new MetricsCollector();
+            
+            SampleSort.sort(array, metrics);
+            
+            csvWriter.addMetricsRow("SampleSort", size, metrics.getPerformanceMetrics(), 
+                                  metrics.getDepthTracker());
+            
+            System.out.println("Run " + run + ": " + metrics.getSummary());
+        }
+    }
+    
+    private static void runAdaptiveSort(int size, int runs, CSVWriter csvWriter) throws Exception {
+        for (int run = 1; run <= runs; run++) {
+            int[] array = ArrayUtils.generateRandomArray(size, 1000);
+            MetricsCollector metrics = new MetricsCollector();
+            
+            AdaptiveSort.sort(array, metrics);
+            
+            csvWriter.addMetricsRow("AdaptiveSort", size, metrics.getPerformanceMetrics(), 
+                                  metrics.getDepthTracker());
+            
+            System.out.println("Run " + run + ": " + metrics.getSummary());
+        }
+    }
+    
     private static void runSelect(int size, int runs, CSVWriter csvWriter) throws Exception {
         for (int run = 1; run <= runs; run++) {
             int[] array = ArrayUtils.generateRandomArray(size, 1000);
             MetricsCollector metrics = new MetricsCollector();
             
-            int k = random.nextInt(size);
+            int k = RandomUtils.current().nextInt(size);
             DeterministicSelect.select(array, k, metrics);
             
             csvWriter.addMetricsRow("Select", size, metrics.getPerformanceMetrics(), 
@@ -142,7 +321,11 @@ public class Main {
     
     private static void runAllAlgorithms(int size, int runs, CSVWriter csvWriter) throws Exception {
         runMergeSort(size, runs, csvWriter);
+        runInPlaceMergeSort(size, runs, csvWriter);
         runQuickSort(size, runs, csvWriter);
+        runRadixSort(size, runs, csvWriter);
+        runSampleSort(size, runs, csvWriter);
+        runAdaptiveSort(size, runs, csvWriter);
         runSelect(size, runs, csvWriter);
         runClosestPair(size, runs, csvWriter);
     }
@@ -151,8 +334,8 @@ public class Main {
         ClosestPair.Point[] points = new ClosestPair.Point[count];
         for (int i = 0; i < count; i++) {
             points[i] = new ClosestPair.Point(
-                random.nextDouble() * 1000,
-                random.nextDouble() * 1000
+                RandomUtils.current().nextDouble() * 1000,
+                RandomUtils.current().nextDouble() * 1000
             );
         }
         return points;
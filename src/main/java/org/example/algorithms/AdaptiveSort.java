@@ -0,0 +1,207 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.example.util.ParallelUtils;
+import org.example.util.ValidationUtils;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Sort dispatcher for callers that do not know their data in advance. Arrays of at least
+ * PROBE_THRESHOLD elements are probed first: up to PROBES evenly spaced adjacent pairs, at
+ * most one per PROBE_SPACING elements, are read without modifying the array. How many pairs
+ * are out of order estimates presortedness; the first elements of the pairs estimate
+ * cardinality and value range. The input then goes to the first engine that fits:
+ * <ul>
+ *   <li>{@link Engine#INSERTION} for arrays of at most INSERTION_THRESHOLD elements, and
+ *       {@link Engine#BLOCK_QUICKSORT} for the rest of those too short to probe;</li>
+ *   <li>{@link Engine#RUN_MERGE} when nearly every probed pair is ascending, or nearly every
+ *       one descending, so the natural-run merge sort finds long runs;</li>
+ *   <li>{@link Engine#PARALLEL_RADIX} for large arrays when the pool has more than one
+ *       worker;</li>
+ *   <li>{@link Engine#THREE_WAY} when at most FEW_DISTINCT values show up in the sample,
+ *       where a handful of partitioning passes beats four digit passes;</li>
+ *   <li>{@link Engine#RADIX} when n is at least RADIX_LENGTH_PER_PASS times the number of
+ *       bytes the sampled range spans, so a dense range switches to radix sooner;</li>
+ *   <li>{@link Engine#BLOCK_QUICKSORT} otherwise.</li>
+ * </ul>
+ * With a collector, the chosen engine is recorded through
+ * {@link MetricsCollector#recordDecision} and the probe time as the "probe" phase; the
+ * collector's total time covers both the probe and the sort.
+ */
+public class AdaptiveSort {
+    private static final int INSERTION_THRESHOLD = 32;
+    private static final int PROBE_THRESHOLD = 256;
+    private static final int PROBES = 256;
+    private static final int PROBE_SPACING = 4;
+    private static final int PRESORTED_DIVISOR = 32;
+    private static final int FEW_DISTINCT = 8;
+    private static final int RADIX_LENGTH_PER_PASS = 128;
+    private static final int PARALLEL_THRESHOLD = 1 << 18;
+    
+    /**
+     * The engines the dispatcher chooses between.
+     */
+    public enum Engine {
+        INSERTION,
+        RUN_MERGE,
+        THREE_WAY,
+        RADIX,
+        PARALLEL_RADIX,
+        BLOCK_QUICKSORT
+    }
+    
+    public static void sort(int[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        dispatch(array, ForkJoinPool.commonPool(), metrics);
+        metrics.stop();
+    }
+    
+    public static void sort(int[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        dispatch(array, ForkJoinPool.commonPool(), null);
+    }
+    
+    /**
+     * Sort with the parallel engines running on the given pool. {@code metrics} may be null.
+     */
+    public static void sort(int[] array, ForkJoinPool pool, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(pool, "Pool");
+        
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        if (metrics != null) {
+            metrics.start();
+        }
+        
+        dispatch(array, pool, metrics);
+        
+        if (metrics != null) {
+            metrics.stop();
+        }
+    }
+    
+    /**
+     * The engine {@link #sort(int[], ForkJoinPool, MetricsCollector)} would pick for
+     * {@code array} on {@code pool}. The array is not modified.
+     */
+    public static Engine choose(int[] array, ForkJoinPool pool) {
+        ValidationUtils.validateNotNull(pool, "Pool");
+        
+        if (array == null || array.length <= 1) {
+            return Engine.INSERTION;
+        }
+        
+        return choose(array, pool.getParallelism(), null);
+    }
+    
+    private static void dispatch(int[] array, ForkJoinPool pool, MetricsCollector metrics) {
+        long probeStart = System.nanoTime();
+        Engine engine = choose(array, pool.getParallelism(), metrics);
+        
+        if (metrics != null) {
+            metrics.recordPhase("probe", System.nanoTime() - probeStart);
+            metrics.recordDecision(engine.name());
+        }
+        
+        int right = array.length - 1;
+        switch (engine) {
+            case INSERTION:
+                QuickSort.insertionSort(array, 0, right, metrics);
+                break;
+            case RUN_MERGE:
+                MergeSort.sortRuns(array, metrics);
+                break;
+            case THREE_WAY:
+                QuickSort.sortThreeWayRange(array, 0, right, metrics);
+                break;
+            case RADIX:
+                RadixSort.sort(array, new int[array.length], metrics);
+                break;
+            case PARALLEL_RADIX:
+                RadixSort.parallelSort(array, new int[array.length], pool, metrics);
+                break;
+            default:
+                QuickSort.sortRange(array, 0, right, metrics);
+                break;
+        }
+    }
+    
+    private static Engine choose(int[] array, int parallelism, MetricsCollector metrics) {
+        int n = array.length;
+        if (n <= INSERTION_THRESHOLD) {
+            return Engine.INSERTION;
+        }
+        if (n < PROBE_THRESHOLD) {
+            return Engine.BLOCK_QUICKSORT;
+        }
+        
+        int probes = Math.min(PROBES, n / PROBE_SPACING);
+        int[] seen = new int[FEW_DISTINCT];
+        int distinct = 0;
+        int ascents = 0;
+        int descents = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        
+        for (int probe = 0; probe < probes; probe++) {
+            int i = ParallelUtils.sliceStart(probe, probes, n - 1);
+            int a = array[i];
+            int b = array[i + 1];
+            ascents += a < b ? 1 : 0;
+            descents += a > b ? 1 : 0;
+            min = Math.min(min, a);
+            max = Math.max(max, a);
+            
+            // Only whether there are more than FEW_DISTINCT values matters, so stop counting there
+            if (distinct <= FEW_DISTINCT && !contains(seen, Math.min(distinct, FEW_DISTINCT), a)) {
+                if (distinct < FEW_DISTINCT) {
+                    seen[distinct] = a;
+                }
+                distinct++;
+            }
+        }
+        
+        if (metrics != null) {
+            metrics.incrementAllocations(seen.length);
+            metrics.incrementComparisons(2L * probes);
+            metrics.incrementArrayAccesses(2L * probes);
+        }
+        
+        int presortedLimit = probes / PRESORTED_DIVISOR;
+        if (descents <= presortedLimit || ascents <= presortedLimit) {
+            return Engine.RUN_MERGE;
+        }
+        if (n >= PARALLEL_THRESHOLD && parallelism > 1) {
+            return Engine.PARALLEL_RADIX;
+        }
+        if (distinct <= FEW_DISTINCT) {
+            return Engine.THREE_WAY;
+        }
+        
+        // Bytes the sampled range spans; passes over constant digits are skipped by the sort
+        long range = (long) max - min;
+        int passes = Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(range) + 7) / 8);
+        if (n >= passes * RADIX_LENGTH_PER_PASS) {
+            return Engine.RADIX;
+        }
+        return Engine.BLOCK_QUICKSORT;
+    }
+    
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
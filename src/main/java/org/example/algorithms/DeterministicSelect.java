@@ -1,10 +1,12 @@
 package org.example.algorithms;
 
 import org.example.metrics.MetricsCollector;
+import org.example.util.FloatingPointUtils;
+import org.example.util.PartitionUtils;
 import org.example.util.ValidationUtils;
-import java.util.Arrays;
 
 public class DeterministicSelect {
+    private static final int GROUP_SIZE = 5;
     
     public static int select(int[] array, int k, MetricsCollector metrics) {
         ValidationUtils.validateArray(array);
@@ -15,7 +17,7 @@ public class DeterministicSelect {
         }
         
         metrics.start();
-        int result = select(array, 0, array.length - 1, k, metrics);
+        int result = select(array, 0, array.length - 1, k, 1, metrics);
         metrics.stop();
         return result;
     }
@@ -28,115 +30,498 @@ public class DeterministicSelect {
             return array[0];
         }
         
-        return select(array, 0, array.length - 1, k, null);
+        return select(array, 0, array.length - 1, k, 1, null);
     }
     
-    private static int select(int[] array, int left, int right, int k, MetricsCollector metrics) {
-        if (left == right) {
-            return array[left];
+    /**
+     * Quickselect with pivots from {@code strategy} and three-way partitioning, so copies of
+     * the pivot leave the range together. After 2 log2(n) rounds the remaining range switches
+     * to {@link PivotStrategy#MEDIAN_OF_MEDIANS}, so adversarial input cannot steer the
+     * remaining rounds; the switch is reported as a fallback. {@code metrics} may be null.
+     */
+    public static int select(int[] array, int k, PivotStrategy strategy, MetricsCollector metrics) {
+        ValidationUtils.validateArray(array);
+        ValidationUtils.validateKthElement(array, k);
+        ValidationUtils.validateNotNull(strategy, "Pivot strategy");
+        
+        if (metrics != null) {
+            metrics.start();
         }
         
+        int result = quickselect(array, k, strategy, metrics);
+        
         if (metrics != null) {
-            metrics.enterRecursion();
+            metrics.stop();
         }
+        return result;
+    }
+    
+    public static long select(long[] array, int k, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(array, "Array");
+        validateRank(array.length, k);
+        
+        metrics.start();
+        long result = select(array, 0, array.length - 1, k, 1, metrics);
+        metrics.stop();
+        return result;
+    }
+    
+    public static long select(long[] array, int k) {
+        ValidationUtils.validateNotNull(array, "Array");
+        validateRank(array.length, k);
+        
+        return select(array, 0, array.length - 1, k, 1, null);
+    }
+    
+    /**
+     * Select the k-th smallest double in the order of {@link Double#compare}: -0.0 ranks
+     * before 0.0 and NaN after everything.
+     */
+    public static double select(double[] array, int k, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(array, "Array");
+        validateRank(array.length, k);
+        
+        metrics.start();
+        double result = selectValue(array, k, metrics);
+        metrics.stop();
+        return result;
+    }
+    
+    public static double select(double[] array, int k) {
+        ValidationUtils.validateNotNull(array, "Array");
+        validateRank(array.length, k);
         
-        int pivotIndex = medianOfMedians(array, left, right, metrics);
-        pivotIndex = partition(array, left, right, pivotIndex, metrics);
+        return selectValue(array, k, null);
+    }
+    
+    /**
+     * Select the k-th smallest float in the order of {@link Float#compare}: -0.0 ranks
+     * before 0.0 and NaN after everything.
+     */
+    public static float select(float[] array, int k, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(array, "Array");
+        validateRank(array.length, k);
         
-        int leftSize = pivotIndex - left;
+        metrics.start();
+        float result = selectValue(array, k, metrics);
+        metrics.stop();
+        return result;
+    }
+    
+    public static float select(float[] array, int k) {
+        ValidationUtils.validateNotNull(array, "Array");
+        validateRank(array.length, k);
         
-        if (k == leftSize) {
+        return selectValue(array, k, null);
+    }
+    
+    /**
+     * Median-of-medians selection of the element of absolute rank {@code k} in
+     * [left, right]. Group medians are gathered at the front of the range in place, and
+     * {@link PartitionUtils#threeWayPartition} removes every copy of the pivot at once. This
+     * replaces the {@link PartitionUtils#blockPartition} step used earlier: block
+     * partitioning sends keys equal to the pivot to one side, so on many equal keys a round
+     * could drop a single element, and it allocated its offset buffers on every call.
+     */
+    private static int select(int[] array, int left, int right, int k, int depth, MetricsCollector metrics) {
+        while (right - left >= GROUP_SIZE) {
             if (metrics != null) {
-                metrics.exitRecursion();
+                metrics.recordDepth(depth);
             }
-            return array[pivotIndex];
-        } else if (k < leftSize) {
-            int result = select(array, left, pivotIndex - 1, k, metrics);
-            if (metrics != null) {
-                metrics.exitRecursion();
+            
+            int pivotIndex = medianOfMedians(array, left, right, depth, metrics);
+            long bounds = PartitionUtils.threeWayPartition(array, left, right, pivotIndex, metrics);
+            int lt = PartitionUtils.equalStart(bounds);
+            int gt = PartitionUtils.equalEnd(bounds);
+            
+            if (k < lt) {
+                right = lt - 1;
+            } else if (k > gt) {
+                left = gt + 1;
+            } else {
+                return array[k];
+            }
+        }
+        
+        insertionSort(array, left, right, metrics);
+        return array[k];
+    }
+    
+    /**
+     * Median-of-medians pivot index for {@code array[left..right]}, backing
+     * {@link PivotStrategy#MEDIAN_OF_MEDIANS}.
+     */
+    static int medianOfMediansPivot(int[] array, int left, int right, MetricsCollector metrics) {
+        return medianOfMedians(array, left, right, 1, metrics);
+    }
+    
+    private static int quickselect(int[] array, int k, PivotStrategy strategy, MetricsCollector metrics) {
+        int left = 0;
+        int right = array.length - 1;
+        int rounds = 2 * (31 - Integer.numberOfLeadingZeros(array.length));
+        int depth = 1;
+        
+        while (left < right) {
+            if (rounds-- == 0 && strategy != PivotStrategy.MEDIAN_OF_MEDIANS) {
+                strategy = PivotStrategy.MEDIAN_OF_MEDIANS;
+                if (metrics != null) {
+                    metrics.incrementFallbacks();
+                }
             }
-            return result;
-        } else {
-            int result = select(array, pivotIndex + 1, right, k - leftSize - 1, metrics);
+            
             if (metrics != null) {
-                metrics.exitRecursion();
+                metrics.recordDepth(depth++);
+            }
+            
+            int pivotIndex = strategy.selectPivot(array, left, right, metrics);
+            long bounds = PartitionUtils.threeWayPartition(array, left, right, pivotIndex, metrics);
+            int lt = PartitionUtils.equalStart(bounds);
+            int gt = PartitionUtils.equalEnd(bounds);
+            
+            if (k < lt) {
+                right = lt - 1;
+            } else if (k > gt) {
+                left = gt + 1;
+            } else {
+                break;
             }
-            return result;
         }
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses();
+        }
+        return array[k];
     }
     
-    private static int medianOfMedians(int[] array, int left, int right, MetricsCollector metrics) {
-        int n = right - left + 1;
+    private static int medianOfMedians(int[] array, int left, int right, int depth, MetricsCollector metrics) {
+        int groups = 0;
         
-        if (n <= 5) {
-            return medianOfFive(array, left, right, metrics);
+        for (int groupLeft = left; groupLeft <= right; groupLeft += GROUP_SIZE) {
+            int groupRight = Math.min(groupLeft + GROUP_SIZE - 1, right);
+            insertionSort(array, groupLeft, groupRight, metrics);
+            
+            int median = groupLeft + (groupRight - groupLeft) / 2;
+            int target = left + groups++;
+            int temp = array[target];
+            array[target] = array[median];
+            array[median] = temp;
         }
         
-        int numGroups = (n + 4) / 5;
-        int[] medians = new int[numGroups];
-        
-        for (int i = 0; i < numGroups; i++) {
-            int groupLeft = left + i * 5;
-            int groupRight = Math.min(groupLeft + 4, right);
-            medians[i] = medianOfFive(array, groupLeft, groupRight, metrics);
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(4L * groups);
+            metrics.incrementSwaps(groups);
         }
         
-        return select(medians, 0, numGroups - 1, numGroups / 2, metrics);
+        int mid = left + (groups - 1) / 2;
+        select(array, left, left + groups - 1, mid, depth + 1, metrics);
+        return mid;
     }
     
-    private static int medianOfFive(int[] array, int left, int right, MetricsCollector metrics) {
-        int[] temp = Arrays.copyOfRange(array, left, right + 1);
-        Arrays.sort(temp);
+    private static void insertionSort(int[] array, int left, int right, MetricsCollector metrics) {
+        long comparisons = 0;
+        
+        for (int i = left + 1; i <= right; i++) {
+            int key = array[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                comparisons++;
+                if (array[j] <= key) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                j--;
+            }
+            
+            array[j + 1] = key;
+        }
         
         if (metrics != null) {
-            metrics.incrementAllocations(temp.length);
-            metrics.incrementArrayAccesses(temp.length * 2);
+            metrics.incrementComparisons(comparisons);
+        }
+    }
+    
+    private static void validateRank(int length, int k) {
+        if (k < 0 || k >= length) {
+            throw new IllegalArgumentException("k=" + k + " must be in range [0, " + (length - 1) + "]");
+        }
+    }
+    
+    /**
+     * Median-of-medians selection of the element of absolute rank {@code k} in
+     * [left, right]. Group medians are gathered at the front of the range in place, and a
+     * three-way partition removes every copy of the pivot at once.
+     */
+    private static long select(long[] array, int left, int right, int k, int depth, MetricsCollector metrics) {
+        while (right - left >= GROUP_SIZE) {
+            if (metrics != null) {
+                metrics.recordDepth(depth);
+            }
+            
+            long pivot = array[medianOfMedians(array, left, right, depth, metrics)];
+            
+            int lt = left;
+            int gt = right;
+            int i = left;
+            while (i <= gt) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                long value = array[i];
+                if (value < pivot) {
+                    array[i++] = array[lt];
+                    array[lt++] = value;
+                } else if (value > pivot) {
+                    array[i] = array[gt];
+                    array[gt--] = value;
+                } else {
+                    i++;
+                }
+            }
+            
+            if (k < lt) {
+                right = lt - 1;
+            } else if (k > gt) {
+                left = gt + 1;
+            } else {
+                return pivot;
+            }
         }
         
-        return left + (right - left) / 2;
+        insertionSort(array, left, right, metrics);
+        return array[k];
     }
     
-    private static int partition(int[] array, int left, int right, int pivotIndex, MetricsCollector metrics) {
-        swap(array, pivotIndex, right);
+    private static int medianOfMedians(long[] array, int left, int right, int depth, MetricsCollector metrics) {
+        int groups = 0;
         
-        if (metrics != null) {
-            metrics.incrementSwaps();
-            metrics.incrementArrayAccesses(4);
+        for (int groupLeft = left; groupLeft <= right; groupLeft += GROUP_SIZE) {
+            int groupRight = Math.min(groupLeft + GROUP_SIZE - 1, right);
+            insertionSort(array, groupLeft, groupRight, metrics);
+            
+            int median = groupLeft + (groupRight - groupLeft) / 2;
+            int target = left + groups++;
+            long temp = array[target];
+            array[target] = array[median];
+            array[median] = temp;
         }
         
-        int pivot = array[right];
-        int i = left - 1;
+        int mid = left + (groups - 1) / 2;
+        select(array, left, left + groups - 1, mid, depth + 1, metrics);
+        return mid;
+    }
+    
+    private static void insertionSort(long[] array, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            long key = array[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                }
+                if (array[j] <= key) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                j--;
+            }
+            
+            array[j + 1] = key;
+        }
+    }
+    
+    private static double selectValue(double[] array, int k, MetricsCollector metrics) {
+        int end = FloatingPointUtils.moveNaNsToEnd(array);
+        if (k >= end) {
+            return array[k];
+        }
         
-        for (int j = left; j < right; j++) {
+        double result = select(array, 0, end - 1, k, 1, metrics);
+        return result == 0.0 ? FloatingPointUtils.signedZeroAt(array, end, k) : result;
+    }
+    
+    /**
+     * Median-of-medians selection of the element of absolute rank {@code k} in
+     * [left, right]. Group medians are gathered at the front of the range in place, and a
+     * three-way partition removes every copy of the pivot at once.
+     */
+    private static double select(double[] array, int left, int right, int k, int depth, MetricsCollector metrics) {
+        while (right - left >= GROUP_SIZE) {
             if (metrics != null) {
-                metrics.incrementComparisons();
-                metrics.incrementArrayAccesses(2);
+                metrics.recordDepth(depth);
             }
             
-            if (array[j] <= pivot) {
-                i++;
-                swap(array, i, j);
+            double pivot = array[medianOfMedians(array, left, right, depth, metrics)];
+            
+            int lt = left;
+            int gt = right;
+            int i = left;
+            while (i <= gt) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
                 
+                double value = array[i];
+                if (value < pivot) {
+                    array[i++] = array[lt];
+                    array[lt++] = value;
+                } else if (value > pivot) {
+                    array[i] = array[gt];
+                    array[gt--] = value;
+                } else {
+                    i++;
+                }
+            }
+            
+            if (k < lt) {
+                right = lt - 1;
+            } else if (k > gt) {
+                left = gt + 1;
+            } else {
+                return pivot;
+            }
+        }
+        
+        insertionSort(array, left, right, metrics);
+        return array[k];
+    }
+    
+    private static int medianOfMedians(double[] array, int left, int right, int depth, MetricsCollector metrics) {
+        int groups = 0;
+        
+        for (int groupLeft = left; groupLeft <= right; groupLeft += GROUP_SIZE) {
+            int groupRight = Math.min(groupLeft + GROUP_SIZE - 1, right);
+            insertionSort(array, groupLeft, groupRight, metrics);
+            
+            int median = groupLeft + (groupRight - groupLeft) / 2;
+            int target = left + groups++;
+            double temp = array[target];
+            array[target] = array[median];
+            array[median] = temp;
+        }
+        
+        int mid = left + (groups - 1) / 2;
+        select(array, left, left + groups - 1, mid, depth + 1, metrics);
+        return mid;
+    }
+    
+    private static void insertionSort(double[] array, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            double key = array[i];
+            int j = i - 1;
+            
+            while (j >= left) {
                 if (metrics != null) {
-                    metrics.incrementSwaps();
-                    metrics.incrementArrayAccesses(4);
+                    metrics.incrementComparisons();
+                }
+                if (array[j] <= key) {
+                    break;
                 }
+                array[j + 1] = array[j];
+                j--;
             }
+            
+            array[j + 1] = key;
+        }
+    }
+    
+    private static float selectValue(float[] array, int k, MetricsCollector metrics) {
+        int end = FloatingPointUtils.moveNaNsToEnd(array);
+        if (k >= end) {
+            return array[k];
         }
         
-        swap(array, i + 1, right);
+        float result = select(array, 0, end - 1, k, 1, metrics);
+        return result == 0.0f ? FloatingPointUtils.signedZeroAt(array, end, k) : result;
+    }
+    
+    /**
+     * Median-of-medians selection of the element of absolute rank {@code k} in
+     * [left, right]. Group medians are gathered at the front of the range in place, and a
+     * three-way partition removes every copy of the pivot at once.
+     */
+    private static float select(float[] array, int left, int right, int k, int depth, MetricsCollector metrics) {
+        while (right - left >= GROUP_SIZE) {
+            if (metrics != null) {
+                metrics.recordDepth(depth);
+            }
+            
+            float pivot = array[medianOfMedians(array, left, right, depth, metrics)];
+            
+            int lt = left;
+            int gt = right;
+            int i = left;
+            while (i <= gt) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                float value = array[i];
+                if (value < pivot) {
+                    array[i++] = array[lt];
+                    array[lt++] = value;
+                } else if (value > pivot) {
+                    array[i] = array[gt];
+                    array[gt--] = value;
+                } else {
+                    i++;
+                }
+            }
+            
+            if (k < lt) {
+                right = lt - 1;
+            } else if (k > gt) {
+                left = gt + 1;
+            } else {
+                return pivot;
+            }
+        }
         
-        if (metrics != null) {
-            metrics.incrementSwaps();
-            metrics.incrementArrayAccesses(4);
+        insertionSort(array, left, right, metrics);
+        return array[k];
+    }
+    
+    private static int medianOfMedians(float[] array, int left, int right, int depth, MetricsCollector metrics) {
+        int groups = 0;
+        
+        for (int groupLeft = left; groupLeft <= right; groupLeft += GROUP_SIZE) {
+            int groupRight = Math.min(groupLeft + GROUP_SIZE - 1, right);
+            insertionSort(array, groupLeft, groupRight, metrics);
+            
+            int median = groupLeft + (groupRight - groupLeft) / 2;
+            int target = left + groups++;
+            float temp = array[target];
+            array[target] = array[median];
+            array[median] = temp;
         }
         
-        return i + 1;
+        int mid = left + (groups - 1) / 2;
+        select(array, left, left + groups - 1, mid, depth + 1, metrics);
+        return mid;
     }
     
-    private static void swap(int[] array, int i, int j) {
-        int temp = array[i];
-        array[i] = array[j];
-        array[j] = temp;
+    private static void insertionSort(float[] array, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            float key = array[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                }
+                if (array[j] <= key) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                j--;
+            }
+            
+            array[j + 1] = key;
+        }
     }
 }
@@ -0,0 +1,289 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * External merge sort for files of 32-bit big-endian ints (the layout written by
+ * {@link java.io.DataOutputStream#writeInt}). The input is read in chunks that fit on the
+ * heap, each chunk is sorted in memory and spilled to a temporary run file, and the runs
+ * are then k-way merged through buffered NIO channels until a single run remains.
+ * Bytes read and written and the number of merge passes are reported to the collector.
+ */
+public class ExternalMergeSort {
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+    private static final int DEFAULT_MERGE_FACTOR = 64;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    
+    /**
+     * In-memory sorter used for each chunk before it is spilled.
+     */
+    public enum ChunkSorter {
+        MERGE_SORT,
+        QUICK_SORT
+    }
+    
+    public static void sort(Path input, Path output, MetricsCollector metrics) throws IOException {
+        sort(input, output, DEFAULT_CHUNK_SIZE, DEFAULT_MERGE_FACTOR, ChunkSorter.QUICK_SORT, metrics);
+    }
+    
+    public static void sort(Path input, Path output, int chunkSize, MetricsCollector metrics) throws IOException {
+        sort(input, output, chunkSize, DEFAULT_MERGE_FACTOR, ChunkSorter.QUICK_SORT, metrics);
+    }
+    
+    public static void sort(Path input, Path output) throws IOException {
+        sort(input, output, DEFAULT_CHUNK_SIZE, DEFAULT_MERGE_FACTOR, ChunkSorter.QUICK_SORT, null);
+    }
+    
+    /**
+     * Sort {@code input} into {@code output}. At most {@code chunkSize} ints are held in
+     * memory during run generation and at most {@code mergeFactor} runs are merged at once.
+     * Chunks are sorted without instrumentation because the in-memory sorters reset the
+     * collector they are given; comparisons are counted for the merge phase only.
+     */
+    public static void sort(Path input, Path output, int chunkSize, int mergeFactor,
+                            ChunkSorter chunkSorter, MetricsCollector metrics) throws IOException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        if (mergeFactor < 2) {
+            throw new IllegalArgumentException("Merge factor must be at least 2");
+        }
+        if (Files.size(input) % Integer.BYTES != 0) {
+            throw new IllegalArgumentException("Input length is not a multiple of " + Integer.BYTES + " bytes");
+        }
+        
+        if (metrics != null) {
+            metrics.start();
+        }
+        
+        Path tempDir = Files.createTempDirectory("external-sort");
+        try {
+            List<Path> runs = createRuns(input, tempDir, chunkSize, chunkSorter, metrics);
+            
+            while (runs.size() > 1) {
+                runs = mergePass(runs, tempDir, mergeFactor, metrics);
+            }
+            
+            if (runs.isEmpty()) {
+                Files.write(output, new byte[0]);
+            } else {
+                Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            deleteRecursively(tempDir);
+            if (metrics != null) {
+                metrics.stop();
+            }
+        }
+    }
+    
+    private static List<Path> createRuns(Path input, Path tempDir, int chunkSize,
+                                         ChunkSorter chunkSorter, MetricsCollector metrics) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        int[] chunk = new int[(int) Math.min(chunkSize, Files.size(input) / Integer.BYTES)];
+        
+        if (metrics != null) {
+            metrics.incrementAllocations(chunk.length);
+        }
+        
+        try (RunReader reader = new RunReader(input, metrics)) {
+            while (reader.hasNext()) {
+                int count = 0;
+                while (count < chunk.length && reader.hasNext()) {
+                    chunk[count++] = reader.next();
+                }
+                
+                int[] sorted = count == chunk.length ? chunk : Arrays.copyOf(chunk, count);
+                if (chunkSorter == ChunkSorter.MERGE_SORT) {
+                    MergeSort.sort(sorted);
+                } else {
+                    QuickSort.sortDualPivot(sorted);
+                }
+                
+                Path run = Files.createTempFile(tempDir, "run", ".bin");
+                try (RunWriter writer = new RunWriter(run, metrics)) {
+                    for (int i = 0; i < count; i++) {
+                        writer.write(sorted[i]);
+                    }
+                }
+                runs.add(run);
+            }
+        }
+        
+        return runs;
+    }
+    
+    private static List<Path> mergePass(List<Path> runs, Path tempDir, int mergeFactor,
+                                        MetricsCollector metrics) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        
+        for (int from = 0; from < runs.size(); from += mergeFactor) {
+            List<Path> group = runs.subList(from, Math.min(from + mergeFactor, runs.size()));
+            
+            if (group.size() == 1) {
+                merged.add(group.get(0));
+                continue;
+            }
+            
+            Path target = Files.createTempFile(tempDir, "run", ".bin");
+            mergeRuns(group, target, metrics);
+            for (Path run : group) {
+                Files.delete(run);
+            }
+            merged.add(target);
+        }
+        
+        if (metrics != null) {
+            metrics.incrementMergePasses();
+        }
+        
+        return merged;
+    }
+    
+    /**
+     * Merge sorted runs into {@code target} through a {@link LoserTree}.
+     */
+    private static void mergeRuns(List<Path> runs, Path target, MetricsCollector metrics) throws IOException {
+        int k = runs.size();
+        RunReader[] readers = new RunReader[k];
+        
+        try (RunWriter writer = new RunWriter(target, metrics)) {
+            LoserTree tree = new LoserTree(k, metrics);
+            
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), metrics);
+                advance(tree, readers[i], i);
+            }
+            tree.build();
+            
+            int winner;
+            while ((winner = tree.winner()) >= 0) {
+                writer.write(tree.winnerKey());
+                advance(tree, readers[winner], winner);
+                tree.replay(winner);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+    
+    private static void advance(LoserTree tree, RunReader reader, int source) throws IOException {
+        if (reader.hasNext()) {
+            tree.setKey(source, reader.next());
+        } else {
+            tree.setExhausted(source);
+        }
+    }
+    
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (var entries = Files.list(dir)) {
+            for (Path entry : (Iterable<Path>) entries::iterator) {
+                Files.deleteIfExists(entry);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+    
+    /**
+     * Buffered sequential reader of big-endian ints over a file channel.
+     */
+    private static final class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+        private final MetricsCollector metrics;
+        private boolean eof;
+        
+        RunReader(Path path, MetricsCollector metrics) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.metrics = metrics;
+            buffer.limit(0);
+        }
+        
+        boolean hasNext() throws IOException {
+            if (buffer.remaining() >= Integer.BYTES) {
+                return true;
+            }
+            
+            while (!eof && buffer.remaining() < Integer.BYTES) {
+                buffer.compact();
+                int read = channel.read(buffer);
+                buffer.flip();
+                
+                if (read < 0) {
+                    eof = true;
+                } else if (metrics != null) {
+                    metrics.incrementBytesRead(read);
+                }
+            }
+            
+            return buffer.remaining() >= Integer.BYTES;
+        }
+        
+        int next() {
+            return buffer.getInt();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+    
+    /**
+     * Buffered sequential writer of big-endian ints over a file channel.
+     */
+    private static final class RunWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+        private final MetricsCollector metrics;
+        
+        RunWriter(Path path, MetricsCollector metrics) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.metrics = metrics;
+        }
+        
+        void write(int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+        
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                int written = channel.write(buffer);
+                if (metrics != null) {
+                    metrics.incrementBytesWritten(written);
+                }
+            }
+            buffer.clear();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
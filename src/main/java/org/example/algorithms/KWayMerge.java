@@ -0,0 +1,135 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.example.util.ValidationUtils;
+
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Stable k-way merge of sorted int sources through a {@link LoserTree}, using about
+ * log2(k) comparisons per output element. Sources can be in-memory runs or streams.
+ */
+public class KWayMerge {
+    
+    public static int[] merge(int[][] runs, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(runs, "Runs");
+        
+        metrics.start();
+        int[] result = mergeRuns(runs, metrics);
+        metrics.stop();
+        
+        return result;
+    }
+    
+    public static int[] merge(int[][] runs) {
+        ValidationUtils.validateNotNull(runs, "Runs");
+        
+        return mergeRuns(runs, null);
+    }
+    
+    /**
+     * Merge sorted streaming sources into {@code sink}. Sources are consumed lazily, one
+     * element ahead of the output.
+     */
+    public static void merge(List<? extends PrimitiveIterator.OfInt> sources, IntConsumer sink,
+                             MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(sources, "Sources");
+        ValidationUtils.validateNotNull(sink, "Sink");
+        
+        metrics.start();
+        mergeSources(sources, sink, metrics);
+        metrics.stop();
+    }
+    
+    public static void merge(List<? extends PrimitiveIterator.OfInt> sources, IntConsumer sink) {
+        ValidationUtils.validateNotNull(sources, "Sources");
+        ValidationUtils.validateNotNull(sink, "Sink");
+        
+        mergeSources(sources, sink, null);
+    }
+    
+    private static int[] mergeRuns(int[][] runs, MetricsCollector metrics) {
+        int k = runs.length;
+        long total = 0;
+        for (int[] run : runs) {
+            total += run.length;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Merged length exceeds array capacity: " + total);
+        }
+        
+        int[] result = new int[(int) total];
+        if (metrics != null) {
+            metrics.incrementAllocations(result.length);
+        }
+        if (k == 0) {
+            return result;
+        }
+        
+        int[] cursors = new int[k];
+        LoserTree tree = new LoserTree(k, metrics);
+        
+        for (int i = 0; i < k; i++) {
+            if (runs[i].length > 0) {
+                tree.setKey(i, runs[i][0]);
+            } else {
+                tree.setExhausted(i);
+            }
+        }
+        tree.build();
+        
+        for (int out = 0; out < result.length; out++) {
+            int source = tree.winner();
+            result[out] = tree.winnerKey();
+            
+            int next = ++cursors[source];
+            if (next < runs[source].length) {
+                tree.setKey(source, runs[source][next]);
+            } else {
+                tree.setExhausted(source);
+            }
+            tree.replay(source);
+        }
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(2L * result.length);
+        }
+        
+        return result;
+    }
+    
+    private static void mergeSources(List<? extends PrimitiveIterator.OfInt> sources, IntConsumer sink,
+                                     MetricsCollector metrics) {
+        int k = sources.size();
+        if (k == 0) {
+            return;
+        }
+        
+        LoserTree tree = new LoserTree(k, metrics);
+        
+        for (int i = 0; i < k; i++) {
+            PrimitiveIterator.OfInt source = sources.get(i);
+            if (source.hasNext()) {
+                tree.setKey(i, source.nextInt());
+            } else {
+                tree.setExhausted(i);
+            }
+        }
+        tree.build();
+        
+        int winner;
+        while ((winner = tree.winner()) >= 0) {
+            sink.accept(tree.winnerKey());
+            
+            PrimitiveIterator.OfInt source = sources.get(winner);
+            if (source.hasNext()) {
+                tree.setKey(winner, source.nextInt());
+            } else {
+                tree.setExhausted(winner);
+            }
+            tree.replay(winner);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+
+/**
+ * Strategy for the short ranges at the bottom of a divide-and-conquer sort. {@link MergeSort}
+ * and {@link QuickSort} hand every range no longer than both their own cutoff and
+ * {@link #maxLength()} to the leaf sorter instead of their built-in insertion sort.
+ */
+public interface LeafSorter {
+    
+    /**
+     * Straight insertion sort, the built-in leaf of every sort in this package. It has no
+     * length limit of its own, so the caller's cutoff applies unchanged.
+     */
+    LeafSorter INSERTION = new LeafSorter() {
+        @Override
+        public int maxLength() {
+            return Integer.MAX_VALUE;
+        }
+        
+        @Override
+        public void sort(int[] array, int left, int right, MetricsCollector metrics) {
+            QuickSort.insertionSort(array, left, right, metrics);
+        }
+    };
+    
+    /**
+     * Branch-free scalar sorting network for up to 16 elements.
+     */
+    LeafSorter NETWORK = new LeafSorter() {
+        @Override
+        public int maxLength() {
+            return SortingNetworks.MAX_LENGTH;
+        }
+        
+        @Override
+        public void sort(int[] array, int left, int right, MetricsCollector metrics) {
+            SortingNetworks.sort(array, left, right, metrics);
+        }
+    };
+    
+    /**
+     * Bitonic sorting network over one SIMD register (8 ints with AVX2, 16 with AVX-512)
+     * built on {@code jdk.incubator.vector}. The module must be resolved at run time with
+     * {@code --add-modules jdk.incubator.vector}; without it, or on hardware with fewer than
+     * 8 int lanes, this is the same object as {@link #NETWORK}.
+     */
+    LeafSorter VECTOR = SortingNetworks.vectorized();
+    
+    /**
+     * Longest range this sorter should be given. Callers cap their cutoff at this value.
+     */
+    int maxLength();
+    
+    /**
+     * Sort {@code array[left..right]} in place. Ranges longer than {@link #maxLength()} must
+     * still be sorted correctly, though not necessarily quickly.
+     */
+    void sort(int[] array, int left, int right, MetricsCollector metrics);
+}
@@ -0,0 +1,102 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+
+/**
+ * Tournament tree of losers over k sources. Leaf i holds the current head of source i;
+ * each internal node stores the loser of the match played there and node 0 stores the
+ * overall winner. After the winner's source advances only its leaf-to-root path is
+ * replayed, so each output element costs about log2(k) comparisons.
+ * <p>
+ * Entries are packed as {@code key << 32 | source} so a single long comparison orders by
+ * key and breaks ties by source index, which keeps the merge stable across sources. An
+ * exhausted source is {@link Long#MAX_VALUE} and loses every match.
+ */
+final class LoserTree {
+    private static final long EXHAUSTED = Long.MAX_VALUE;
+    
+    private final int k;
+    private final long[] tree;
+    private final long[] leaves;
+    private final MetricsCollector metrics;
+    
+    LoserTree(int k, MetricsCollector metrics) {
+        this.k = k;
+        this.tree = new long[k];
+        this.leaves = new long[k];
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Set the head of {@code source} before {@link #build()} or {@link #replay(int)}.
+     */
+    void setKey(int source, int key) {
+        leaves[source] = ((long) key << 32) | source;
+    }
+    
+    /**
+     * Mark {@code source} as having no more elements.
+     */
+    void setExhausted(int source) {
+        leaves[source] = EXHAUSTED;
+    }
+    
+    /**
+     * Play the initial tournament once every source has a key or is exhausted.
+     */
+    void build() {
+        long[] winners = new long[2 * k];
+        System.arraycopy(leaves, 0, winners, k, k);
+        
+        for (int node = k - 1; node >= 1; node--) {
+            long a = winners[2 * node];
+            long b = winners[2 * node + 1];
+            countComparison(a, b);
+            
+            winners[node] = Math.min(a, b);
+            tree[node] = Math.max(a, b);
+        }
+        
+        tree[0] = winners[1];
+    }
+    
+    /**
+     * Source holding the smallest head, or -1 once every source is exhausted.
+     */
+    int winner() {
+        long w = tree[0];
+        return w == EXHAUSTED ? -1 : (int) w;
+    }
+    
+    /**
+     * Head of the current winner.
+     */
+    int winnerKey() {
+        return (int) (tree[0] >> 32);
+    }
+    
+    /**
+     * Replay the path from {@code source}'s leaf to the root after its head changed.
+     * Each match is resolved with min/max instead of a branch, since the outcome is
+     * unpredictable on random data.
+     */
+    void replay(int source) {
+        long w = leaves[source];
+        
+        for (int node = (source + k) >>> 1; node >= 1; node >>>= 1) {
+            long challenger = tree[node];
+            countComparison(challenger, w);
+            
+            tree[node] = Math.max(challenger, w);
+            w = Math.min(challenger, w);
+        }
+        
+        tree[0] = w;
+    }
+    
+    private void countComparison(long a, long b) {
+        if (metrics != null && a != EXHAUSTED && b != EXHAUSTED) {
+            metrics.incrementComparisons();
+        }
+    }
+}
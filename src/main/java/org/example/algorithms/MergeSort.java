@@ -1,9 +1,18 @@
 package org.example.algorithms;
 
 import org.example.metrics.MetricsCollector;
+import org.example.util.FloatingPointUtils;
+import org.example.util.ScratchArena;
+import org.example.util.ValidationUtils;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class MergeSort {
     private static final int CUTOFF_THRESHOLD = 15;
+    private static final int PARALLEL_GRANULARITY = 1 << 13;
+    private static final int MIN_MERGE = 32;
+    private static final int MIN_GALLOP = 7;
+    private static final int MAX_RUN_STACK = 49;
     
     public static void sort(int[] array, MetricsCollector metrics) {
         if (array == null || array.length <= 1) {
@@ -12,7 +21,9 @@ public class MergeSort {
         
         metrics.start();
         int[] buffer = new int[array.length];
-        sort(array, 0, array.length - 1, buffer, metrics);
+        metrics.incrementAllocations(buffer.length);
+        metrics.recordAuxiliaryBytes((long) buffer.length * Integer.BYTES);
+        sort(array, 0, array.length - 1, buffer, 1, LeafSorter.INSERTION, metrics);
         metrics.stop();
     }
     
@@ -22,56 +33,1165 @@ public class MergeSort {
         }
         
         int[] buffer = new int[array.length];
-        sort(array, 0, array.length - 1, buffer, null);
+        sort(array, 0, array.length - 1, buffer, 1, LeafSorter.INSERTION, null);
     }
     
-    private static void sort(int[] array, int left, int right, int[] buffer, MetricsCollector metrics) {
+    /**
+     * Sort with the given {@link LeafSorter} in place of insertion sort for short ranges.
+     * {@code metrics} may be null.
+     */
+    public static void sort(int[] array, LeafSorter leafSorter, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(leafSorter, "Leaf sorter");
+        
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        if (metrics != null) {
+            metrics.start();
+        }
+        
+        int[] buffer = new int[array.length];
+        if (metrics != null) {
+            metrics.incrementAllocations(buffer.length);
+            metrics.recordAuxiliaryBytes((long) buffer.length * Integer.BYTES);
+        }
+        sort(array, 0, array.length - 1, buffer, 1, leafSorter, metrics);
+        
+        if (metrics != null) {
+            metrics.stop();
+        }
+    }
+    
+    public static void sort(long[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sortBottomUp(array, array.length, new long[array.length], metrics);
+        metrics.stop();
+    }
+    
+    public static void sort(long[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        sortBottomUp(array, array.length, new long[array.length], null);
+    }
+    
+    /**
+     * Sort doubles in the order of {@link Double#compare}: -0.0 before 0.0 and NaN last.
+     */
+    public static void sort(double[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sortValues(array, metrics);
+        metrics.stop();
+    }
+    
+    public static void sort(double[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        sortValues(array, null);
+    }
+    
+    /**
+     * Sort floats in the order of {@link Float#compare}: -0.0 before 0.0 and NaN last.
+     */
+    public static void sort(float[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sortValues(array, metrics);
+        metrics.stop();
+    }
+    
+    public static void sort(float[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        sortValues(array, null);
+    }
+    
+    /**
+     * Sort using a caller-provided scratch buffer of at least {@code array.length} ints, so
+     * repeated sorts allocate nothing. The buffer's contents are overwritten.
+     */
+    public static void sortWithBuffer(int[] array, int[] buffer, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        validateBuffer(array, buffer);
+        
+        metrics.start();
+        metrics.recordAuxiliaryBytes((long) buffer.length * Integer.BYTES);
+        sort(array, 0, array.length - 1, buffer, 1, LeafSorter.INSERTION, metrics);
+        metrics.stop();
+    }
+    
+    public static void sortWithBuffer(int[] array, int[] buffer) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        validateBuffer(array, buffer);
+        
+        sort(array, 0, array.length - 1, buffer, 1, LeafSorter.INSERTION, null);
+    }
+    
+    /**
+     * Sort using the calling thread's {@link ScratchArena}, which keeps its buffer between
+     * calls. Only growth of the arena is reported as an allocation.
+     */
+    public static void sortPooled(int[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        int[] buffer = ScratchArena.local().intBuffer(array.length, metrics);
+        metrics.recordAuxiliaryBytes((long) buffer.length * Integer.BYTES);
+        sort(array, 0, array.length - 1, buffer, 1, LeafSorter.INSERTION, metrics);
+        metrics.stop();
+    }
+    
+    public static void sortPooled(int[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        int[] buffer = ScratchArena.local().intBuffer(array.length);
+        sort(array, 0, array.length - 1, buffer, 1, LeafSorter.INSERTION, null);
+    }
+    
+    public static void parallelSort(int[] array, MetricsCollector metrics) {
+        parallelSort(array, ForkJoinPool.commonPool(), PARALLEL_GRANULARITY, metrics);
+    }
+    
+    public static void parallelSort(int[] array) {
+        parallelSort(array, ForkJoinPool.commonPool(), PARALLEL_GRANULARITY, null);
+    }
+    
+    /**
+     * Sort on the given pool. Ranges longer than {@code granularity} are split into
+     * fork/join tasks; all tasks share one scratch buffer since their ranges are disjoint.
+     */
+    public static void parallelSort(int[] array, ForkJoinPool pool, int granularity, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(pool, "Pool");
+        ValidationUtils.validatePositive(granularity, "Granularity");
+        
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        if (metrics != null) {
+            metrics.start();
+        }
+        
+        int[] buffer = new int[array.length];
+        if (metrics != null) {
+            metrics.incrementAllocations(buffer.length);
+            metrics.recordAuxiliaryBytes((long) buffer.length * Integer.BYTES);
+        }
+        pool.invoke(new SortTask(array, 0, array.length - 1, buffer, granularity, 1, metrics));
+        
+        if (metrics != null) {
+            metrics.stop();
+        }
+    }
+    
+    /**
+     * Non-recursive merge sort. Runs of CUTOFF_THRESHOLD elements are insertion sorted first,
+     * then each pass merges pairs of runs from one array into the other, swapping the roles
+     * of {@code array} and the buffer instead of copying back. A final copy is made only when
+     * the last pass leaves the result in the buffer.
+     */
+    public static void sortBottomUp(int[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        int[] buffer = new int[array.length];
+        metrics.incrementAllocations(buffer.length);
+        metrics.recordAuxiliaryBytes((long) buffer.length * Integer.BYTES);
+        sortBottomUp(array, buffer, metrics);
+        metrics.stop();
+    }
+    
+    public static void sortBottomUp(int[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        int[] buffer = new int[array.length];
+        sortBottomUp(array, buffer, null);
+    }
+    
+    /**
+     * Stable merge sort that needs no auxiliary buffer. Blocks of CUTOFF_THRESHOLD elements
+     * are insertion sorted and then merged bottom-up with SymMerge (Kim and Kutzner), which
+     * splits each merge at a binary-searched point and rotates the middle into place. The only
+     * extra space is the O(log n) recursion of the merge, at the cost of O(n log^2 n) moves,
+     * so this trades throughput for roughly half the peak memory of {@link #sort}.
+     */
+    public static void sortInPlace(int[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sortInPlace(array, array.length, metrics);
+        metrics.stop();
+    }
+    
+    public static void sortInPlace(int[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        sortInPlace(array, array.length, null);
+    }
+    
+    /**
+     * Natural-run merge sort in the style of TimSort. The input is scanned for ascending and
+     * strictly descending runs (the latter are reversed), short runs are extended to a
+     * minimum length with insertion sort, and runs are merged from a stack that keeps the
+     * TimSort length invariants, galloping once one side keeps winning. Already sorted
+     * input costs n - 1 comparisons and allocates nothing.
+     */
+    public static void sortAdaptive(int[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        new RunMerger(array, metrics).sort();
+        metrics.stop();
+    }
+    
+    public static void sortAdaptive(int[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        new RunMerger(array, null).sort();
+    }
+    
+    /**
+     * The natural-run merge behind {@link #sortAdaptive(int[], MetricsCollector)}. Does not
+     * start or stop {@code metrics}, which may be null.
+     */
+    static void sortRuns(int[] array, MetricsCollector metrics) {
+        if (array.length > 1) {
+            new RunMerger(array, metrics).sort();
+        }
+    }
+    
+    /**
+     * Stable argsort: returns the permutation {@code p} such that {@code keys[p[0]],
+     * keys[p[1]], ...} is ascending, with equal keys kept in index order. Works like
+     * {@link #sortBottomUp(int[], MetricsCollector)}, but a copy of the keys is merged
+     * with the indices riding alongside, so comparisons read sequentially instead of
+     * gathering through the permutation. Allocates two key and two index arrays of length
+     * n; {@code keys} is not modified.
+     */
+    public static int[] argsort(int[] keys, MetricsCollector metrics) {
+        ValidationUtils.validateArray(keys);
+        
+        metrics.start();
+        int[] permutation = argsortBottomUp(keys, metrics);
+        metrics.stop();
+        
+        return permutation;
+    }
+    
+    public static int[] argsort(int[] keys) {
+        ValidationUtils.validateArray(keys);
+        
+        return argsortBottomUp(keys, null);
+    }
+    
+    /**
+     * Stable co-sort of a structure-of-arrays pair: sorts {@code keys} ascending and applies
+     * the same permutation to {@code values}. Uses the bottom-up ping-pong merge on both
+     * arrays at once, allocating one key buffer and one value buffer and nothing per
+     * element.
+     */
+    public static void coSort(int[] keys, int[] values, MetricsCollector metrics) {
+        ValidationUtils.validateArray(keys, "Keys");
+        ValidationUtils.validateNotNull(values, "Values");
+        ValidationUtils.validateSameLength(keys.length, values.length, "Values");
+        if (keys.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sortPairs(keys, values, metrics);
+        metrics.stop();
+    }
+    
+    public static void coSort(int[] keys, int[] values) {
+        ValidationUtils.validateArray(keys, "Keys");
+        ValidationUtils.validateNotNull(values, "Values");
+        ValidationUtils.validateSameLength(keys.length, values.length, "Values");
+        if (keys.length <= 1) {
+            return;
+        }
+        
+        sortPairs(keys, values, null);
+    }
+    
+    public static void coSort(int[] keys, long[] values, MetricsCollector metrics) {
+        ValidationUtils.validateArray(keys, "Keys");
+        ValidationUtils.validateNotNull(values, "Values");
+        ValidationUtils.validateSameLength(keys.length, values.length, "Values");
+        if (keys.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sortPairs(keys, values, metrics);
+        metrics.stop();
+    }
+    
+    public static void coSort(int[] keys, long[] values) {
+        ValidationUtils.validateArray(keys, "Keys");
+        ValidationUtils.validateNotNull(values, "Values");
+        ValidationUtils.validateSameLength(keys.length, values.length, "Values");
+        if (keys.length <= 1) {
+            return;
+        }
+        
+        sortPairs(keys, values, null);
+    }
+    
+    private static void validateBuffer(int[] array, int[] buffer) {
+        ValidationUtils.validateArray(buffer, "Buffer");
+        if (buffer.length < array.length) {
+            throw new IllegalArgumentException("Buffer length " + buffer.length
+                    + " is smaller than array length " + array.length);
+        }
+    }
+    
+    private static void sort(int[] array, int left, int right, int[] buffer, int depth, LeafSorter leafSorter,
+                             MetricsCollector metrics) {
         if (left >= right) {
             return;
         }
         
-        if (right - left + 1 <= CUTOFF_THRESHOLD) {
-            insertionSort(array, left, right, metrics);
-            return;
+        if (right - left + 1 <= Math.min(CUTOFF_THRESHOLD, leafSorter.maxLength())) {
+            leafSorter.sort(array, left, right, metrics);
+            return;
+        }
+        
+        if (metrics != null) {
+            metrics.recordDepth(depth);
+        }
+        
+        int mid = left + (right - left) / 2;
+        
+        sort(array, left, mid, buffer, depth + 1, leafSorter, metrics);
+        sort(array, mid + 1, right, buffer, depth + 1, leafSorter, metrics);
+        
+        merge(array, left, mid, right, buffer, metrics);
+    }
+    
+    private static void sortBottomUp(int[] array, int[] buffer, MetricsCollector metrics) {
+        int n = array.length;
+        
+        for (int left = 0; left < n; left += CUTOFF_THRESHOLD) {
+            insertionSort(array, left, Math.min(left + CUTOFF_THRESHOLD, n) - 1, metrics);
+        }
+        
+        int[] source = array;
+        int[] target = buffer;
+        
+        for (int width = CUTOFF_THRESHOLD; width < n; width *= 2) {
+            for (int left = 0; left < n; left += 2 * width) {
+                int mid = Math.min(left + width, n) - 1;
+                int right = Math.min(left + 2 * width, n) - 1;
+                mergeInto(source, target, left, mid, right, metrics);
+            }
+            
+            int[] temp = source;
+            source = target;
+            target = temp;
+        }
+        
+        if (source != array) {
+            System.arraycopy(source, 0, array, 0, n);
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * n);
+            }
+        }
+    }
+    
+    private static int[] argsortBottomUp(int[] keys, MetricsCollector metrics) {
+        int n = keys.length;
+        int[] sortedKeys = keys.clone();
+        int[] indices = new int[n];
+        
+        if (metrics != null) {
+            // The key copy and the indices live alongside the two merge buffers
+            metrics.incrementAllocations(2L * n);
+            metrics.recordAuxiliaryBytes(4L * n * Integer.BYTES);
+        }
+        
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+        }
+        
+        if (n > 1) {
+            sortPairs(sortedKeys, indices, metrics);
+        }
+        return indices;
+    }
+    
+    private static void sortPairs(int[] keys, int[] values, MetricsCollector metrics) {
+        int n = keys.length;
+        int[] keyBuffer = new int[n];
+        int[] valueBuffer = new int[n];
+        
+        if (metrics != null) {
+            metrics.incrementAllocations(2L * n);
+            metrics.recordAuxiliaryBytes(2L * n * Integer.BYTES);
+        }
+        
+        for (int left = 0; left < n; left += CUTOFF_THRESHOLD) {
+            insertionSortPairs(keys, values, left, Math.min(left + CUTOFF_THRESHOLD, n) - 1, metrics);
+        }
+        
+        int[] sourceKeys = keys;
+        int[] targetKeys = keyBuffer;
+        int[] sourceValues = values;
+        int[] targetValues = valueBuffer;
+        
+        for (int width = CUTOFF_THRESHOLD; width < n; width *= 2) {
+            for (int left = 0; left < n; left += 2 * width) {
+                int mid = Math.min(left + width, n) - 1;
+                int right = Math.min(left + 2 * width, n) - 1;
+                mergePairs(sourceKeys, sourceValues, targetKeys, targetValues, left, mid, right, metrics);
+            }
+            
+            int[] tempKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = tempKeys;
+            
+            int[] tempValues = sourceValues;
+            sourceValues = targetValues;
+            targetValues = tempValues;
+        }
+        
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, n);
+            System.arraycopy(sourceValues, 0, values, 0, n);
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(4L * n);
+            }
+        }
+    }
+    
+    private static void insertionSortPairs(int[] keys, int[] values, int left, int right,
+                                           MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            int key = keys[i];
+            int value = values[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                if (keys[j] <= key) {
+                    break;
+                }
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                if (metrics != null) {
+                    metrics.incrementArrayAccesses(3);
+                }
+                j--;
+            }
+            
+            keys[j + 1] = key;
+            values[j + 1] = value;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+    }
+    
+    /**
+     * Merge two adjacent runs of keys, moving each key's value alongside it. Ties take the
+     * left run first, which keeps the co-sort stable.
+     */
+    private static void mergePairs(int[] sourceKeys, int[] sourceValues, int[] targetKeys, int[] targetValues,
+                                   int left, int mid, int right, MetricsCollector metrics) {
+        int i = left, j = mid + 1, k = left;
+        
+        while (i <= mid && j <= right) {
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(5);
+            }
+            
+            if (sourceKeys[i] <= sourceKeys[j]) {
+                targetValues[k] = sourceValues[i];
+                targetKeys[k++] = sourceKeys[i++];
+            } else {
+                targetValues[k] = sourceValues[j];
+                targetKeys[k++] = sourceKeys[j++];
+            }
+        }
+        
+        int remaining = mid - i + 1;
+        if (remaining > 0) {
+            System.arraycopy(sourceKeys, i, targetKeys, k, remaining);
+            System.arraycopy(sourceValues, i, targetValues, k, remaining);
+        } else {
+            remaining = right - j + 1;
+            System.arraycopy(sourceKeys, j, targetKeys, k, remaining);
+            System.arraycopy(sourceValues, j, targetValues, k, remaining);
+        }
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(4L * remaining);
+        }
+    }
+    
+    private static void sortPairs(int[] keys, long[] values, MetricsCollector metrics) {
+        int n = keys.length;
+        int[] keyBuffer = new int[n];
+        long[] valueBuffer = new long[n];
+        
+        if (metrics != null) {
+            metrics.incrementAllocations(2L * n);
+            metrics.recordAuxiliaryBytes((long) n * (Integer.BYTES + Long.BYTES));
+        }
+        
+        for (int left = 0; left < n; left += CUTOFF_THRESHOLD) {
+            insertionSortPairs(keys, values, left, Math.min(left + CUTOFF_THRESHOLD, n) - 1, metrics);
+        }
+        
+        int[] sourceKeys = keys;
+        int[] targetKeys = keyBuffer;
+        long[] sourceValues = values;
+        long[] targetValues = valueBuffer;
+        
+        for (int width = CUTOFF_THRESHOLD; width < n; width *= 2) {
+            for (int left = 0; left < n; left += 2 * width) {
+                int mid = Math.min(left + width, n) - 1;
+                int right = Math.min(left + 2 * width, n) - 1;
+                mergePairs(sourceKeys, sourceValues, targetKeys, targetValues, left, mid, right, metrics);
+            }
+            
+            int[] tempKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = tempKeys;
+            
+            long[] tempValues = sourceValues;
+            sourceValues = targetValues;
+            targetValues = tempValues;
+        }
+        
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, n);
+            System.arraycopy(sourceValues, 0, values, 0, n);
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(4L * n);
+            }
+        }
+    }
+    
+    private static void insertionSortPairs(int[] keys, long[] values, int left, int right,
+                                           MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            int key = keys[i];
+            long value = values[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                if (keys[j] <= key) {
+                    break;
+                }
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                if (metrics != null) {
+                    metrics.incrementArrayAccesses(3);
+                }
+                j--;
+            }
+            
+            keys[j + 1] = key;
+            values[j + 1] = value;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+    }
+    
+    /**
+     * Merge two adjacent runs of keys, moving each key's value alongside it. Ties take the
+     * left run first, which keeps the co-sort stable.
+     */
+    private static void mergePairs(int[] sourceKeys, long[] sourceValues, int[] targetKeys, long[] targetValues,
+                                   int left, int mid, int right, MetricsCollector metrics) {
+        int i = left, j = mid + 1, k = left;
+        
+        while (i <= mid && j <= right) {
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(5);
+            }
+            
+            if (sourceKeys[i] <= sourceKeys[j]) {
+                targetValues[k] = sourceValues[i];
+                targetKeys[k++] = sourceKeys[i++];
+            } else {
+                targetValues[k] = sourceValues[j];
+                targetKeys[k++] = sourceKeys[j++];
+            }
+        }
+        
+        int remaining = mid - i + 1;
+        if (remaining > 0) {
+            System.arraycopy(sourceKeys, i, targetKeys, k, remaining);
+            System.arraycopy(sourceValues, i, targetValues, k, remaining);
+        } else {
+            remaining = right - j + 1;
+            System.arraycopy(sourceKeys, j, targetKeys, k, remaining);
+            System.arraycopy(sourceValues, j, targetValues, k, remaining);
+        }
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(4L * remaining);
+        }
+    }
+    
+    private static final class RunMerger {
+        private final int[] array;
+        private final MetricsCollector metrics;
+        private final int[] runBase = new int[MAX_RUN_STACK];
+        private final int[] runLength = new int[MAX_RUN_STACK];
+        private int stackSize;
+        private int minGallop = MIN_GALLOP;
+        private int[] buffer;
+        
+        RunMerger(int[] array, MetricsCollector metrics) {
+            this.array = array;
+            this.metrics = metrics;
+        }
+        
+        void sort() {
+            int n = array.length;
+            int minRun = minRunLength(n);
+            int low = 0;
+            
+            while (low < n) {
+                int length = countRunAndMakeAscending(low, n);
+                
+                if (length < minRun) {
+                    int forced = Math.min(minRun, n - low);
+                    insertionSort(array, low, low + forced - 1, metrics);
+                    length = forced;
+                }
+                
+                runBase[stackSize] = low;
+                runLength[stackSize] = length;
+                stackSize++;
+                mergeCollapse();
+                
+                low += length;
+            }
+            
+            while (stackSize > 1) {
+                int i = stackSize - 2;
+                if (i > 0 && runLength[i - 1] < runLength[i + 1]) {
+                    i--;
+                }
+                mergeAt(i);
+            }
+        }
+        
+        private static int minRunLength(int n) {
+            int lowBits = 0;
+            while (n >= MIN_MERGE) {
+                lowBits |= n & 1;
+                n >>= 1;
+            }
+            return n + lowBits;
+        }
+        
+        private int countRunAndMakeAscending(int low, int high) {
+            int runHigh = low + 1;
+            if (runHigh == high) {
+                return 1;
+            }
+            
+            compared(2);
+            if (array[runHigh++] < array[low]) {
+                while (runHigh < high) {
+                    compared(2);
+                    if (array[runHigh] >= array[runHigh - 1]) {
+                        break;
+                    }
+                    runHigh++;
+                }
+                reverse(low, runHigh - 1);
+            } else {
+                while (runHigh < high) {
+                    compared(2);
+                    if (array[runHigh] < array[runHigh - 1]) {
+                        break;
+                    }
+                    runHigh++;
+                }
+            }
+            
+            return runHigh - low;
+        }
+        
+        private void reverse(int low, int high) {
+            while (low < high) {
+                int temp = array[low];
+                array[low++] = array[high];
+                array[high--] = temp;
+                
+                if (metrics != null) {
+                    metrics.incrementSwaps();
+                    metrics.incrementArrayAccesses(4);
+                }
+            }
+        }
+        
+        /**
+         * Restore the invariants len[i-2] > len[i-1] + len[i] and len[i-1] > len[i]
+         * on the top of the run stack.
+         */
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int i = stackSize - 2;
+                if (i > 0 && runLength[i - 1] <= runLength[i] + runLength[i + 1]
+                        || i > 1 && runLength[i - 2] <= runLength[i] + runLength[i - 1]) {
+                    if (runLength[i - 1] < runLength[i + 1]) {
+                        i--;
+                    }
+                } else if (runLength[i] > runLength[i + 1]) {
+                    break;
+                }
+                mergeAt(i);
+            }
+        }
+        
+        private void mergeAt(int i) {
+            int base1 = runBase[i];
+            int length1 = runLength[i];
+            int base2 = runBase[i + 1];
+            int length2 = runLength[i + 1];
+            
+            runLength[i] = length1 + length2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLength[i + 1] = runLength[i + 2];
+            }
+            stackSize--;
+            
+            // Elements of run 1 not greater than run 2's head, and elements of run 2 not
+            // less than run 1's tail, are already in place.
+            int skip = gallopRight(array[base2], array, base1, length1);
+            base1 += skip;
+            length1 -= skip;
+            if (length1 == 0) {
+                return;
+            }
+            
+            length2 = gallopLeft(array[base1 + length1 - 1], array, base2, length2);
+            if (length2 == 0) {
+                return;
+            }
+            
+            mergeLow(base1, length1, base2, length2);
+        }
+        
+        /**
+         * Merge adjacent runs by staging run 1 in the buffer. Switches to galloping when
+         * one run wins MIN_GALLOP times in a row, and adapts that threshold as it goes.
+         */
+        private void mergeLow(int base1, int length1, int base2, int length2) {
+            if (buffer == null) {
+                buffer = new int[array.length];
+                if (metrics != null) {
+                    metrics.incrementAllocations(array.length);
+                    metrics.recordAuxiliaryBytes((long) array.length * Integer.BYTES);
+                }
+            }
+            
+            System.arraycopy(array, base1, buffer, 0, length1);
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * length1);
+            }
+            
+            int cursor1 = 0;
+            int cursor2 = base2;
+            int dest = base1;
+            
+            outer:
+            while (true) {
+                int wins1 = 0;
+                int wins2 = 0;
+                
+                do {
+                    compared(2);
+                    if (array[cursor2] < buffer[cursor1]) {
+                        array[dest++] = array[cursor2++];
+                        wins2++;
+                        wins1 = 0;
+                        if (--length2 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        array[dest++] = buffer[cursor1++];
+                        wins1++;
+                        wins2 = 0;
+                        if (--length1 == 0) {
+                            break outer;
+                        }
+                    }
+                } while ((wins1 | wins2) < minGallop);
+                
+                do {
+                    wins1 = gallopRight(array[cursor2], buffer, cursor1, length1);
+                    if (wins1 != 0) {
+                        System.arraycopy(buffer, cursor1, array, dest, wins1);
+                        moved(wins1);
+                        dest += wins1;
+                        cursor1 += wins1;
+                        length1 -= wins1;
+                        if (length1 == 0) {
+                            break outer;
+                        }
+                    }
+                    array[dest++] = array[cursor2++];
+                    if (--length2 == 0) {
+                        break outer;
+                    }
+                    
+                    wins2 = gallopLeft(buffer[cursor1], array, cursor2, length2);
+                    if (wins2 != 0) {
+                        System.arraycopy(array, cursor2, array, dest, wins2);
+                        moved(wins2);
+                        dest += wins2;
+                        cursor2 += wins2;
+                        length2 -= wins2;
+                        if (length2 == 0) {
+                            break outer;
+                        }
+                    }
+                    array[dest++] = buffer[cursor1++];
+                    if (--length1 == 0) {
+                        break outer;
+                    }
+                    
+                    minGallop--;
+                } while (wins1 >= MIN_GALLOP || wins2 >= MIN_GALLOP);
+                
+                if (minGallop < 0) {
+                    minGallop = 0;
+                }
+                minGallop += 2;
+            }
+            
+            // Leftovers of run 2 are already in place; leftovers of run 1 go after them.
+            if (length1 > 0) {
+                System.arraycopy(buffer, cursor1, array, dest, length1);
+                moved(length1);
+            }
+        }
+        
+        /**
+         * Number of leading elements of source[base, base + length) that are <= key.
+         */
+        private int gallopRight(int key, int[] source, int base, int length) {
+            int low = 0;
+            int high = 1;
+            while (high <= length) {
+                compared(1);
+                if (source[base + high - 1] > key) {
+                    break;
+                }
+                low = high;
+                high = high * 2 + 1;
+            }
+            high = Math.min(high - 1, length);
+            
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                compared(1);
+                if (source[base + mid] <= key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        
+        /**
+         * Number of leading elements of source[base, base + length) that are < key.
+         */
+        private int gallopLeft(int key, int[] source, int base, int length) {
+            int low = 0;
+            int high = 1;
+            while (high <= length) {
+                compared(1);
+                if (source[base + high - 1] >= key) {
+                    break;
+                }
+                low = high;
+                high = high * 2 + 1;
+            }
+            high = Math.min(high - 1, length);
+            
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                compared(1);
+                if (source[base + mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        
+        private void compared(int accesses) {
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(accesses);
+            }
+        }
+        
+        private void moved(int count) {
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * count);
+            }
         }
+    }
+    
+    private static class SortTask extends RecursiveAction {
+        private final int[] array;
+        private final int left;
+        private final int right;
+        private final int[] buffer;
+        private final int granularity;
+        private final int depth;
+        private final MetricsCollector metrics;
         
-        if (metrics != null) {
-            metrics.enterRecursion();
+        SortTask(int[] array, int left, int right, int[] buffer, int granularity, int depth, MetricsCollector metrics) {
+            this.array = array;
+            this.left = left;
+            this.right = right;
+            this.buffer = buffer;
+            this.granularity = granularity;
+            this.depth = depth;
+            this.metrics = metrics;
         }
         
-        int mid = left + (right - left) / 2;
-        
-        sort(array, left, mid, buffer, metrics);
-        sort(array, mid + 1, right, buffer, metrics);
-        
-        merge(array, left, mid, right, buffer, metrics);
+        @Override
+        protected void compute() {
+            if (right - left + 1 <= granularity) {
+                sort(array, left, right, buffer, depth, LeafSorter.INSERTION, metrics);
+                return;
+            }
+            
+            if (metrics != null) {
+                metrics.recordDepth(depth);
+            }
+            
+            int mid = left + (right - left) / 2;
+            
+            invokeAll(new SortTask(array, left, mid, buffer, granularity, depth + 1, metrics),
+                      new SortTask(array, mid + 1, right, buffer, granularity, depth + 1, metrics));
+            
+            merge(array, left, mid, right, buffer, metrics);
+        }
+    }
+    
+    private static void sortInPlace(int[] array, int n, MetricsCollector metrics) {
+        for (int left = 0; left < n; left += CUTOFF_THRESHOLD) {
+            insertionSort(array, left, Math.min(left + CUTOFF_THRESHOLD, n) - 1, metrics);
+        }
         
-        if (metrics != null) {
-            metrics.exitRecursion();
+        for (int width = CUTOFF_THRESHOLD; width < n; width *= 2) {
+            for (int left = 0; left + width < n; left += 2 * width) {
+                int mid = left + width;
+                int right = Math.min(left + 2 * width, n);
+                
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses(2);
+                }
+                
+                // Adjacent runs that are already in order need no merge
+                if (array[mid - 1] > array[mid]) {
+                    symMerge(array, left, mid, right, 1, metrics);
+                }
+            }
         }
     }
     
-    private static void merge(int[] array, int left, int mid, int right, int[] buffer, MetricsCollector metrics) {
-        int leftSize = mid - left + 1;
-        int rightSize = right - mid;
+    /**
+     * SymMerge of the adjacent sorted ranges array[a..m) and array[m..b). The range is
+     * split at its midpoint and the longest symmetric pair of blocks around m that are out
+     * of order is rotated, leaving two independent smaller merges on either side.
+     */
+    private static void symMerge(int[] array, int a, int m, int b, int depth, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.recordDepth(depth);
+        }
         
-        for (int i = 0; i < leftSize; i++) {
-            buffer[i] = array[left + i];
+        if (m - a == 1) {
+            // Single left element: shift it past every smaller right element
+            int value = array[a];
+            int i = m;
+            int j = b;
+            while (i < j) {
+                int h = (i + j) >>> 1;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                if (array[h] < value) {
+                    i = h + 1;
+                } else {
+                    j = h;
+                }
+            }
+            
+            System.arraycopy(array, a + 1, array, a, i - 1 - a);
+            array[i - 1] = value;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * (i - a));
+            }
+            return;
+        }
+        
+        if (b - m == 1) {
+            // Single right element: shift it before every larger left element
+            int value = array[m];
+            int i = a;
+            int j = m;
+            while (i < j) {
+                int h = (i + j) >>> 1;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                if (array[h] <= value) {
+                    i = h + 1;
+                } else {
+                    j = h;
+                }
+            }
+            
+            System.arraycopy(array, i, array, i + 1, m - i);
+            array[i] = value;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * (m - i + 1));
+            }
+            return;
+        }
+        
+        int mid = (a + b) >>> 1;
+        int n = mid + m;
+        int start;
+        int r;
+        if (m > mid) {
+            start = n - b;
+            r = mid;
+        } else {
+            start = a;
+            r = m;
+        }
+        
+        int p = n - 1;
+        while (start < r) {
+            int c = (start + r) >>> 1;
             if (metrics != null) {
+                metrics.incrementComparisons();
                 metrics.incrementArrayAccesses(2);
             }
+            if (array[p - c] >= array[c]) {
+                start = c + 1;
+            } else {
+                r = c;
+            }
         }
         
-        for (int i = 0; i < rightSize; i++) {
-            buffer[leftSize + i] = array[mid + 1 + i];
+        int end = n - start;
+        if (start < m && m < end) {
+            rotate(array, start, m, end, metrics);
+        }
+        if (a < start && start < mid) {
+            symMerge(array, a, start, mid, depth + 1, metrics);
+        }
+        if (mid < end && end < b) {
+            symMerge(array, mid, end, b, depth + 1, metrics);
+        }
+    }
+    
+    /**
+     * Rotate array[left..right) so that array[mid] moves to array[left], by three reversals.
+     */
+    private static void rotate(int[] array, int left, int mid, int right, MetricsCollector metrics) {
+        reverse(array, left, mid - 1, metrics);
+        reverse(array, mid, right - 1, metrics);
+        reverse(array, left, right - 1, metrics);
+    }
+    
+    private static void reverse(int[] array, int i, int j, MetricsCollector metrics) {
+        while (i < j) {
+            int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+            i++;
+            j--;
+        }
+    }
+    
+    private static void merge(int[] array, int left, int mid, int right, int[] buffer, MetricsCollector metrics) {
+        // Stage the range at its own offsets so concurrent merges of disjoint ranges never overlap.
+        for (int i = left; i <= right; i++) {
+            buffer[i] = array[i];
             if (metrics != null) {
                 metrics.incrementArrayAccesses(2);
             }
         }
         
-        int i = 0, j = leftSize, k = left;
+        int i = left, j = mid + 1, k = left;
         
-        while (i < leftSize && j < leftSize + rightSize) {
+        while (i <= mid && j <= right) {
             if (metrics != null) {
                 metrics.incrementComparisons();
                 metrics.incrementArrayAccesses(2);
@@ -91,7 +1211,7 @@ public class MergeSort {
             k++;
         }
         
-        while (i < leftSize) {
+        while (i <= mid) {
             array[k] = buffer[i];
             if (metrics != null) {
                 metrics.incrementArrayAccesses(2);
@@ -100,7 +1220,7 @@ public class MergeSort {
             k++;
         }
         
-        while (j < leftSize + rightSize) {
+        while (j <= right) {
             array[k] = buffer[j];
             if (metrics != null) {
                 metrics.incrementArrayAccesses(2);
@@ -110,6 +1230,40 @@ public class MergeSort {
         }
     }
     
+    /**
+     * Merge source[left..mid] and source[mid+1..right] into the same range of target.
+     * A lone trailing run (mid >= right) is copied across unchanged.
+     */
+    private static void mergeInto(int[] source, int[] target, int left, int mid, int right,
+                                  MetricsCollector metrics) {
+        int i = left, j = mid + 1, k = left;
+        
+        while (i <= mid && j <= right) {
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(3);
+            }
+            
+            if (source[i] <= source[j]) {
+                target[k++] = source[i++];
+            } else {
+                target[k++] = source[j++];
+            }
+        }
+        
+        int remaining = mid - i + 1;
+        if (remaining > 0) {
+            System.arraycopy(source, i, target, k, remaining);
+        } else {
+            remaining = right - j + 1;
+            System.arraycopy(source, j, target, k, remaining);
+        }
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(2L * remaining);
+        }
+    }
+    
     private static void insertionSort(int[] array, int left, int right, MetricsCollector metrics) {
         for (int i = left + 1; i <= right; i++) {
             int key = array[i];
@@ -142,4 +1296,304 @@ public class MergeSort {
             }
         }
     }
+    
+    /**
+     * Bottom-up ping-pong merge sort of {@code array[0..n)}, as for int[].
+     */
+    private static void sortBottomUp(long[] array, int n, long[] buffer, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementAllocations(buffer.length);
+            metrics.recordAuxiliaryBytes((long) buffer.length * Long.BYTES);
+        }
+        
+        for (int left = 0; left < n; left += CUTOFF_THRESHOLD) {
+            insertionSort(array, left, Math.min(left + CUTOFF_THRESHOLD, n) - 1, metrics);
+        }
+        
+        long[] source = array;
+        long[] target = buffer;
+        
+        for (int width = CUTOFF_THRESHOLD; width < n; width *= 2) {
+            for (int left = 0; left < n; left += 2 * width) {
+                int mid = Math.min(left + width, n) - 1;
+                int right = Math.min(left + 2 * width, n) - 1;
+                mergeInto(source, target, left, mid, right, metrics);
+            }
+            
+            long[] temp = source;
+            source = target;
+            target = temp;
+        }
+        
+        if (source != array) {
+            System.arraycopy(source, 0, array, 0, n);
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * n);
+            }
+        }
+    }
+    
+    private static void mergeInto(long[] source, long[] target, int left, int mid, int right,
+                                  MetricsCollector metrics) {
+        int i = left, j = mid + 1, k = left;
+        
+        while (i <= mid && j <= right) {
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(3);
+            }
+            
+            if (source[i] <= source[j]) {
+                target[k++] = source[i++];
+            } else {
+                target[k++] = source[j++];
+            }
+        }
+        
+        int remaining = mid - i + 1;
+        if (remaining > 0) {
+            System.arraycopy(source, i, target, k, remaining);
+        } else {
+            remaining = right - j + 1;
+            System.arraycopy(source, j, target, k, remaining);
+        }
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(2L * remaining);
+        }
+    }
+    
+    private static void insertionSort(long[] array, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            long key = array[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                if (array[j] <= key) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                if (metrics != null) {
+                    metrics.incrementArrayAccesses(2);
+                }
+                j--;
+            }
+            
+            array[j + 1] = key;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2);
+            }
+        }
+    }
+    
+    private static void sortValues(double[] array, MetricsCollector metrics) {
+        int end = FloatingPointUtils.moveNaNsToEnd(array);
+        
+        if (end > 1) {
+            sortBottomUp(array, end, new double[end], metrics);
+            FloatingPointUtils.orderSignedZeros(array, end);
+        }
+    }
+    
+    /**
+     * Bottom-up ping-pong merge sort of {@code array[0..n)}, as for int[].
+     */
+    private static void sortBottomUp(double[] array, int n, double[] buffer, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementAllocations(buffer.length);
+            metrics.recordAuxiliaryBytes((long) buffer.length * Double.BYTES);
+        }
+        
+        for (int left = 0; left < n; left += CUTOFF_THRESHOLD) {
+            insertionSort(array, left, Math.min(left + CUTOFF_THRESHOLD, n) - 1, metrics);
+        }
+        
+        double[] source = array;
+        double[] target = buffer;
+        
+        for (int width = CUTOFF_THRESHOLD; width < n; width *= 2) {
+            for (int left = 0; left < n; left += 2 * width) {
+                int mid = Math.min(left + width, n) - 1;
+                int right = Math.min(left + 2 * width, n) - 1;
+                mergeInto(source, target, left, mid, right, metrics);
+            }
+            
+            double[] temp = source;
+            source = target;
+            target = temp;
+        }
+        
+        if (source != array) {
+            System.arraycopy(source, 0, array, 0, n);
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * n);
+            }
+        }
+    }
+    
+    private static void mergeInto(double[] source, double[] target, int left, int mid, int right,
+                                  MetricsCollector metrics) {
+        int i = left, j = mid + 1, k = left;
+        
+        while (i <= mid && j <= right) {
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(3);
+            }
+            
+            if (source[i] <= source[j]) {
+                target[k++] = source[i++];
+            } else {
+                target[k++] = source[j++];
+            }
+        }
+        
+        int remaining = mid - i + 1;
+        if (remaining > 0) {
+            System.arraycopy(source, i, target, k, remaining);
+        } else {
+            remaining = right - j + 1;
+            System.arraycopy(source, j, target, k, remaining);
+        }
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(2L * remaining);
+        }
+    }
+    
+    private static void insertionSort(double[] array, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            double key = array[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                if (array[j] <= key) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                if (metrics != null) {
+                    metrics.incrementArrayAccesses(2);
+                }
+                j--;
+            }
+            
+            array[j + 1] = key;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2);
+            }
+        }
+    }
+    
+    private static void sortValues(float[] array, MetricsCollector metrics) {
+        int end = FloatingPointUtils.moveNaNsToEnd(array);
+        
+        if (end > 1) {
+            sortBottomUp(array, end, new float[end], metrics);
+            FloatingPointUtils.orderSignedZeros(array, end);
+        }
+    }
+    
+    /**
+     * Bottom-up ping-pong merge sort of {@code array[0..n)}, as for int[].
+     */
+    private static void sortBottomUp(float[] array, int n, float[] buffer, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementAllocations(buffer.length);
+            metrics.recordAuxiliaryBytes((long) buffer.length * Float.BYTES);
+        }
+        
+        for (int left = 0; left < n; left += CUTOFF_THRESHOLD) {
+            insertionSort(array, left, Math.min(left + CUTOFF_THRESHOLD, n) - 1, metrics);
+        }
+        
+        float[] source = array;
+        float[] target = buffer;
+        
+        for (int width = CUTOFF_THRESHOLD; width < n; width *= 2) {
+            for (int left = 0; left < n; left += 2 * width) {
+                int mid = Math.min(left + width, n) - 1;
+                int right = Math.min(left + 2 * width, n) - 1;
+                mergeInto(source, target, left, mid, right, metrics);
+            }
+            
+            float[] temp = source;
+            source = target;
+            target = temp;
+        }
+        
+        if (source != array) {
+            System.arraycopy(source, 0, array, 0, n);
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * n);
+            }
+        }
+    }
+    
+    private static void mergeInto(float[] source, float[] target, int left, int mid, int right,
+                                  MetricsCollector metrics) {
+        int i = left, j = mid + 1, k = left;
+        
+        while (i <= mid && j <= right) {
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(3);
+            }
+            
+            if (source[i] <= source[j]) {
+                target[k++] = source[i++];
+            } else {
+                target[k++] = source[j++];
+            }
+        }
+        
+        int remaining = mid - i + 1;
+        if (remaining > 0) {
+            System.arraycopy(source, i, target, k, remaining);
+        } else {
+            remaining = right - j + 1;
+            System.arraycopy(source, j, target, k, remaining);
+        }
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(2L * remaining);
+        }
+    }
+    
+    private static void insertionSort(float[] array, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            float key = array[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                if (array[j] <= key) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                if (metrics != null) {
+                    metrics.incrementArrayAccesses(2);
+                }
+                j--;
+            }
+            
+            array[j + 1] = key;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2);
+            }
+        }
+    }
 }
@@ -0,0 +1,219 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.example.util.PartitionUtils;
+import org.example.util.RandomUtils;
+import org.example.util.ValidationUtils;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.SplittableRandom;
+
+/**
+ * Top-k selection: the k smallest elements in sorted order. In-memory input is handled by
+ * quickselect on the k-th position followed by a sort of the prefix only, in expected
+ * O(n + k log k). Streaming input, which cannot be partitioned, goes through a bounded
+ * max-heap of size k in O(n log k) time and O(k) space.
+ */
+public class PartialSort {
+    
+    /**
+     * Rearrange {@code array} so that {@code array[0..k)} holds its k smallest elements in
+     * sorted order. The order of the remaining elements is unspecified.
+     */
+    public static void sort(int[] array, int k, MetricsCollector metrics) {
+        validate(array, k);
+        
+        metrics.start();
+        partialSort(array, k, metrics);
+        metrics.stop();
+    }
+    
+    public static void sort(int[] array, int k) {
+        validate(array, k);
+        
+        partialSort(array, k, null);
+    }
+    
+    /**
+     * Return the k smallest elements of {@code array} in sorted order, leaving the input
+     * unchanged.
+     */
+    public static int[] smallest(int[] array, int k, MetricsCollector metrics) {
+        validate(array, k);
+        
+        metrics.start();
+        int[] copy = array.clone();
+        metrics.incrementAllocations(copy.length);
+        partialSort(copy, k, metrics);
+        metrics.stop();
+        
+        return Arrays.copyOf(copy, k);
+    }
+    
+    public static int[] smallest(int[] array, int k) {
+        validate(array, k);
+        
+        int[] copy = array.clone();
+        partialSort(copy, k, null);
+        return Arrays.copyOf(copy, k);
+    }
+    
+    /**
+     * Return the k smallest elements of a stream in sorted order, or all of them if the
+     * stream is shorter than k.
+     */
+    public static int[] smallest(PrimitiveIterator.OfInt source, int k, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(source, "Source");
+        ValidationUtils.validateNonNegative(k, "k");
+        
+        metrics.start();
+        int[] result = boundedHeap(source, k, metrics);
+        metrics.stop();
+        
+        return result;
+    }
+    
+    public static int[] smallest(PrimitiveIterator.OfInt source, int k) {
+        ValidationUtils.validateNotNull(source, "Source");
+        ValidationUtils.validateNonNegative(k, "k");
+        
+        return boundedHeap(source, k, null);
+    }
+    
+    private static void validate(int[] array, int k) {
+        ValidationUtils.validateArray(array);
+        if (k < 0 || k > array.length) {
+            throw new IllegalArgumentException("k=" + k + " must be in range [0, " + array.length + "]");
+        }
+    }
+    
+    private static void partialSort(int[] array, int k, MetricsCollector metrics) {
+        if (k == 0) {
+            return;
+        }
+        
+        if (k < array.length) {
+            select(array, k - 1, metrics);
+        }
+        QuickSort.sortRange(array, 0, k - 1, metrics);
+    }
+    
+    /**
+     * Quickselect with random pivots and three-way partitioning, so duplicates of the
+     * pivot never need another pass. Afterwards {@code array[0..target]} holds the
+     * target + 1 smallest elements. A range that exhausts the 2*log2(n) partition budget
+     * is heap sorted, which keeps the worst case at O(n log n).
+     */
+    private static void select(int[] array, int target, MetricsCollector metrics) {
+        SplittableRandom random = RandomUtils.current();
+        int left = 0;
+        int right = array.length - 1;
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(array.length));
+        int depth = 0;
+        
+        while (left < right) {
+            if (depthLimit-- == 0) {
+                QuickSort.heapSort(array, left, right, metrics);
+                return;
+            }
+            
+            int pivotIndex = left + random.nextInt(right - left + 1);
+            long bounds = PartitionUtils.threeWayPartition(array, left, right, pivotIndex, metrics);
+            int lt = PartitionUtils.equalStart(bounds);
+            int gt = PartitionUtils.equalEnd(bounds);
+            
+            if (metrics != null) {
+                metrics.recordDepth(++depth);
+            }
+            
+            if (target < lt) {
+                right = lt - 1;
+            } else if (target > gt) {
+                left = gt + 1;
+            } else {
+                return;
+            }
+        }
+    }
+    
+    private static int[] boundedHeap(PrimitiveIterator.OfInt source, int k, MetricsCollector metrics) {
+        if (k == 0) {
+            return new int[0];
+        }
+        
+        int[] heap = new int[k];
+        int size = 0;
+        
+        if (metrics != null) {
+            metrics.incrementAllocations(k);
+        }
+        
+        while (source.hasNext()) {
+            int value = source.nextInt();
+            
+            if (size < k) {
+                heap[size] = value;
+                siftUp(heap, size++, metrics);
+                continue;
+            }
+            if (metrics != null) {
+                metrics.incrementComparisons();
+            }
+            if (value < heap[0]) {
+                heap[0] = value;
+                siftDown(heap, 0, size, metrics);
+            }
+        }
+        
+        int[] result = Arrays.copyOf(heap, size);
+        QuickSort.sortRange(result, 0, size - 1, metrics);
+        return result;
+    }
+    
+    private static void siftUp(int[] heap, int i, MetricsCollector metrics) {
+        int value = heap[i];
+        
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (metrics != null) {
+                metrics.incrementComparisons();
+            }
+            if (heap[parent] >= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        
+        heap[i] = value;
+    }
+    
+    private static void siftDown(int[] heap, int i, int size, MetricsCollector metrics) {
+        int value = heap[i];
+        
+        int child;
+        while ((child = 2 * i + 1) < size) {
+            if (child + 1 < size) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                }
+                if (heap[child + 1] > heap[child]) {
+                    child++;
+                }
+            }
+            
+            if (metrics != null) {
+                metrics.incrementComparisons();
+            }
+            if (heap[child] <= value) {
+                break;
+            }
+            
+            heap[i] = heap[child];
+            i = child;
+        }
+        
+        heap[i] = value;
+    }
+}
@@ -0,0 +1,449 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+
+/**
+ * Pattern-defeating quicksort (pdqsort). Median-of-three or ninther pivots, detection of
+ * ranges that were already partitioned, element shuffles after badly unbalanced
+ * partitions, insertion sort for short ranges and a heap sort fallback once too many
+ * bad partitions have been seen.
+ * <p>
+ * Inputs made of a handful of monotone runs (sorted, reversed, organ-pipe) are
+ * recognised by a single scan up front and merged directly, as Arrays.sort does.
+ */
+public class PdqSort {
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+    private static final int NINTHER_THRESHOLD = 128;
+    private static final int PARTIAL_INSERTION_SORT_LIMIT = 8;
+    private static final int MAX_RUN_COUNT = 8;
+    
+    public static void sort(int[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        if (!tryMergeRuns(array, metrics)) {
+            sort(array, 0, array.length - 1, log2(array.length), true, 1, metrics);
+        }
+        metrics.stop();
+    }
+    
+    public static void sort(int[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        if (!tryMergeRuns(array, null)) {
+            sort(array, 0, array.length - 1, log2(array.length), true, 1, null);
+        }
+    }
+    
+    private static void sort(int[] array, int left, int right, int badAllowed, boolean leftmost, int depth,
+                             MetricsCollector metrics) {
+        while (true) {
+            int size = right - left + 1;
+            
+            if (size < INSERTION_SORT_THRESHOLD) {
+                QuickSort.insertionSort(array, left, right, metrics);
+                return;
+            }
+            
+            if (metrics != null) {
+                metrics.recordDepth(depth);
+            }
+            
+            // Move the pivot candidate to array[left].
+            int half = size / 2;
+            if (size > NINTHER_THRESHOLD) {
+                sort3(array, left, left + half, right, metrics);
+                sort3(array, left + 1, left + half - 1, right - 1, metrics);
+                sort3(array, left + 2, left + half + 1, right - 2, metrics);
+                sort3(array, left + half - 1, left + half, left + half + 1, metrics);
+                swap(array, left, left + half, metrics);
+            } else {
+                sort3(array, left + half, left, right, metrics);
+            }
+            
+            // An element left of this range is <= everything in it; if it equals the
+            // pivot, every key equal to the pivot can be put in place at once.
+            if (!leftmost) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses(2);
+                }
+                
+                if (array[left - 1] >= array[left]) {
+                    left = partitionLeft(array, left, right, metrics) + 1;
+                    continue;
+                }
+            }
+            
+            int result = partitionRight(array, left, right, metrics);
+            boolean alreadyPartitioned = result < 0;
+            int pivotIndex = alreadyPartitioned ? ~result : result;
+            
+            int leftSize = pivotIndex - left;
+            int rightSize = right - pivotIndex;
+            boolean highlyUnbalanced = leftSize < size / 8 || rightSize < size / 8;
+            
+            if (highlyUnbalanced) {
+                if (--badAllowed == 0) {
+                    QuickSort.heapSort(array, left, right, metrics);
+                    return;
+                }
+                
+                breakPatterns(array, left, pivotIndex, right, metrics);
+            } else if (alreadyPartitioned
+                    && partialInsertionSort(array, left, pivotIndex - 1, metrics)
+                    && partialInsertionSort(array, pivotIndex + 1, right, metrics)) {
+                return;
+            }
+            
+            sort(array, left, pivotIndex - 1, badAllowed, leftmost, depth + 1, metrics);
+            left = pivotIndex + 1;
+            leftmost = false;
+        }
+    }
+    
+    /**
+     * Split the array into maximal non-descending and strictly descending runs, reversing
+     * the latter. If at most MAX_RUN_COUNT runs are found they are merged and true is
+     * returned; otherwise the scan stops early and the array is left for the quicksort
+     * loop (reversing a strictly descending run never hurts it).
+     */
+    private static boolean tryMergeRuns(int[] array, MetricsCollector metrics) {
+        int n = array.length;
+        int[] runEnds = new int[MAX_RUN_COUNT];
+        int runCount = 0;
+        int start = 0;
+        
+        while (start < n) {
+            if (runCount == MAX_RUN_COUNT) {
+                return false;
+            }
+            
+            int end = start + 1;
+            if (end < n) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses(2);
+                }
+                
+                if (array[start] > array[end]) {
+                    while (end + 1 < n && array[end] > array[end + 1]) {
+                        end++;
+                        countComparison(metrics);
+                    }
+                    reverse(array, start, end, metrics);
+                } else {
+                    while (end + 1 < n && array[end] <= array[end + 1]) {
+                        end++;
+                        countComparison(metrics);
+                    }
+                }
+                end++;
+            }
+            
+            runEnds[runCount++] = end;
+            start = end;
+        }
+        
+        if (runCount > 1) {
+            int[] buffer = new int[n];
+            if (metrics != null) {
+                metrics.incrementAllocations(n);
+            }
+            
+            // Merge neighbouring runs pairwise until one run is left.
+            while (runCount > 1) {
+                int merged = 0;
+                int runStart = 0;
+                for (int i = 0; i < runCount; i += 2) {
+                    if (i + 1 < runCount) {
+                        mergeRuns(array, runStart, runEnds[i], runEnds[i + 1], buffer, metrics);
+                        runEnds[merged++] = runEnds[i + 1];
+                        runStart = runEnds[i + 1];
+                    } else {
+                        runEnds[merged++] = runEnds[i];
+                    }
+                }
+                runCount = merged;
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Merge the adjacent sorted runs [start, mid) and [mid, end) by staging the left run.
+     */
+    private static void mergeRuns(int[] array, int start, int mid, int end, int[] buffer, MetricsCollector metrics) {
+        int leftLength = mid - start;
+        System.arraycopy(array, start, buffer, 0, leftLength);
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(2L * leftLength);
+        }
+        
+        int i = 0;
+        int j = mid;
+        int k = start;
+        
+        while (i < leftLength && j < end) {
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(3);
+            }
+            
+            if (array[j] < buffer[i]) {
+                array[k++] = array[j++];
+            } else {
+                array[k++] = buffer[i++];
+            }
+        }
+        
+        System.arraycopy(buffer, i, array, k, leftLength - i);
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(2L * (leftLength - i));
+        }
+    }
+    
+    private static void reverse(int[] array, int left, int right, MetricsCollector metrics) {
+        while (left < right) {
+            swap(array, left++, right--, metrics);
+        }
+    }
+    
+    /**
+     * Partition [left, right] around array[left], placing keys equal to the pivot on the
+     * right. Returns the pivot's final index, or its bitwise complement when no element
+     * had to be moved.
+     */
+    private static int partitionRight(int[] array, int left, int right, MetricsCollector metrics) {
+        int pivot = array[left];
+        int first = left;
+        int last = right + 1;
+        
+        // The median-of-three guarantees an element >= pivot on the right, so this stops.
+        do {
+            first++;
+            countComparison(metrics);
+        } while (array[first] < pivot);
+        
+        if (first - 1 == left) {
+            while (first < last) {
+                last--;
+                countComparison(metrics);
+                if (array[last] < pivot) {
+                    break;
+                }
+            }
+        } else {
+            do {
+                last--;
+                countComparison(metrics);
+            } while (array[last] >= pivot);
+        }
+        
+        boolean alreadyPartitioned = first >= last;
+        
+        while (first < last) {
+            swap(array, first, last, metrics);
+            
+            do {
+                first++;
+                countComparison(metrics);
+            } while (array[first] < pivot);
+            
+            do {
+                last--;
+                countComparison(metrics);
+            } while (array[last] >= pivot);
+        }
+        
+        int pivotIndex = first - 1;
+        array[left] = array[pivotIndex];
+        array[pivotIndex] = pivot;
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(3);
+        }
+        
+        return alreadyPartitioned ? ~pivotIndex : pivotIndex;
+    }
+    
+    /**
+     * Partition [left, right] around array[left], placing keys equal to the pivot on the
+     * left. Used when the pivot equals the element preceding the range, in which case the
+     * whole left side is equal keys and needs no further sorting.
+     */
+    private static int partitionLeft(int[] array, int left, int right, MetricsCollector metrics) {
+        int pivot = array[left];
+        int first = left;
+        int last = right + 1;
+        
+        do {
+            last--;
+            countComparison(metrics);
+        } while (pivot < array[last]);
+        
+        if (last == right) {
+            while (first < last) {
+                first++;
+                countComparison(metrics);
+                if (pivot < array[first]) {
+                    break;
+                }
+            }
+        } else {
+            do {
+                first++;
+                countComparison(metrics);
+            } while (pivot >= array[first]);
+        }
+        
+        while (first < last) {
+            swap(array, first, last, metrics);
+            
+            do {
+                last--;
+                countComparison(metrics);
+            } while (pivot < array[last]);
+            
+            do {
+                first++;
+                countComparison(metrics);
+            } while (pivot >= array[first]);
+        }
+        
+        array[left] = array[last];
+        array[last] = pivot;
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(3);
+        }
+        
+        return last;
+    }
+    
+    /**
+     * Insertion sort that gives up once more than PARTIAL_INSERTION_SORT_LIMIT elements
+     * have been moved. Returns true if the range ended up sorted.
+     */
+    private static boolean partialInsertionSort(int[] array, int left, int right, MetricsCollector metrics) {
+        int moved = 0;
+        
+        for (int i = left + 1; i <= right; i++) {
+            if (moved > PARTIAL_INSERTION_SORT_LIMIT) {
+                return false;
+            }
+            
+            int key = array[i];
+            int j = i - 1;
+            
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(2);
+            }
+            
+            if (array[j] <= key) {
+                continue;
+            }
+            
+            do {
+                array[j + 1] = array[j];
+                j--;
+                
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses(3);
+                }
+            } while (j >= left && array[j] > key);
+            
+            array[j + 1] = key;
+            moved += i - (j + 1);
+            
+            if (metrics != null) {
+                metrics.incrementArrayAccesses();
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Swap a few elements on both sides of a badly unbalanced partition into new positions
+     * so that the next pivot choice sees a different sample.
+     */
+    private static void breakPatterns(int[] array, int left, int pivotIndex, int right, MetricsCollector metrics) {
+        int leftSize = pivotIndex - left;
+        int rightSize = right - pivotIndex;
+        
+        if (leftSize >= INSERTION_SORT_THRESHOLD) {
+            int quarter = leftSize / 4;
+            swap(array, left, left + quarter, metrics);
+            swap(array, pivotIndex - 1, pivotIndex - quarter, metrics);
+            
+            if (leftSize > NINTHER_THRESHOLD) {
+                swap(array, left + 1, left + quarter + 1, metrics);
+                swap(array, left + 2, left + quarter + 2, metrics);
+                swap(array, pivotIndex - 2, pivotIndex - quarter - 1, metrics);
+                swap(array, pivotIndex - 3, pivotIndex - quarter - 2, metrics);
+            }
+        }
+        
+        if (rightSize >= INSERTION_SORT_THRESHOLD) {
+            int quarter = rightSize / 4;
+            swap(array, pivotIndex + 1, pivotIndex + 1 + quarter, metrics);
+            swap(array, right, right + 1 - quarter, metrics);
+            
+            if (rightSize > NINTHER_THRESHOLD) {
+                swap(array, pivotIndex + 2, pivotIndex + 2 + quarter, metrics);
+                swap(array, pivotIndex + 3, pivotIndex + 3 + quarter, metrics);
+                swap(array, right - 1, right - quarter, metrics);
+                swap(array, right - 2, right - quarter - 1, metrics);
+            }
+        }
+    }
+    
+    private static void sort3(int[] array, int a, int b, int c, MetricsCollector metrics) {
+        sort2(array, a, b, metrics);
+        sort2(array, b, c, metrics);
+        sort2(array, a, b, metrics);
+    }
+    
+    private static void sort2(int[] array, int a, int b, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementComparisons();
+            metrics.incrementArrayAccesses(2);
+        }
+        
+        if (array[b] < array[a]) {
+            swap(array, a, b, metrics);
+        }
+    }
+    
+    private static void countComparison(MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementComparisons();
+            metrics.incrementArrayAccesses();
+        }
+    }
+    
+    private static void swap(int[] array, int i, int j, MetricsCollector metrics) {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        
+        if (metrics != null) {
+            metrics.incrementSwaps();
+            metrics.incrementArrayAccesses(4);
+        }
+    }
+    
+    private static int log2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.example.util.PartitionUtils;
+import org.example.util.RandomUtils;
+
+/**
+ * Chooses the pivot for one partitioning step of {@link QuickSort} or
+ * {@link DeterministicSelect}. Implementations may reorder {@code array[left..right]} while
+ * looking for the pivot but must not touch anything outside it. Randomized strategies draw
+ * from {@link RandomUtils#current()}, so runs are reproducible after
+ * {@link RandomUtils#setSeed}.
+ */
+@FunctionalInterface
+public interface PivotStrategy {
+    
+    /**
+     * Uniformly random element of the range.
+     */
+    PivotStrategy RANDOM = (array, left, right, metrics) ->
+            left + RandomUtils.current().nextInt(right - left + 1);
+    
+    /**
+     * Median of the first, middle and last elements, which are left ordered; see
+     * {@link PartitionUtils#medianOfThree(int[], int, int, MetricsCollector)}.
+     */
+    PivotStrategy MEDIAN_OF_THREE = PartitionUtils::medianOfThree;
+    
+    /**
+     * Tukey's ninther over nine evenly spaced samples; see
+     * {@link PartitionUtils#ninther(int[], int, int, MetricsCollector)}.
+     */
+    PivotStrategy NINTHER = PartitionUtils::ninther;
+    
+    /**
+     * Median of medians of groups of five (BFPRT): a deterministic pivot that does not depend
+     * on input order, at a higher constant factor than the sampling strategies.
+     */
+    PivotStrategy MEDIAN_OF_MEDIANS = DeterministicSelect::medianOfMediansPivot;
+    
+    /**
+     * Index in [left, right] of the pivot to partition {@code array[left..right]} around.
+     */
+    int selectPivot(int[] array, int left, int right, MetricsCollector metrics);
+}
@@ -1,10 +1,20 @@
 package org.example.algorithms;
 
 import org.example.metrics.MetricsCollector;
-import java.util.Random;
+import org.example.util.FloatingPointUtils;
+import org.example.util.PartitionUtils;
+import org.example.util.RandomUtils;
+import org.example.util.ValidationUtils;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class QuickSort {
-    private static final Random random = new Random();
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    private static final int INSERTION_SORT_THRESHOLD = 27;
     
     public static void sort(int[] array, MetricsCollector metrics) {
         if (array == null || array.length <= 1) {
@@ -12,7 +22,7 @@ public class QuickSort {
         }
         
         metrics.start();
-        sort(array, 0, array.length - 1, metrics);
+        sort(array, 0, array.length - 1, 0, depthLimit(array.length), PivotStrategy.RANDOM, metrics);
         metrics.stop();
     }
     
@@ -21,76 +31,1742 @@ public class QuickSort {
             return;
         }
         
-        sort(array, 0, array.length - 1, null);
+        sort(array, 0, array.length - 1, 0, depthLimit(array.length), PivotStrategy.RANDOM, null);
     }
     
-    private static void sort(int[] array, int left, int right, MetricsCollector metrics) {
+    /**
+     * Lomuto quicksort around the pivots chosen by {@code strategy}, with the same depth
+     * guard and heap sort fallback as {@link #sort(int[], MetricsCollector)}, which is this
+     * method with {@link PivotStrategy#RANDOM}. {@code metrics} may be null.
+     */
+    public static void sort(int[] array, PivotStrategy strategy, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(strategy, "Pivot strategy");
+        
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        if (metrics != null) {
+            metrics.start();
+        }
+        
+        sort(array, 0, array.length - 1, 0, depthLimit(array.length), strategy, metrics);
+        
+        if (metrics != null) {
+            metrics.stop();
+        }
+    }
+    
+    /**
+     * Sort using three-way partitioning, which keeps runs of keys equal to the
+     * pivot out of the recursion. Preferred for low-cardinality inputs. Ranges still
+     * unsorted past the depth limit are heap sorted.
+     */
+    public static void sortThreeWay(int[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sortThreeWay(array, 0, array.length - 1, 0, depthLimit(array.length), RandomUtils.current(), metrics);
+        metrics.stop();
+    }
+    
+    public static void sortThreeWay(int[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        sortThreeWay(array, 0, array.length - 1, 0, depthLimit(array.length), RandomUtils.current(), null);
+    }
+    
+    /**
+     * Sort using dual-pivot partitioning with pivots taken from five evenly spaced samples,
+     * falling back to insertion sort for short ranges and to heap sort past the depth limit,
+     * since fixed sample positions can be defeated by crafted input.
+     */
+    public static void sortDualPivot(int[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sortDualPivot(array, 0, array.length - 1, 0, depthLimit(array.length), metrics);
+        metrics.stop();
+    }
+    
+    public static void sortDualPivot(int[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        sortDualPivot(array, 0, array.length - 1, 0, depthLimit(array.length), null);
+    }
+    
+    /**
+     * Sort using branch-free block partitioning around a median-of-three pivot, with the
+     * same depth guard as {@link #sort(int[], MetricsCollector)} and an insertion sort cutoff.
+     */
+    public static void sortBlock(int[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sortBlock(array, 0, array.length - 1, LeafSorter.INSERTION, metrics);
+        metrics.stop();
+    }
+    
+    public static void sortBlock(int[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        sortBlock(array, 0, array.length - 1, LeafSorter.INSERTION, null);
+    }
+    
+    /**
+     * Block-partition sort that hands ranges at or below the cutoff to {@code leafSorter}
+     * instead of insertion sort. {@code metrics} may be null.
+     */
+    public static void sortBlock(int[] array, LeafSorter leafSorter, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(leafSorter, "Leaf sorter");
+        
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        if (metrics != null) {
+            metrics.start();
+        }
+        
+        sortBlock(array, 0, array.length - 1, leafSorter, metrics);
+        
+        if (metrics != null) {
+            metrics.stop();
+        }
+    }
+    
+    public static void sort(long[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sort(array, 0, array.length - 1, 0, depthLimit(array.length), metrics);
+        metrics.stop();
+    }
+    
+    public static void sort(long[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        sort(array, 0, array.length - 1, 0, depthLimit(array.length), null);
+    }
+    
+    /**
+     * Sort doubles in the order of {@link Double#compare}: -0.0 before 0.0 and NaN last.
+     */
+    public static void sort(double[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sortValues(array, metrics);
+        metrics.stop();
+    }
+    
+    public static void sort(double[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        sortValues(array, null);
+    }
+    
+    /**
+     * Sort floats in the order of {@link Float#compare}: -0.0 before 0.0 and NaN last.
+     */
+    public static void sort(float[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sortValues(array, metrics);
+        metrics.stop();
+    }
+    
+    public static void sort(float[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        sortValues(array, null);
+    }
+    
+    /**
+     * Co-sort of a structure-of-arrays pair: sorts {@code keys} ascending and moves
+     * {@code values} in lockstep. In place and not stable; use MergeSort.coSort when equal
+     * keys must keep their order.
+     */
+    public static void coSort(int[] keys, int[] values, MetricsCollector metrics) {
+        ValidationUtils.validateArray(keys, "Keys");
+        ValidationUtils.validateNotNull(values, "Values");
+        ValidationUtils.validateSameLength(keys.length, values.length, "Values");
+        if (keys.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        coSort(keys, values, 0, keys.length - 1, 0, depthLimit(keys.length), metrics);
+        metrics.stop();
+    }
+    
+    public static void coSort(int[] keys, int[] values) {
+        ValidationUtils.validateArray(keys, "Keys");
+        ValidationUtils.validateNotNull(values, "Values");
+        ValidationUtils.validateSameLength(keys.length, values.length, "Values");
+        if (keys.length <= 1) {
+            return;
+        }
+        
+        coSort(keys, values, 0, keys.length - 1, 0, depthLimit(keys.length), null);
+    }
+    
+    public static void coSort(int[] keys, long[] values, MetricsCollector metrics) {
+        ValidationUtils.validateArray(keys, "Keys");
+        ValidationUtils.validateNotNull(values, "Values");
+        ValidationUtils.validateSameLength(keys.length, values.length, "Values");
+        if (keys.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        coSort(keys, values, 0, keys.length - 1, 0, depthLimit(keys.length), metrics);
+        metrics.stop();
+    }
+    
+    public static void coSort(int[] keys, long[] values) {
+        ValidationUtils.validateArray(keys, "Keys");
+        ValidationUtils.validateNotNull(values, "Values");
+        ValidationUtils.validateSameLength(keys.length, values.length, "Values");
+        if (keys.length <= 1) {
+            return;
+        }
+        
+        coSort(keys, values, 0, keys.length - 1, 0, depthLimit(keys.length), null);
+    }
+    
+    /**
+     * Sort the remaining elements of {@code buffer}, from its position to its limit, in
+     * place. Works on heap, direct and memory-mapped buffers alike, so a mapped file can be
+     * sorted without copying it into an {@code int[]}. Uses median-of-three Hoare
+     * partitioning, which writes fewer elements than Lomuto, with the same depth limit
+     * and heap sort fallback as {@link #sort(int[], MetricsCollector)}.
+     */
+    public static void sort(IntBuffer buffer, MetricsCollector metrics) {
+        if (buffer == null || buffer.remaining() <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sort(buffer, buffer.position(), buffer.limit() - 1, 0, depthLimit(buffer.remaining()), metrics);
+        metrics.stop();
+    }
+    
+    public static void sort(IntBuffer buffer) {
+        if (buffer == null || buffer.remaining() <= 1) {
+            return;
+        }
+        
+        sort(buffer, buffer.position(), buffer.limit() - 1, 0, depthLimit(buffer.remaining()), null);
+    }
+    
+    public static void parallelSort(int[] array, MetricsCollector metrics) {
+        parallelSort(array, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD, metrics);
+    }
+    
+    public static void parallelSort(int[] array) {
+        parallelSort(array, ForkJoinPool.commonPool(), PARALLEL_THRESHOLD, null);
+    }
+    
+    /**
+     * Sort on the given pool. After each partition the smaller side is forked as a task
+     * and the larger side stays in the current loop; ranges no longer than
+     * {@code threshold} are sorted sequentially.
+     */
+    public static void parallelSort(int[] array, ForkJoinPool pool, int threshold, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(pool, "Pool");
+        ValidationUtils.validatePositive(threshold, "Threshold");
+        
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        if (metrics != null) {
+            metrics.start();
+        }
+        
+        pool.invoke(new SortTask(array, 0, array.length - 1, threshold, 0, depthLimit(array.length), metrics));
+        
+        if (metrics != null) {
+            metrics.stop();
+        }
+    }
+    
+    /**
+     * Introsort-style partition budget of about 2*log2(n). A range that exhausts
+     * it is heap sorted instead, which caps the worst case at O(n log n).
+     */
+    private static int depthLimit(int length) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(length));
+    }
+    
+    /**
+     * Sort {@code array[left..right]} with the block-partition engine, for callers that
+     * only need part of an array ordered. Does not start or stop {@code metrics}.
+     */
+    static void sortRange(int[] array, int left, int right, MetricsCollector metrics) {
+        if (right > left) {
+            sortBlock(array, left, right, LeafSorter.INSERTION, metrics);
+        }
+    }
+    
+    /**
+     * Sort {@code array[left..right]} with the three-way engine. Does not start or stop
+     * {@code metrics}.
+     */
+    static void sortThreeWayRange(int[] array, int left, int right, MetricsCollector metrics) {
+        if (right > left) {
+            sortThreeWay(array, left, right, 0, depthLimit(right - left + 1), RandomUtils.current(), metrics);
+        }
+    }
+    
+    private static void sort(int[] array, int left, int right, int depth, int depthLimit, PivotStrategy strategy,
+                             MetricsCollector metrics) {
+        while (left < right) {
+            if (depthLimit == 0) {
+                heapSort(array, left, right, metrics);
+                return;
+            }
+            depthLimit--;
+            
+            int pivotIndex = partition(array, left, right, strategy.selectPivot(array, left, right, metrics), metrics);
+            
+            if (metrics != null) {
+                metrics.recordDepth(depth + 1);
+            }
+            
+            int leftSize = pivotIndex - left;
+            int rightSize = right - pivotIndex;
+            
+            if (leftSize < rightSize) {
+                sort(array, left, pivotIndex - 1, depth + 1, depthLimit, strategy, metrics);
+                left = pivotIndex + 1;
+            } else {
+                sort(array, pivotIndex + 1, right, depth + 1, depthLimit, strategy, metrics);
+                right = pivotIndex - 1;
+            }
+        }
+    }
+    
+    private static void sort(IntBuffer buffer, int left, int right, int depth, int depthLimit,
+                             MetricsCollector metrics) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(buffer, left, right, metrics);
+                return;
+            }
+            depthLimit--;
+            
+            int pivotIndex = PartitionUtils.medianOfThree(buffer, left, right, metrics);
+            int split = PartitionUtils.hoarePartition(buffer, left, right, pivotIndex, metrics);
+            
+            if (metrics != null) {
+                metrics.recordDepth(depth + 1);
+            }
+            
+            if (split - left < right - split) {
+                sort(buffer, left, split, depth + 1, depthLimit, metrics);
+                left = split + 1;
+            } else {
+                sort(buffer, split + 1, right, depth + 1, depthLimit, metrics);
+                right = split;
+            }
+        }
+        
+        insertionSort(buffer, left, right, metrics);
+    }
+    
+    private static void sortThreeWay(int[] array, int left, int right, int depth, int depthLimit,
+                                     SplittableRandom random, MetricsCollector metrics) {
         while (left < right) {
-            int pivotIndex = partition(array, left, right, metrics);
+            if (depthLimit == 0) {
+                heapSort(array, left, right, metrics);
+                return;
+            }
+            depthLimit--;
+            
+            int pivotIndex = left + random.nextInt(right - left + 1);
+            long bounds = PartitionUtils.threeWayPartition(array, left, right, pivotIndex, metrics);
+            int lt = PartitionUtils.equalStart(bounds);
+            int gt = PartitionUtils.equalEnd(bounds);
+            
+            if (metrics != null) {
+                metrics.recordDepth(depth + 1);
+            }
+            
+            if (lt - left < right - gt) {
+                sortThreeWay(array, left, lt - 1, depth + 1, depthLimit, random, metrics);
+                left = gt + 1;
+            } else {
+                sortThreeWay(array, gt + 1, right, depth + 1, depthLimit, random, metrics);
+                right = lt - 1;
+            }
+        }
+    }
+    
+    private static void sortBlock(int[] array, int left, int right, LeafSorter leafSorter, MetricsCollector metrics) {
+        int[] offsets = new int[PartitionUtils.BLOCK_SCRATCH_LENGTH];
+        sortBlock(array, left, right, 0, depthLimit(right - left + 1), true, offsets, leafSorter, metrics);
+    }
+    
+    /**
+     * Block-partition sort of {@code array[left..right]}. Unless {@code leftmost}, the element
+     * just before the range is a previous pivot and no greater than anything in it; a new
+     * pivot equal to it is then the range minimum, so pdqsort's partition_left gathers every
+     * copy on the left and they drop out in one pass instead of all landing on one side of
+     * each split.
+     */
+    private static void sortBlock(int[] array, int left, int right, int depth, int depthLimit, boolean leftmost,
+                                  int[] offsets, LeafSorter leafSorter, MetricsCollector metrics) {
+        int cutoff = Math.min(INSERTION_SORT_THRESHOLD, leafSorter.maxLength());
+        
+        while (right - left + 1 > cutoff) {
+            if (depthLimit == 0) {
+                heapSort(array, left, right, metrics);
+                return;
+            }
+            
+            int medianIndex = PartitionUtils.medianOfThree(array, left, right, metrics);
+            
+            if (!leftmost) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses(2);
+                }
+                if (array[left - 1] == array[medianIndex]) {
+                    left = PartitionUtils.partitionLeft(array, left, right, medianIndex, metrics) + 1;
+                    continue;
+                }
+            }
+            depthLimit--;
+            
+            int pivotIndex = PartitionUtils.blockPartition(array, left, right, medianIndex, offsets, metrics);
+            
+            if (metrics != null) {
+                metrics.recordDepth(depth + 1);
+            }
+            
+            if (pivotIndex - left < right - pivotIndex) {
+                sortBlock(array, left, pivotIndex - 1, depth + 1, depthLimit, leftmost, offsets, leafSorter, metrics);
+                left = pivotIndex + 1;
+                leftmost = false;
+            } else {
+                sortBlock(array, pivotIndex + 1, right, depth + 1, depthLimit, false, offsets, leafSorter, metrics);
+                right = pivotIndex - 1;
+            }
+        }
+        
+        leafSorter.sort(array, left, right, metrics);
+    }
+    
+    private static void sortDualPivot(int[] array, int left, int right, int depth, int depthLimit,
+                                      MetricsCollector metrics) {
+        while (right - left + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(array, left, right, metrics);
+                return;
+            }
+            depthLimit--;
+            
+            int seventh = (right - left + 1) / 7;
+            int e3 = left + (right - left) / 2;
+            int e2 = e3 - seventh;
+            int e1 = e2 - seventh;
+            int e4 = e3 + seventh;
+            int e5 = e4 + seventh;
+            sortSamples(array, e1, e2, e3, e4, e5, metrics);
+            
+            long pivots = PartitionUtils.dualPivotPartition(array, left, right, e2, e4, metrics);
+            int lp = PartitionUtils.lowerPivot(pivots);
+            int rp = PartitionUtils.upperPivot(pivots);
+            
+            if (metrics != null) {
+                metrics.recordDepth(depth + 1);
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(2);
+            }
+            
+            // With equal pivots the middle part holds only copies of the pivot.
+            boolean sortMiddle = array[lp] != array[rp];
+            int leftSize = lp - left;
+            int middleSize = sortMiddle ? rp - lp - 1 : 0;
+            int rightSize = right - rp;
+            
+            if (leftSize >= middleSize && leftSize >= rightSize) {
+                if (sortMiddle) {
+                    sortDualPivot(array, lp + 1, rp - 1, depth + 1, depthLimit, metrics);
+                }
+                sortDualPivot(array, rp + 1, right, depth + 1, depthLimit, metrics);
+                right = lp - 1;
+            } else if (rightSize >= middleSize) {
+                sortDualPivot(array, left, lp - 1, depth + 1, depthLimit, metrics);
+                if (sortMiddle) {
+                    sortDualPivot(array, lp + 1, rp - 1, depth + 1, depthLimit, metrics);
+                }
+                left = rp + 1;
+            } else {
+                sortDualPivot(array, left, lp - 1, depth + 1, depthLimit, metrics);
+                sortDualPivot(array, rp + 1, right, depth + 1, depthLimit, metrics);
+                left = lp + 1;
+                right = rp - 1;
+            }
+        }
+        
+        insertionSort(array, left, right, metrics);
+    }
+    
+    private static void sortSamples(int[] array, int e1, int e2, int e3, int e4, int e5, MetricsCollector metrics) {
+        // Optimal 9-comparator sorting network for five elements.
+        compareAndSwap(array, e1, e2, metrics);
+        compareAndSwap(array, e4, e5, metrics);
+        compareAndSwap(array, e3, e5, metrics);
+        compareAndSwap(array, e3, e4, metrics);
+        compareAndSwap(array, e2, e5, metrics);
+        compareAndSwap(array, e1, e4, metrics);
+        compareAndSwap(array, e1, e3, metrics);
+        compareAndSwap(array, e2, e4, metrics);
+        compareAndSwap(array, e2, e3, metrics);
+    }
+    
+    private static void compareAndSwap(int[] array, int i, int j, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementComparisons();
+            metrics.incrementArrayAccesses(2);
+        }
+        
+        if (array[i] > array[j]) {
+            swap(array, i, j);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+    }
+    
+    static void insertionSort(int[] array, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            int key = array[i];
+            if (metrics != null) {
+                metrics.incrementArrayAccesses();
+            }
+            
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                if (array[j] > key) {
+                    array[j + 1] = array[j];
+                    if (metrics != null) {
+                        metrics.incrementArrayAccesses(2);
+                    }
+                    j--;
+                } else {
+                    break;
+                }
+            }
+            
+            array[j + 1] = key;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses();
+            }
+        }
+    }
+    
+    private static void insertionSort(IntBuffer buffer, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            int key = buffer.get(i);
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                int value = buffer.get(j);
+                if (value <= key) {
+                    break;
+                }
+                
+                buffer.put(j + 1, value);
+                if (metrics != null) {
+                    metrics.incrementArrayAccesses();
+                }
+                j--;
+            }
+            
+            buffer.put(j + 1, key);
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2);
+            }
+        }
+    }
+    
+    private static class SortTask extends RecursiveAction {
+        private final int[] array;
+        private final int left;
+        private final int right;
+        private final int threshold;
+        private final int depth;
+        private final int depthLimit;
+        private final MetricsCollector metrics;
+        
+        SortTask(int[] array, int left, int right, int threshold, int depth, int depthLimit,
+                 MetricsCollector metrics) {
+            this.array = array;
+            this.left = left;
+            this.right = right;
+            this.threshold = threshold;
+            this.depth = depth;
+            this.depthLimit = depthLimit;
+            this.metrics = metrics;
+        }
+        
+        @Override
+        protected void compute() {
+            List<SortTask> forked = new ArrayList<>();
+            int left = this.left;
+            int right = this.right;
+            int depthLimit = this.depthLimit;
+            
+            while (right - left + 1 > threshold && depthLimit > 0) {
+                depthLimit--;
+                int pivotIndex = partition(array, left, right,
+                        PivotStrategy.RANDOM.selectPivot(array, left, right, metrics), metrics);
+                
+                if (metrics != null) {
+                    metrics.recordDepth(depth + 1);
+                }
+                
+                int leftSize = pivotIndex - left;
+                int rightSize = right - pivotIndex;
+                
+                if (leftSize < rightSize) {
+                    forkOrSort(left, pivotIndex - 1, depthLimit, forked);
+                    left = pivotIndex + 1;
+                } else {
+                    forkOrSort(pivotIndex + 1, right, depthLimit, forked);
+                    right = pivotIndex - 1;
+                }
+            }
+            
+            sort(array, left, right, depth, depthLimit, PivotStrategy.RANDOM, metrics);
+            
+            for (int i = forked.size() - 1; i >= 0; i--) {
+                forked.get(i).join();
+            }
+        }
+        
+        private void forkOrSort(int from, int to, int depthLimit, List<SortTask> forked) {
+            if (to - from + 1 > threshold) {
+                SortTask task = new SortTask(array, from, to, threshold, depth + 1, depthLimit, metrics);
+                task.fork();
+                forked.add(task);
+            } else {
+                sort(array, from, to, depth + 1, depthLimit, PivotStrategy.RANDOM, metrics);
+            }
+        }
+    }
+    
+    private static int partition(int[] array, int left, int right, int pivotIndex, MetricsCollector metrics) {
+        swap(array, pivotIndex, right);
+        
+        if (metrics != null) {
+            metrics.incrementSwaps();
+            metrics.incrementArrayAccesses(4);
+        }
+        
+        int pivot = array[right];
+        int i = left - 1;
+        
+        for (int j = left; j < right; j++) {
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(2);
+            }
+            
+            if (array[j] <= pivot) {
+                i++;
+                swap(array, i, j);
+                
+                if (metrics != null) {
+                    metrics.incrementSwaps();
+                    metrics.incrementArrayAccesses(4);
+                }
+            }
+        }
+        
+        swap(array, i + 1, right);
+        
+        if (metrics != null) {
+            metrics.incrementSwaps();
+            metrics.incrementArrayAccesses(4);
+        }
+        
+        return i + 1;
+    }
+    
+    static void heapSort(int[] array, int left, int right, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementFallbacks();
+        }
+        
+        int n = right - left + 1;
+        
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(array, left, i, n, metrics);
+        }
+        
+        for (int end = n - 1; end > 0; end--) {
+            swap(array, left, left + end);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+            siftDown(array, left, 0, end, metrics);
+        }
+    }
+    
+    private static void siftDown(int[] array, int offset, int root, int size, MetricsCollector metrics) {
+        int value = array[offset + root];
+        if (metrics != null) {
+            metrics.incrementArrayAccesses();
+        }
+        
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses(2);
+                }
+                if (array[offset + child + 1] > array[offset + child]) {
+                    child++;
+                }
+            }
+            
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses();
+            }
+            if (array[offset + child] <= value) {
+                break;
+            }
+            
+            array[offset + root] = array[offset + child];
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2);
+            }
+            root = child;
+        }
+        
+        array[offset + root] = value;
+        if (metrics != null) {
+            metrics.incrementArrayAccesses();
+        }
+    }
+    
+    private static void heapSort(IntBuffer buffer, int left, int right, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementFallbacks();
+        }
+        
+        int n = right - left + 1;
+        
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(buffer, left, i, n, metrics);
+        }
+        
+        for (int end = n - 1; end > 0; end--) {
+            int temp = buffer.get(left);
+            buffer.put(left, buffer.get(left + end));
+            buffer.put(left + end, temp);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+            siftDown(buffer, left, 0, end, metrics);
+        }
+    }
+    
+    private static void siftDown(IntBuffer buffer, int offset, int root, int size, MetricsCollector metrics) {
+        int value = buffer.get(offset + root);
+        if (metrics != null) {
+            metrics.incrementArrayAccesses();
+        }
+        
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses(2);
+                }
+                if (buffer.get(offset + child + 1) > buffer.get(offset + child)) {
+                    child++;
+                }
+            }
+            
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses();
+            }
+            int childValue = buffer.get(offset + child);
+            if (childValue <= value) {
+                break;
+            }
+            
+            buffer.put(offset + root, childValue);
+            if (metrics != null) {
+                metrics.incrementArrayAccesses();
+            }
+            root = child;
+        }
+        
+        buffer.put(offset + root, value);
+        if (metrics != null) {
+            metrics.incrementArrayAccesses();
+        }
+    }
+    
+    private static void swap(int[] array, int i, int j) {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+    
+    /**
+     * Median-of-three Hoare quicksort with the introsort depth limit, as for IntBuffer.
+     */
+    private static void sort(long[] array, int left, int right, int depth, int depthLimit,
+                             MetricsCollector metrics) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(array, left, right, metrics);
+                return;
+            }
+            depthLimit--;
+            
+            int split = hoarePartition(array, left, right, metrics);
+            
+            if (metrics != null) {
+                metrics.recordDepth(depth + 1);
+            }
+            
+            if (split - left < right - split) {
+                sort(array, left, split, depth + 1, depthLimit, metrics);
+                left = split + 1;
+            } else {
+                sort(array, split + 1, right, depth + 1, depthLimit, metrics);
+                right = split;
+            }
+        }
+        
+        insertionSort(array, left, right, metrics);
+    }
+    
+    /**
+     * Hoare partition around the median of the first, middle and last elements. Returns j
+     * such that [left, j] is not greater than the pivot and (j, right] is not less.
+     */
+    private static int hoarePartition(long[] array, int left, int right, MetricsCollector metrics) {
+        int mid = left + (right - left) / 2;
+        if (array[mid] < array[left]) {
+            swap(array, mid, left);
+        }
+        if (array[right] < array[left]) {
+            swap(array, right, left);
+        }
+        if (array[right] < array[mid]) {
+            swap(array, right, mid);
+        }
+        swap(array, left, mid);
+        
+        if (metrics != null) {
+            metrics.incrementComparisons(3);
+            metrics.incrementArrayAccesses(6);
+        }
+        
+        long pivot = array[left];
+        int i = left - 1;
+        int j = right + 1;
+        
+        while (true) {
+            do {
+                i++;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+            } while (array[i] < pivot);
+            
+            do {
+                j--;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+            } while (array[j] > pivot);
+            
+            if (i >= j) {
+                return j;
+            }
+            
+            swap(array, i, j);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+    }
+    
+    private static void insertionSort(long[] array, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            long key = array[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                if (array[j] <= key) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                if (metrics != null) {
+                    metrics.incrementArrayAccesses(2);
+                }
+                j--;
+            }
+            
+            array[j + 1] = key;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2);
+            }
+        }
+    }
+    
+    private static void heapSort(long[] array, int left, int right, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementFallbacks();
+        }
+        
+        int n = right - left + 1;
+        
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(array, left, i, n, metrics);
+        }
+        
+        for (int end = n - 1; end > 0; end--) {
+            swap(array, left, left + end);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+            siftDown(array, left, 0, end, metrics);
+        }
+    }
+    
+    private static void siftDown(long[] array, int offset, int root, int size, MetricsCollector metrics) {
+        long value = array[offset + root];
+        
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses(2);
+                }
+                if (array[offset + child + 1] > array[offset + child]) {
+                    child++;
+                }
+            }
+            
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses();
+            }
+            if (array[offset + child] <= value) {
+                break;
+            }
+            
+            array[offset + root] = array[offset + child];
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2);
+            }
+            root = child;
+        }
+        
+        array[offset + root] = value;
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(2);
+        }
+    }
+    
+    private static void swap(long[] array, int i, int j) {
+        long temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+    
+    private static void sortValues(double[] array, MetricsCollector metrics) {
+        int end = FloatingPointUtils.moveNaNsToEnd(array);
+        
+        if (end > 1) {
+            sort(array, 0, end - 1, 0, depthLimit(end), metrics);
+            FloatingPointUtils.orderSignedZeros(array, end);
+        }
+    }
+    
+    /**
+     * Median-of-three Hoare quicksort with the introsort depth limit, as for IntBuffer.
+     */
+    private static void sort(double[] array, int left, int right, int depth, int depthLimit,
+                             MetricsCollector metrics) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(array, left, right, metrics);
+                return;
+            }
+            depthLimit--;
+            
+            int split = hoarePartition(array, left, right, metrics);
+            
+            if (metrics != null) {
+                metrics.recordDepth(depth + 1);
+            }
+            
+            if (split - left < right - split) {
+                sort(array, left, split, depth + 1, depthLimit, metrics);
+                left = split + 1;
+            } else {
+                sort(array, split + 1, right, depth + 1, depthLimit, metrics);
+                right = split;
+            }
+        }
+        
+        insertionSort(array, left, right, metrics);
+    }
+    
+    /**
+     * Hoare partition around the median of the first, middle and last elements. Returns j
+     * such that [left, j] is not greater than the pivot and (j, right] is not less.
+     */
+    private static int hoarePartition(double[] array, int left, int right, MetricsCollector metrics) {
+        int mid = left + (right - left) / 2;
+        if (array[mid] < array[left]) {
+            swap(array, mid, left);
+        }
+        if (array[right] < array[left]) {
+            swap(array, right, left);
+        }
+        if (array[right] < array[mid]) {
+            swap(array, right, mid);
+        }
+        swap(array, left, mid);
+        
+        if (metrics != null) {
+            metrics.incrementComparisons(3);
+            metrics.incrementArrayAccesses(6);
+        }
+        
+        double pivot = array[left];
+        int i = left - 1;
+        int j = right + 1;
+        
+        while (true) {
+            do {
+                i++;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+            } while (array[i] < pivot);
+            
+            do {
+                j--;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+            } while (array[j] > pivot);
+            
+            if (i >= j) {
+                return j;
+            }
+            
+            swap(array, i, j);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+    }
+    
+    private static void insertionSort(double[] array, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            double key = array[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                if (array[j] <= key) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                if (metrics != null) {
+                    metrics.incrementArrayAccesses(2);
+                }
+                j--;
+            }
+            
+            array[j + 1] = key;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2);
+            }
+        }
+    }
+    
+    private static void heapSort(double[] array, int left, int right, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementFallbacks();
+        }
+        
+        int n = right - left + 1;
+        
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(array, left, i, n, metrics);
+        }
+        
+        for (int end = n - 1; end > 0; end--) {
+            swap(array, left, left + end);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+            siftDown(array, left, 0, end, metrics);
+        }
+    }
+    
+    private static void siftDown(double[] array, int offset, int root, int size, MetricsCollector metrics) {
+        double value = array[offset + root];
+        
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses(2);
+                }
+                if (array[offset + child + 1] > array[offset + child]) {
+                    child++;
+                }
+            }
+            
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses();
+            }
+            if (array[offset + child] <= value) {
+                break;
+            }
             
+            array[offset + root] = array[offset + child];
             if (metrics != null) {
-                metrics.enterRecursion();
+                metrics.incrementArrayAccesses(2);
+            }
+            root = child;
+        }
+        
+        array[offset + root] = value;
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(2);
+        }
+    }
+    
+    private static void swap(double[] array, int i, int j) {
+        double temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+    
+    private static void sortValues(float[] array, MetricsCollector metrics) {
+        int end = FloatingPointUtils.moveNaNsToEnd(array);
+        
+        if (end > 1) {
+            sort(array, 0, end - 1, 0, depthLimit(end), metrics);
+            FloatingPointUtils.orderSignedZeros(array, end);
+        }
+    }
+    
+    /**
+     * Median-of-three Hoare quicksort with the introsort depth limit, as for IntBuffer.
+     */
+    private static void sort(float[] array, int left, int right, int depth, int depthLimit,
+                             MetricsCollector metrics) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(array, left, right, metrics);
+                return;
             }
+            depthLimit--;
             
-            int leftSize = pivotIndex - left;
-            int rightSize = right - pivotIndex;
+            int split = hoarePartition(array, left, right, metrics);
             
-            if (leftSize < rightSize) {
-                sort(array, left, pivotIndex - 1, metrics);
-                left = pivotIndex + 1;
-            } else {
-                sort(array, pivotIndex + 1, right, metrics);
-                right = pivotIndex - 1;
+            if (metrics != null) {
+                metrics.recordDepth(depth + 1);
             }
             
-            if (metrics != null) {
-                metrics.exitRecursion();
+            if (split - left < right - split) {
+                sort(array, left, split, depth + 1, depthLimit, metrics);
+                left = split + 1;
+            } else {
+                sort(array, split + 1, right, depth + 1, depthLimit, metrics);
+                right = split;
             }
         }
+        
+        insertionSort(array, left, right, metrics);
     }
     
-    private static int partition(int[] array, int left, int right, MetricsCollector metrics) {
-        int randomIndex = left + random.nextInt(right - left + 1);
-        swap(array, randomIndex, right);
+    /**
+     * Hoare partition around the median of the first, middle and last elements. Returns j
+     * such that [left, j] is not greater than the pivot and (j, right] is not less.
+     */
+    private static int hoarePartition(float[] array, int left, int right, MetricsCollector metrics) {
+        int mid = left + (right - left) / 2;
+        if (array[mid] < array[left]) {
+            swap(array, mid, left);
+        }
+        if (array[right] < array[left]) {
+            swap(array, right, left);
+        }
+        if (array[right] < array[mid]) {
+            swap(array, right, mid);
+        }
+        swap(array, left, mid);
         
         if (metrics != null) {
-            metrics.incrementSwaps();
-            metrics.incrementArrayAccesses(4);
+            metrics.incrementComparisons(3);
+            metrics.incrementArrayAccesses(6);
         }
         
-        int pivot = array[right];
+        float pivot = array[left];
         int i = left - 1;
+        int j = right + 1;
         
-        for (int j = left; j < right; j++) {
+        while (true) {
+            do {
+                i++;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+            } while (array[i] < pivot);
+            
+            do {
+                j--;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+            } while (array[j] > pivot);
+            
+            if (i >= j) {
+                return j;
+            }
+            
+            swap(array, i, j);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+    }
+    
+    private static void insertionSort(float[] array, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            float key = array[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                if (array[j] <= key) {
+                    break;
+                }
+                array[j + 1] = array[j];
+                if (metrics != null) {
+                    metrics.incrementArrayAccesses(2);
+                }
+                j--;
+            }
+            
+            array[j + 1] = key;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2);
+            }
+        }
+    }
+    
+    private static void heapSort(float[] array, int left, int right, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementFallbacks();
+        }
+        
+        int n = right - left + 1;
+        
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(array, left, i, n, metrics);
+        }
+        
+        for (int end = n - 1; end > 0; end--) {
+            swap(array, left, left + end);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+            siftDown(array, left, 0, end, metrics);
+        }
+    }
+    
+    private static void siftDown(float[] array, int offset, int root, int size, MetricsCollector metrics) {
+        float value = array[offset + root];
+        
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses(2);
+                }
+                if (array[offset + child + 1] > array[offset + child]) {
+                    child++;
+                }
+            }
+            
             if (metrics != null) {
                 metrics.incrementComparisons();
+                metrics.incrementArrayAccesses();
+            }
+            if (array[offset + child] <= value) {
+                break;
+            }
+            
+            array[offset + root] = array[offset + child];
+            if (metrics != null) {
                 metrics.incrementArrayAccesses(2);
             }
+            root = child;
+        }
+        
+        array[offset + root] = value;
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(2);
+        }
+    }
+    
+    private static void swap(float[] array, int i, int j) {
+        float temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+    
+    private static void coSort(int[] keys, int[] values, int left, int right, int depth, int depthLimit,
+                               MetricsCollector metrics) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSortPairs(keys, values, left, right, metrics);
+                return;
+            }
+            depthLimit--;
             
-            if (array[j] <= pivot) {
+            int split = hoarePartitionPairs(keys, values, left, right, metrics);
+            
+            if (metrics != null) {
+                metrics.recordDepth(depth + 1);
+            }
+            
+            if (split - left < right - split) {
+                coSort(keys, values, left, split, depth + 1, depthLimit, metrics);
+                left = split + 1;
+            } else {
+                coSort(keys, values, split + 1, right, depth + 1, depthLimit, metrics);
+                right = split;
+            }
+        }
+        
+        insertionSortPairs(keys, values, left, right, metrics);
+    }
+    
+    private static int hoarePartitionPairs(int[] keys, int[] values, int left, int right, MetricsCollector metrics) {
+        int mid = left + (right - left) / 2;
+        if (keys[mid] < keys[left]) {
+            swapPairs(keys, values, mid, left);
+        }
+        if (keys[right] < keys[left]) {
+            swapPairs(keys, values, right, left);
+        }
+        if (keys[right] < keys[mid]) {
+            swapPairs(keys, values, right, mid);
+        }
+        swapPairs(keys, values, left, mid);
+        
+        if (metrics != null) {
+            metrics.incrementComparisons(3);
+            metrics.incrementArrayAccesses(6);
+        }
+        
+        int pivot = keys[left];
+        int i = left - 1;
+        int j = right + 1;
+        
+        while (true) {
+            do {
                 i++;
-                swap(array, i, j);
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+            } while (keys[i] < pivot);
+            
+            do {
+                j--;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+            } while (keys[j] > pivot);
+            
+            if (i >= j) {
+                return j;
+            }
+            
+            swapPairs(keys, values, i, j);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(8);
+            }
+        }
+    }
+    
+    private static void insertionSortPairs(int[] keys, int[] values, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            int key = keys[i];
+            int value = values[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
                 
+                if (keys[j] <= key) {
+                    break;
+                }
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
                 if (metrics != null) {
-                    metrics.incrementSwaps();
-                    metrics.incrementArrayAccesses(4);
+                    metrics.incrementArrayAccesses(3);
                 }
+                j--;
+            }
+            
+            keys[j + 1] = key;
+            values[j + 1] = value;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+    }
+    
+    private static void heapSortPairs(int[] keys, int[] values, int left, int right, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementFallbacks();
+        }
+        
+        int n = right - left + 1;
+        
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownPairs(keys, values, left, i, n, metrics);
+        }
+        
+        for (int end = n - 1; end > 0; end--) {
+            swapPairs(keys, values, left, left + end);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(8);
             }
+            siftDownPairs(keys, values, left, 0, end, metrics);
         }
+    }
+    
+    private static void siftDownPairs(int[] keys, int[] values, int offset, int root, int size,
+                                      MetricsCollector metrics) {
+        int key = keys[offset + root];
+        int value = values[offset + root];
         
-        swap(array, i + 1, right);
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses(2);
+                }
+                if (keys[offset + child + 1] > keys[offset + child]) {
+                    child++;
+                }
+            }
+            
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses();
+            }
+            if (keys[offset + child] <= key) {
+                break;
+            }
+            
+            keys[offset + root] = keys[offset + child];
+            values[offset + root] = values[offset + child];
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(4);
+            }
+            root = child;
+        }
         
+        keys[offset + root] = key;
+        values[offset + root] = value;
         if (metrics != null) {
-            metrics.incrementSwaps();
             metrics.incrementArrayAccesses(4);
         }
+    }
+    
+    private static void swapPairs(int[] keys, int[] values, int i, int j) {
+        int tempKey = keys[i];
+        keys[i] = keys[j];
+        keys[j] = tempKey;
         
-        return i + 1;
+        int tempValue = values[i];
+        values[i] = values[j];
+        values[j] = tempValue;
     }
     
-    private static void swap(int[] array, int i, int j) {
-        int temp = array[i];
-        array[i] = array[j];
-        array[j] = temp;
+    private static void coSort(int[] keys, long[] values, int left, int right, int depth, int depthLimit,
+                               MetricsCollector metrics) {
+        while (right - left >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSortPairs(keys, values, left, right, metrics);
+                return;
+            }
+            depthLimit--;
+            
+            int split = hoarePartitionPairs(keys, values, left, right, metrics);
+            
+            if (metrics != null) {
+                metrics.recordDepth(depth + 1);
+            }
+            
+            if (split - left < right - split) {
+                coSort(keys, values, left, split, depth + 1, depthLimit, metrics);
+                left = split + 1;
+            } else {
+                coSort(keys, values, split + 1, right, depth + 1, depthLimit, metrics);
+                right = split;
+            }
+        }
+        
+        insertionSortPairs(keys, values, left, right, metrics);
+    }
+    
+    private static int hoarePartitionPairs(int[] keys, long[] values, int left, int right, MetricsCollector metrics) {
+        int mid = left + (right - left) / 2;
+        if (keys[mid] < keys[left]) {
+            swapPairs(keys, values, mid, left);
+        }
+        if (keys[right] < keys[left]) {
+            swapPairs(keys, values, right, left);
+        }
+        if (keys[right] < keys[mid]) {
+            swapPairs(keys, values, right, mid);
+        }
+        swapPairs(keys, values, left, mid);
+        
+        if (metrics != null) {
+            metrics.incrementComparisons(3);
+            metrics.incrementArrayAccesses(6);
+        }
+        
+        int pivot = keys[left];
+        int i = left - 1;
+        int j = right + 1;
+        
+        while (true) {
+            do {
+                i++;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+            } while (keys[i] < pivot);
+            
+            do {
+                j--;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+            } while (keys[j] > pivot);
+            
+            if (i >= j) {
+                return j;
+            }
+            
+            swapPairs(keys, values, i, j);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(8);
+            }
+        }
+    }
+    
+    private static void insertionSortPairs(int[] keys, long[] values, int left, int right, MetricsCollector metrics) {
+        for (int i = left + 1; i <= right; i++) {
+            int key = keys[i];
+            long value = values[i];
+            int j = i - 1;
+            
+            while (j >= left) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                if (keys[j] <= key) {
+                    break;
+                }
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                if (metrics != null) {
+                    metrics.incrementArrayAccesses(3);
+                }
+                j--;
+            }
+            
+            keys[j + 1] = key;
+            values[j + 1] = value;
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+    }
+    
+    private static void heapSortPairs(int[] keys, long[] values, int left, int right, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementFallbacks();
+        }
+        
+        int n = right - left + 1;
+        
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDownPairs(keys, values, left, i, n, metrics);
+        }
+        
+        for (int end = n - 1; end > 0; end--) {
+            swapPairs(keys, values, left, left + end);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(8);
+            }
+            siftDownPairs(keys, values, left, 0, end, metrics);
+        }
+    }
+    
+    private static void siftDownPairs(int[] keys, long[] values, int offset, int root, int size,
+                                      MetricsCollector metrics) {
+        int key = keys[offset + root];
+        long value = values[offset + root];
+        
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses(2);
+                }
+                if (keys[offset + child + 1] > keys[offset + child]) {
+                    child++;
+                }
+            }
+            
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses();
+            }
+            if (keys[offset + child] <= key) {
+                break;
+            }
+            
+            keys[offset + root] = keys[offset + child];
+            values[offset + root] = values[offset + child];
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(4);
+            }
+            root = child;
+        }
+        
+        keys[offset + root] = key;
+        values[offset + root] = value;
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(4);
+        }
+    }
+    
+    private static void swapPairs(int[] keys, long[] values, int i, int j) {
+        int tempKey = keys[i];
+        keys[i] = keys[j];
+        keys[j] = tempKey;
+        
+        long tempValue = values[i];
+        values[i] = values[j];
+        values[j] = tempValue;
     }
 }
@@ -0,0 +1,363 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.example.util.ParallelUtils;
+import org.example.util.ValidationUtils;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * LSD radix sort for int keys using 8-bit digits. The sign bit is flipped when digits
+ * are extracted so negative keys order before positive ones. All digit histograms are
+ * built in a single counting pass, and a pass whose digit is the same for every key is
+ * skipped. One scratch buffer of the input's length is reused as the ping-pong target.
+ */
+public class RadixSort {
+    private static final int DIGIT_BITS = 8;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int DIGIT_MASK = RADIX - 1;
+    private static final int PASSES = Integer.SIZE / DIGIT_BITS;
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int MIN_CHUNK_LENGTH = 1 << 14;
+    private static final int CHUNKS_PER_WORKER = 4;
+    
+    public static void sort(int[] array, MetricsCollector metrics) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        metrics.start();
+        sort(array, new int[array.length], metrics);
+        metrics.stop();
+    }
+    
+    public static void sort(int[] array) {
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        sort(array, new int[array.length], null);
+    }
+    
+    public static void parallelSort(int[] array, MetricsCollector metrics) {
+        parallelSort(array, ForkJoinPool.commonPool(), metrics);
+    }
+    
+    public static void parallelSort(int[] array) {
+        parallelSort(array, ForkJoinPool.commonPool(), null);
+    }
+    
+    /**
+     * Parallel LSD radix sort on the given pool. The array is cut into contiguous chunks;
+     * for every pass each chunk counts its own digit histogram, a prefix sum taken digit by
+     * digit and chunk by chunk within a digit hands every chunk a disjoint output range per
+     * digit, and the chunks then scatter concurrently. Chunk order within a digit keeps the
+     * sort stable, and no inner loop touches shared counters. Arrays shorter than
+     * PARALLEL_THRESHOLD are sorted sequentially. {@code metrics} may be null.
+     */
+    public static void parallelSort(int[] array, ForkJoinPool pool, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(pool, "Pool");
+        
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        if (metrics != null) {
+            metrics.start();
+        }
+        
+        if (array.length < PARALLEL_THRESHOLD) {
+            sort(array, new int[array.length], metrics);
+        } else {
+            parallelSort(array, new int[array.length], pool, metrics);
+        }
+        
+        if (metrics != null) {
+            metrics.stop();
+        }
+    }
+    
+    /**
+     * Stable argsort: returns the permutation {@code p} such that {@code keys[p[0]],
+     * keys[p[1]], ...} is ascending, with equal keys kept in index order. Keys travel with
+     * their indices through the passes so every scatter reads sequentially; this costs two
+     * key buffers and two index buffers of length n, and {@code keys} is not modified.
+     */
+    public static int[] argsort(int[] keys, MetricsCollector metrics) {
+        ValidationUtils.validateArray(keys);
+        
+        metrics.start();
+        int[] permutation = argsortLsd(keys, metrics);
+        metrics.stop();
+        
+        return permutation;
+    }
+    
+    public static int[] argsort(int[] keys) {
+        ValidationUtils.validateArray(keys);
+        
+        return argsortLsd(keys, null);
+    }
+    
+    /**
+     * Sequential sort through {@code buffer}, which must be at least as long as the array.
+     * Does not start or stop {@code metrics}.
+     */
+    static void sort(int[] array, int[] buffer, MetricsCollector metrics) {
+        int n = array.length;
+        int[] counts = new int[PASSES * RADIX];
+        
+        if (metrics != null) {
+            metrics.incrementAllocations(n + counts.length);
+        }
+        
+        for (int i = 0; i < n; i++) {
+            int key = array[i] ^ Integer.MIN_VALUE;
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass * RADIX + ((key >>> (pass * DIGIT_BITS)) & DIGIT_MASK)]++;
+            }
+        }
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(n);
+        }
+        
+        int[] source = array;
+        int[] target = buffer;
+        
+        for (int pass = 0; pass < PASSES; pass++) {
+            int base = pass * RADIX;
+            int shift = pass * DIGIT_BITS;
+            
+            if (isUniform(counts, base, n)) {
+                continue;
+            }
+            
+            int offset = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int count = counts[base + digit];
+                counts[base + digit] = offset;
+                offset += count;
+            }
+            
+            for (int i = 0; i < n; i++) {
+                int value = source[i];
+                int digit = ((value ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK;
+                target[counts[base + digit]++] = value;
+            }
+            
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * n);
+            }
+            
+            int[] temp = source;
+            source = target;
+            target = temp;
+        }
+        
+        if (source != array) {
+            System.arraycopy(source, 0, array, 0, n);
+            
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * n);
+            }
+        }
+    }
+    
+    /**
+     * Parallel sort through {@code buffer}, for arrays of at least PARALLEL_THRESHOLD.
+     * Does not start or stop {@code metrics}.
+     */
+    static void parallelSort(int[] array, int[] buffer, ForkJoinPool pool, MetricsCollector metrics) {
+        int n = array.length;
+        int chunks = Math.max(1, Math.min(pool.getParallelism() * CHUNKS_PER_WORKER, n / MIN_CHUNK_LENGTH));
+        int[][] counts = new int[chunks][PASSES * RADIX];
+        
+        if (metrics != null) {
+            metrics.incrementAllocations(n + (long) chunks * PASSES * RADIX);
+            metrics.recordAuxiliaryBytes((long) n * Integer.BYTES);
+        }
+        
+        // All digit histograms per chunk in one pass; they serve the first pass that moves data
+        ParallelUtils.parallelFor(pool, chunks, chunk -> {
+            int[] chunkCounts = counts[chunk];
+            int to = ParallelUtils.sliceStart(chunk + 1, chunks, n);
+            for (int i = ParallelUtils.sliceStart(chunk, chunks, n); i < to; i++) {
+                int key = array[i] ^ Integer.MIN_VALUE;
+                for (int pass = 0; pass < PASSES; pass++) {
+                    chunkCounts[pass * RADIX + ((key >>> (pass * DIGIT_BITS)) & DIGIT_MASK)]++;
+                }
+            }
+        });
+        
+        int[] totals = new int[PASSES * RADIX];
+        for (int[] chunkCounts : counts) {
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += chunkCounts[i];
+            }
+        }
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(n);
+        }
+        
+        int[] source = array;
+        int[] target = buffer;
+        boolean moved = false;
+        
+        for (int pass = 0; pass < PASSES; pass++) {
+            int base = pass * RADIX;
+            int shift = pass * DIGIT_BITS;
+            
+            if (isUniform(totals, base, n)) {
+                continue;
+            }
+            
+            int[] passSource = source;
+            int[] passTarget = target;
+            
+            if (moved) {
+                // Earlier scatters reshuffled the chunks, so recount this digit
+                ParallelUtils.parallelFor(pool, chunks, chunk -> {
+                    int[] chunkCounts = counts[chunk];
+                    Arrays.fill(chunkCounts, base, base + RADIX, 0);
+                    int to = ParallelUtils.sliceStart(chunk + 1, chunks, n);
+                    for (int i = ParallelUtils.sliceStart(chunk, chunks, n); i < to; i++) {
+                        chunkCounts[base + (((passSource[i] ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK)]++;
+                    }
+                });
+                
+                if (metrics != null) {
+                    metrics.incrementArrayAccesses(n);
+                }
+            }
+            
+            // Digit-major, chunk-minor prefix sum turns each count into a write cursor
+            int offset = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                for (int[] chunkCounts : counts) {
+                    int count = chunkCounts[base + digit];
+                    chunkCounts[base + digit] = offset;
+                    offset += count;
+                }
+            }
+            
+            ParallelUtils.parallelFor(pool, chunks, chunk -> {
+                int[] cursor = counts[chunk];
+                int to = ParallelUtils.sliceStart(chunk + 1, chunks, n);
+                for (int i = ParallelUtils.sliceStart(chunk, chunks, n); i < to; i++) {
+                    int value = passSource[i];
+                    int digit = ((value ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK;
+                    passTarget[cursor[base + digit]++] = value;
+                }
+            });
+            
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * n);
+            }
+            
+            moved = true;
+            source = passTarget;
+            target = passSource;
+        }
+        
+        if (source != array) {
+            int[] result = source;
+            ParallelUtils.parallelFor(pool, chunks, chunk -> {
+                int from = ParallelUtils.sliceStart(chunk, chunks, n);
+                int to = ParallelUtils.sliceStart(chunk + 1, chunks, n);
+                System.arraycopy(result, from, array, from, to - from);
+            });
+            
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * n);
+            }
+        }
+    }
+    
+    private static int[] argsortLsd(int[] keys, MetricsCollector metrics) {
+        int n = keys.length;
+        int[] counts = new int[PASSES * RADIX];
+        int[] indices = new int[n];
+        
+        for (int i = 0; i < n; i++) {
+            indices[i] = i;
+            int key = keys[i] ^ Integer.MIN_VALUE;
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass * RADIX + ((key >>> (pass * DIGIT_BITS)) & DIGIT_MASK)]++;
+            }
+        }
+        
+        int activePasses = 0;
+        for (int pass = 0; pass < PASSES; pass++) {
+            if (!isUniform(counts, pass * RADIX, n)) {
+                activePasses++;
+            }
+        }
+        
+        // Key buffers are only needed when something moves; the first pass reads keys itself
+        int[] sourceKeys = keys;
+        int[] targetKeys = activePasses > 0 ? new int[n] : null;
+        int[] spareKeys = activePasses > 1 ? new int[n] : null;
+        int[] sourceIndices = indices;
+        int[] targetIndices = activePasses > 0 ? new int[n] : null;
+        
+        if (metrics != null) {
+            long allocated = counts.length + n;
+            allocated += activePasses > 0 ? 2L * n : 0;
+            allocated += activePasses > 1 ? n : 0;
+            metrics.incrementAllocations(allocated);
+            metrics.incrementArrayAccesses(n);
+        }
+        
+        for (int pass = 0; pass < PASSES; pass++) {
+            int base = pass * RADIX;
+            int shift = pass * DIGIT_BITS;
+            
+            if (isUniform(counts, base, n)) {
+                continue;
+            }
+            
+            int offset = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int count = counts[base + digit];
+                counts[base + digit] = offset;
+                offset += count;
+            }
+            
+            for (int i = 0; i < n; i++) {
+                int key = sourceKeys[i];
+                int position = counts[base + (((key ^ Integer.MIN_VALUE) >>> shift) & DIGIT_MASK)]++;
+                targetKeys[position] = key;
+                targetIndices[position] = sourceIndices[i];
+            }
+            
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(4L * n);
+            }
+            
+            int[] tempIndices = sourceIndices;
+            sourceIndices = targetIndices;
+            targetIndices = tempIndices;
+            
+            int[] tempKeys = sourceKeys == keys ? spareKeys : sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = tempKeys;
+        }
+        
+        return sourceIndices;
+    }
+    
+    /**
+     * True when one digit value accounts for every key, so the pass would not move anything.
+     */
+    private static boolean isUniform(int[] counts, int base, int n) {
+        for (int digit = 0; digit < RADIX; digit++) {
+            int count = counts[base + digit];
+            if (count != 0) {
+                return count == n;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,274 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.example.util.ParallelUtils;
+import org.example.util.RandomUtils;
+import org.example.util.ValidationUtils;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Parallel sample sort for large int arrays. Splitters are drawn from a sorted random
+ * sample; the array is then cut into stripes, and each stripe classifies its elements into
+ * buckets with a branch-free search tree, records the bucket of every element and counts a
+ * per-stripe histogram. A prefix sum over the histograms gives every stripe its own write
+ * cursor in each bucket, so the scatter needs no synchronization. Finally each bucket is
+ * copied back and sorted by the sequential block quicksort. Every phase runs on all workers,
+ * including the first pass over the input.
+ * When the sample repeats a splitter, which happens once a key fills more than a bucket's
+ * share of the input, the splitters are deduplicated and every leaf of the tree gets a
+ * second bucket for keys equal to its splitter. Those equality buckets hold a single value,
+ * so they are copied back without sorting.
+ * With a collector, the time spent in the sample, classify, scatter and sort phases is
+ * reported through {@link MetricsCollector#recordPhase}.
+ */
+public class SampleSort {
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+    private static final int MIN_STRIPE_LENGTH = 1 << 14;
+    private static final int STRIPES_PER_WORKER = 4;
+    private static final int BUCKETS_PER_WORKER = 16;
+    private static final int MAX_BUCKETS = 256;
+    private static final int OVERSAMPLING = 16;
+    
+    public static void sort(int[] array, MetricsCollector metrics) {
+        sort(array, ForkJoinPool.commonPool(), metrics);
+    }
+    
+    public static void sort(int[] array) {
+        sort(array, ForkJoinPool.commonPool(), null);
+    }
+    
+    /**
+     * Sort on the given pool. Arrays shorter than SEQUENTIAL_THRESHOLD are sorted on the
+     * calling thread. {@code metrics} may be null.
+     */
+    public static void sort(int[] array, ForkJoinPool pool, MetricsCollector metrics) {
+        ValidationUtils.validateNotNull(pool, "Pool");
+        
+        if (array == null || array.length <= 1) {
+            return;
+        }
+        
+        if (metrics != null) {
+            metrics.start();
+        }
+        
+        if (array.length < SEQUENTIAL_THRESHOLD) {
+            QuickSort.sortRange(array, 0, array.length - 1, metrics);
+        } else {
+            sampleSort(array, pool, metrics);
+        }
+        
+        if (metrics != null) {
+            metrics.stop();
+        }
+    }
+    
+    private static void sampleSort(int[] array, ForkJoinPool pool, MetricsCollector metrics) {
+        int n = array.length;
+        int workers = pool.getParallelism();
+        int leaves = Math.min(MAX_BUCKETS, Integer.highestOneBit(workers * BUCKETS_PER_WORKER));
+        int stripes = Math.max(1, Math.min(workers * STRIPES_PER_WORKER, n / MIN_STRIPE_LENGTH));
+        
+        long phaseStart = System.nanoTime();
+        int[] splitters = sampleSplitters(array, leaves, metrics);
+        boolean equalityBuckets = hasDuplicates(splitters);
+        if (equalityBuckets) {
+            splitters = distinctSplitters(splitters);
+        }
+        leaves = splitters.length + 1;
+        int buckets = equalityBuckets ? 2 * leaves : leaves;
+        
+        int[] tree = new int[leaves];
+        fillTree(tree, 1, splitters, 0, splitters.length);
+        
+        // Splitter of every leaf; the last leaf only holds keys above the largest splitter
+        int[] equal = equalityBuckets ? Arrays.copyOf(splitters, leaves) : null;
+        if (equalityBuckets) {
+            equal[leaves - 1] = splitters[leaves - 2];
+        }
+        
+        if (metrics != null) {
+            metrics.incrementAllocations(tree.length + (equalityBuckets ? equal.length : 0));
+        }
+        phaseStart = endPhase("sample", phaseStart, metrics);
+        
+        // Bucket of every element, so the scatter does not classify a second time
+        byte[] oracle = new byte[n];
+        int[][] histograms = new int[stripes][buckets];
+        
+        if (metrics != null) {
+            metrics.incrementAllocations(n + (long) stripes * buckets);
+        }
+        
+        ParallelUtils.parallelFor(pool, stripes, stripe -> {
+            int from = ParallelUtils.sliceStart(stripe, stripes, n);
+            int to = ParallelUtils.sliceStart(stripe + 1, stripes, n);
+            classify(array, from, to, tree, equal, oracle, histograms[stripe], metrics);
+        });
+        phaseStart = endPhase("classify", phaseStart, metrics);
+        
+        // Bucket-major prefix sum: stripe s writes bucket b at cursors[s][b] onwards
+        int[] bucketStart = new int[buckets + 1];
+        int[][] cursors = new int[stripes][buckets];
+        int offset = 0;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            bucketStart[bucket] = offset;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                cursors[stripe][bucket] = offset;
+                offset += histograms[stripe][bucket];
+            }
+        }
+        bucketStart[buckets] = n;
+        
+        int[] buffer = new int[n];
+        if (metrics != null) {
+            metrics.incrementAllocations(n);
+            metrics.recordAuxiliaryBytes((long) n * Integer.BYTES + n);
+        }
+        
+        ParallelUtils.parallelFor(pool, stripes, stripe -> {
+            int from = ParallelUtils.sliceStart(stripe, stripes, n);
+            int to = ParallelUtils.sliceStart(stripe + 1, stripes, n);
+            scatter(array, buffer, from, to, oracle, cursors[stripe], metrics);
+        });
+        phaseStart = endPhase("scatter", phaseStart, metrics);
+        
+        ParallelUtils.parallelFor(pool, buckets, bucket -> {
+            int from = bucketStart[bucket];
+            int length = bucketStart[bucket + 1] - from;
+            if (length == 0) {
+                return;
+            }
+            
+            System.arraycopy(buffer, from, array, from, length);
+            if (metrics != null) {
+                metrics.incrementArrayAccesses(2L * length);
+            }
+            if (!equalityBuckets || (bucket & 1) == 0) {
+                QuickSort.sortRange(array, from, from + length - 1, metrics);
+            }
+        });
+        endPhase("sort", phaseStart, metrics);
+    }
+    
+    /**
+     * Draw OVERSAMPLING * leaves random elements, sort them and return every OVERSAMPLING-th
+     * as the leaves - 1 splitters, in ascending order.
+     */
+    private static int[] sampleSplitters(int[] array, int leaves, MetricsCollector metrics) {
+        SplittableRandom random = RandomUtils.current();
+        int[] sample = new int[leaves * OVERSAMPLING];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = array[random.nextInt(array.length)];
+        }
+        QuickSort.sortRange(sample, 0, sample.length - 1, metrics);
+        
+        int[] splitters = new int[leaves - 1];
+        for (int i = 0; i < splitters.length; i++) {
+            splitters[i] = sample[(i + 1) * OVERSAMPLING];
+        }
+        
+        if (metrics != null) {
+            metrics.incrementAllocations(sample.length + splitters.length);
+            metrics.incrementArrayAccesses(2L * sample.length);
+        }
+        
+        return splitters;
+    }
+    
+    private static boolean hasDuplicates(int[] splitters) {
+        for (int i = 1; i < splitters.length; i++) {
+            if (splitters[i] == splitters[i - 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * The distinct values of the sorted {@code splitters}, evenly thinned to at most
+     * MAX_BUCKETS / 2 - 1 so twice the leaves still fit the byte-wide bucket oracle, and
+     * padded with the largest value to one less than a power of two. The padding leaves
+     * stay empty: the search tree sends every key to the first splitter not below it.
+     */
+    private static int[] distinctSplitters(int[] splitters) {
+        int distinct = 1;
+        for (int i = 1; i < splitters.length; i++) {
+            if (splitters[i] != splitters[i - 1]) {
+                splitters[distinct++] = splitters[i];
+            }
+        }
+        
+        int kept = Math.min(distinct, MAX_BUCKETS / 2 - 1);
+        int leaves = Integer.highestOneBit(kept) << 1;
+        int[] result = new int[leaves - 1];
+        for (int i = 0; i < kept; i++) {
+            result[i] = splitters[(int) ((long) i * distinct / kept)];
+        }
+        Arrays.fill(result, kept, result.length, result[kept - 1]);
+        return result;
+    }
+    
+    private static void fillTree(int[] tree, int node, int[] splitters, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        
+        int mid = (from + to) >>> 1;
+        tree[node] = splitters[mid];
+        fillTree(tree, 2 * node, splitters, from, mid);
+        fillTree(tree, 2 * node + 1, splitters, mid + 1, to);
+    }
+    
+    /**
+     * Bucket every element of [from, to) through the splitter tree. With {@code equal}, leaf
+     * b owns buckets 2b for keys below its splitter {@code equal[b]} and 2b + 1 for keys
+     * equal to it.
+     */
+    private static void classify(int[] array, int from, int to, int[] tree, int[] equal, byte[] oracle,
+                                 int[] histogram, MetricsCollector metrics) {
+        int leaves = tree.length;
+        
+        for (int i = from; i < to; i++) {
+            int value = array[i];
+            int node = 1;
+            while (node < leaves) {
+                // Descend right on value > splitter; compiles to a flag move, not a branch
+                node = 2 * node + (value > tree[node] ? 1 : 0);
+            }
+            int bucket = node - leaves;
+            if (equal != null) {
+                bucket = 2 * bucket + (value == equal[bucket] ? 1 : 0);
+            }
+            oracle[i] = (byte) bucket;
+            histogram[bucket]++;
+        }
+        
+        if (metrics != null) {
+            int levels = Integer.numberOfTrailingZeros(leaves) + (equal == null ? 0 : 1);
+            metrics.incrementComparisons((long) (to - from) * levels);
+            metrics.incrementArrayAccesses((long) (to - from) * (levels + 2));
+        }
+    }
+    
+    private static void scatter(int[] array, int[] buffer, int from, int to, byte[] oracle, int[] cursor,
+                                MetricsCollector metrics) {
+        for (int i = from; i < to; i++) {
+            buffer[cursor[oracle[i] & 0xFF]++] = array[i];
+        }
+        
+        if (metrics != null) {
+            metrics.incrementArrayAccesses(3L * (to - from));
+        }
+    }
+    
+    private static long endPhase(String phase, long phaseStart, MetricsCollector metrics) {
+        long now = System.nanoTime();
+        if (metrics != null) {
+            metrics.recordPhase(phase, now - phaseStart);
+        }
+        return now;
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+
+import java.util.Arrays;
+
+/**
+ * Scalar sorting networks for up to {@link #MAX_LENGTH} ints, built at class load from
+ * Batcher's odd-even merge sort. A range of n inputs uses the network for the next power of
+ * two as if padded with +infinity, which amounts to dropping every comparator that reaches
+ * index n or beyond. Each comparator is a min/max pair with no data-dependent branch.
+ */
+final class SortingNetworks {
+    static final int MAX_LENGTH = 16;
+    
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final int MIN_VECTOR_LANES = 8;
+    
+    /** NETWORKS[n] holds the comparators for n inputs as flattened (i, j) pairs with i < j. */
+    private static final int[][] NETWORKS = buildNetworks();
+    
+    private SortingNetworks() {
+    }
+    
+    static void sort(int[] array, int left, int right, MetricsCollector metrics) {
+        int n = right - left + 1;
+        if (n > MAX_LENGTH) {
+            QuickSort.insertionSort(array, left, right, metrics);
+            return;
+        }
+        if (n <= 1) {
+            return;
+        }
+        
+        int[] network = NETWORKS[n];
+        for (int c = 0; c < network.length; c += 2) {
+            int i = left + network[c];
+            int j = left + network[c + 1];
+            int a = array[i];
+            int b = array[j];
+            array[i] = Math.min(a, b);
+            array[j] = Math.max(a, b);
+            
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(4);
+                if (a > b) {
+                    metrics.incrementSwaps();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Number of comparators used for {@code n} inputs.
+     */
+    static int size(int n) {
+        return n <= 1 ? 0 : NETWORKS[n].length / 2;
+    }
+    
+    /**
+     * The SIMD leaf sorter when the vector module is resolved and wide enough to be worth
+     * using, otherwise {@link LeafSorter#NETWORK}.
+     */
+    static LeafSorter vectorized() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                if (VectorSortingNetwork.lanes() >= MIN_VECTOR_LANES) {
+                    return VectorSortingNetwork.LEAF_SORTER;
+                }
+            } catch (LinkageError e) {
+                // The module is visible but cannot be linked; keep the scalar network
+            }
+        }
+        return LeafSorter.NETWORK;
+    }
+    
+    private static int[][] buildNetworks() {
+        int[][] networks = new int[MAX_LENGTH + 1][];
+        
+        for (int n = 2; n <= MAX_LENGTH; n++) {
+            int[] full = batcher(Integer.highestOneBit(n - 1) << 1);
+            int count = 0;
+            int[] pairs = new int[full.length];
+            for (int c = 0; c < full.length; c += 2) {
+                if (full[c + 1] < n) {
+                    pairs[count++] = full[c];
+                    pairs[count++] = full[c + 1];
+                }
+            }
+            networks[n] = Arrays.copyOf(pairs, count);
+        }
+        
+        return networks;
+    }
+    
+    /**
+     * Batcher's odd-even merge sort network for a power-of-two number of inputs.
+     */
+    private static int[] batcher(int inputs) {
+        int[] pairs = new int[inputs * inputs];
+        int count = 0;
+        
+        for (int p = 1; p < inputs; p <<= 1) {
+            for (int k = p; k >= 1; k >>= 1) {
+                for (int j = k % p; j + k < inputs; j += 2 * k) {
+                    for (int i = 0; i < Math.min(k, inputs - j - k); i++) {
+                        if ((i + j) / (2 * p) == (i + j + k) / (2 * p)) {
+                            pairs[count++] = i + j;
+                            pairs[count++] = i + j + k;
+                        }
+                    }
+                }
+            }
+        }
+        
+        return Arrays.copyOf(pairs, count);
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.algorithms;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+import org.example.metrics.MetricsCollector;
+
+/**
+ * Bitonic sorting network held in a single SIMD register of the preferred int species. Each
+ * step pairs every lane with the lane whose index differs in one bit, takes the min and max
+ * of the pair with one vector op each, and blends them by a fixed mask. Ranges shorter than
+ * the register are loaded under a mask and padded with {@link Integer#MAX_VALUE}.
+ * Only touched through {@link SortingNetworks#vectorized()}, which checks that the incubator
+ * module is resolved before this class is linked.
+ */
+final class VectorSortingNetwork {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    
+    private static final VectorShuffle<Integer>[] PARTNERS;
+    private static final VectorMask<Integer>[] TAKE_MAX;
+    
+    static {
+        int steps = 0;
+        for (int k = 2; k <= LANES; k <<= 1) {
+            steps += Integer.numberOfTrailingZeros(k);
+        }
+        
+        @SuppressWarnings("unchecked")
+        VectorShuffle<Integer>[] partners = new VectorShuffle[steps];
+        @SuppressWarnings("unchecked")
+        VectorMask<Integer>[] takeMax = new VectorMask[steps];
+        
+        int step = 0;
+        for (int k = 2; k <= LANES; k <<= 1) {
+            for (int j = k >> 1; j >= 1; j >>= 1) {
+                int[] partner = new int[LANES];
+                boolean[] max = new boolean[LANES];
+                for (int lane = 0; lane < LANES; lane++) {
+                    partner[lane] = lane ^ j;
+                    // Blocks alternate direction until the last merge, which is ascending
+                    boolean ascending = (lane & k) == 0;
+                    boolean upper = (lane & j) != 0;
+                    max[lane] = ascending == upper;
+                }
+                partners[step] = VectorShuffle.fromArray(SPECIES, partner, 0);
+                takeMax[step] = VectorMask.fromArray(SPECIES, max, 0);
+                step++;
+            }
+        }
+        
+        PARTNERS = partners;
+        TAKE_MAX = takeMax;
+    }
+    
+    static final LeafSorter LEAF_SORTER = new LeafSorter() {
+        @Override
+        public int maxLength() {
+            return LANES;
+        }
+        
+        @Override
+        public void sort(int[] array, int left, int right, MetricsCollector metrics) {
+            VectorSortingNetwork.sort(array, left, right, metrics);
+        }
+    };
+    
+    private VectorSortingNetwork() {
+    }
+    
+    static int lanes() {
+        return LANES;
+    }
+    
+    static void sort(int[] array, int left, int right, MetricsCollector metrics) {
+        int n = right - left + 1;
+        if (n > LANES) {
+            SortingNetworks.sort(array, left, right, metrics);
+            return;
+        }
+        if (n <= 1) {
+            return;
+        }
+        
+        VectorMask<Integer> live = SPECIES.indexInRange(0, n);
+        IntVector values = IntVector.fromArray(SPECIES, array, left, live)
+                .blend(Integer.MAX_VALUE, live.not());
+        
+        for (int step = 0; step < PARTNERS.length; step++) {
+            IntVector partner = values.rearrange(PARTNERS[step]);
+            values = values.min(partner).blend(values.max(partner), TAKE_MAX[step]);
+        }
+        
+        values.intoArray(array, left, live);
+        
+        if (metrics != null) {
+            metrics.incrementComparisons((long) PARTNERS.length * (LANES / 2));
+            metrics.incrementArrayAccesses(2L * n);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.benchmark;
+
+import org.example.algorithms.AdaptiveSort;
+import org.example.algorithms.MergeSort;
+import org.example.algorithms.QuickSort;
+import org.example.algorithms.RadixSort;
+import org.example.util.ArrayUtils;
+import org.example.util.RandomUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AdaptiveSort} against each engine it can dispatch to, on one input shape per routing
+ * rule. The dispatcher should stay within its probe cost of the best fixed engine on every
+ * shape.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class AdaptiveSortBenchmark {
+    
+    @Param({"10000", "1000000"})
+    public int size;
+    
+    @Param({"random", "dense", "fewDistinct", "nearlySorted", "reversed"})
+    public String distribution;
+    
+    private int[] array;
+    
+    @Setup(Level.Iteration)
+    public void setup() {
+        switch (distribution) {
+            case "dense":
+                array = ArrayUtils.generateRandomArray(size, size);
+                break;
+            case "fewDistinct":
+                // Four keys spread over the whole int range, so radix needs every pass
+                array = ArrayUtils.generateRandomArray(size, 4);
+                for (int i = 0; i < size; i++) {
+                    array[i] = (array[i] - 2) * (Integer.MAX_VALUE / 2);
+                }
+                break;
+            case "nearlySorted":
+                array = ArrayUtils.generateNearlySortedArray(size, size / 100);
+                break;
+            case "reversed":
+                array = ArrayUtils.generateReverseSortedArray(size);
+                break;
+            default:
+                array = RandomUtils.current().ints(size).toArray();
+                break;
+        }
+    }
+    
+    @Benchmark
+    public void adaptiveSort() {
+        AdaptiveSort.sort(array.clone());
+    }
+    
+    @Benchmark
+    public void quickSortBlock() {
+        QuickSort.sortBlock(array.clone());
+    }
+    
+    @Benchmark
+    public void quickSortThreeWay() {
+        QuickSort.sortThreeWay(array.clone());
+    }
+    
+    @Benchmark
+    public void radixSort() {
+        RadixSort.sort(array.clone());
+    }
+    
+    @Benchmark
+    public void parallelRadixSort() {
+        RadixSort.parallelSort(array.clone());
+    }
+    
+    @Benchmark
+    public void mergeSortAdaptive() {
+        MergeSort.sortAdaptive(array.clone());
+    }
+    
+    @Benchmark
+    public void javaSort() {
+        int[] copy = array.clone();
+        Arrays.sort(copy);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(AdaptiveSortBenchmark.class.getSimpleName())
+                .build();
+        
+        new Runner(opt).run();
+    }
+}
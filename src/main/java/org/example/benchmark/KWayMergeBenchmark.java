@@ -0,0 +1,84 @@
+package org.example.benchmark;
+
+import org.example.algorithms.KWayMerge;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loser-tree k-way merge of a fixed total number of elements split into k sorted runs,
+ * against concatenating the runs and sorting them with Arrays.sort.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class KWayMergeBenchmark {
+    
+    @Param({"2", "4", "8", "16", "32", "64", "128", "256", "512", "1024"})
+    public int k;
+    
+    @Param({"1048576"})
+    public int size;
+    
+    private int[][] runs;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        runs = new int[k][];
+        
+        for (int i = 0; i < k; i++) {
+            int from = (int) ((long) size * i / k);
+            int to = (int) ((long) size * (i + 1) / k);
+            runs[i] = random.ints(to - from).toArray();
+            Arrays.sort(runs[i]);
+        }
+    }
+    
+    @Benchmark
+    public int[] loserTreeArrays() {
+        return KWayMerge.merge(runs);
+    }
+    
+    @Benchmark
+    public void loserTreeStreaming(Blackhole blackhole) {
+        List<PrimitiveIterator.OfInt> sources = new ArrayList<>(k);
+        for (int[] run : runs) {
+            sources.add(Arrays.stream(run).iterator());
+        }
+        KWayMerge.merge(sources, blackhole::consume);
+    }
+    
+    @Benchmark
+    public int[] concatenateAndSort() {
+        int[] result = new int[size];
+        int offset = 0;
+        for (int[] run : runs) {
+            System.arraycopy(run, 0, result, offset, run.length);
+            offset += run.length;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(KWayMergeBenchmark.class.getSimpleName())
+                .build();
+        
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.benchmark;
+
+import org.example.algorithms.LeafSorter;
+import org.example.algorithms.MergeSort;
+import org.example.algorithms.QuickSort;
+import org.example.util.ArrayUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leaf strategies for short ranges: insertion sort, the scalar sorting network and the SIMD
+ * bitonic network. {@code leaves} sorts back-to-back blocks of {@code leafLength} ints in
+ * isolation ({@code leafLength} only affects this one); {@code mergeSort} and
+ * {@code quickSortBlock} measure the effect on a full sort.
+ * Forks resolve {@code jdk.incubator.vector}; {@link #main} prints the vector shape in use
+ * so results can be read against the CPU feature set, and runs the vector sorter only at
+ * leaf lengths within its lane count. Longer leaves fall through to the scalar network, so
+ * those rows would measure the wrong sorter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class LeafSorterBenchmark {
+    private static final int LEAF_ARRAY_SIZE = 1 << 16;
+    
+    @Param({"insertion", "network", "vector"})
+    public String leafSorter;
+    
+    @Param({"8", "16"})
+    public int leafLength;
+    
+    @Param({"100000"})
+    public int size;
+    
+    private LeafSorter sorter;
+    private int[] leafInput;
+    private int[] input;
+    private int[] work;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        sorter = leafSorter(leafSorter);
+        leafInput = ArrayUtils.generateRandomArray(LEAF_ARRAY_SIZE, Integer.MAX_VALUE);
+        input = ArrayUtils.generateRandomArray(size, Integer.MAX_VALUE);
+        work = new int[Math.max(size, LEAF_ARRAY_SIZE)];
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(LEAF_ARRAY_SIZE)
+    public int[] leaves() {
+        System.arraycopy(leafInput, 0, work, 0, LEAF_ARRAY_SIZE);
+        for (int left = 0; left + leafLength <= LEAF_ARRAY_SIZE; left += leafLength) {
+            sorter.sort(work, left, left + leafLength - 1, null);
+        }
+        return work;
+    }
+    
+    @Benchmark
+    public int[] mergeSort() {
+        int[] array = input.clone();
+        MergeSort.sort(array, sorter, null);
+        return array;
+    }
+    
+    @Benchmark
+    public int[] quickSortBlock() {
+        int[] array = input.clone();
+        QuickSort.sortBlock(array, sorter, null);
+        return array;
+    }
+    
+    /**
+     * The {@code leafLength} parameter values no longer than {@code sorter.maxLength()}.
+     */
+    static String[] leafLengths(LeafSorter sorter) {
+        String[] lengths;
+        try {
+            lengths = LeafSorterBenchmark.class.getField("leafLength").getAnnotation(Param.class).value();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+        
+        return Arrays.stream(lengths)
+                .filter(length -> Integer.parseInt(length) <= sorter.maxLength())
+                .toArray(String[]::new);
+    }
+    
+    static LeafSorter leafSorter(String name) {
+        switch (name) {
+            case "insertion":
+                return LeafSorter.INSERTION;
+            case "network":
+                return LeafSorter.NETWORK;
+            case "vector":
+                return LeafSorter.VECTOR;
+            default:
+                throw new IllegalArgumentException("Unknown leaf sorter: " + name);
+        }
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        System.out.println("os.arch=" + System.getProperty("os.arch")
+                + ", vector leaf active=" + (LeafSorter.VECTOR != LeafSorter.NETWORK)
+                + ", int lanes=" + LeafSorter.VECTOR.maxLength());
+        
+        Options scalar = new OptionsBuilder()
+                .include(LeafSorterBenchmark.class.getSimpleName())
+                .param("leafSorter", "insertion", "network")
+                .build();
+        new Runner(scalar).run();
+        
+        String[] vectorLengths = leafLengths(LeafSorter.VECTOR);
+        if (vectorLengths.length > 0) {
+            Options vector = new OptionsBuilder()
+                    .include(LeafSorterBenchmark.class.getSimpleName())
+                    .param("leafSorter", "vector")
+                    .param("leafLength", vectorLengths)
+                    .build();
+            new Runner(vector).run();
+        }
+    }
+}
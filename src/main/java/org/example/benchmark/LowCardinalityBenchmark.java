@@ -0,0 +1,64 @@
+package org.example.benchmark;
+
+import org.example.algorithms.QuickSort;
+import org.example.util.ArrayUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting inputs drawn from a small key domain. A cardinality of 1 is the
+ * all-equal input produced by {@link ArrayUtils#generateDuplicateArray}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class LowCardinalityBenchmark {
+    
+    @Param({"10000", "100000"})
+    public int size;
+    
+    @Param({"1", "10", "1000"})
+    public int cardinality;
+    
+    private int[] array;
+    
+    @Setup(Level.Iteration)
+    public void setup() {
+        array = cardinality == 1
+                ? ArrayUtils.generateDuplicateArray(size, 7)
+                : ArrayUtils.generateRandomArray(size, cardinality);
+    }
+    
+    @Benchmark
+    public void quickSort() {
+        QuickSort.sort(array.clone());
+    }
+    
+    @Benchmark
+    public void quickSortThreeWay() {
+        QuickSort.sortThreeWay(array.clone());
+    }
+    
+    @Benchmark
+    public void javaSort() {
+        int[] copy = array.clone();
+        Arrays.sort(copy);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(LowCardinalityBenchmark.class.getSimpleName())
+                .build();
+        
+        new Runner(opt).run();
+    }
+}
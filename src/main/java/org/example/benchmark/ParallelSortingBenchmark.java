@@ -0,0 +1,77 @@
+package org.example.benchmark;
+
+import org.example.algorithms.MergeSort;
+import org.example.algorithms.QuickSort;
+import org.example.algorithms.SampleSort;
+import org.example.util.ArrayUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling benchmark for the fork/join sorters: the same input is sorted on
+ * pools of 1..N worker threads. {@code granularity} does not apply to sample sort.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class ParallelSortingBenchmark {
+    
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+    
+    @Param({"1000000", "10000000"})
+    public int size;
+    
+    @Param({"8192"})
+    public int granularity;
+    
+    private int[] array;
+    private ForkJoinPool pool;
+    
+    @Setup(Level.Trial)
+    public void setupPool() {
+        pool = new ForkJoinPool(threads);
+    }
+    
+    @Setup(Level.Iteration)
+    public void setup() {
+        array = ArrayUtils.generateRandomArray(size, 1000);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDownPool() {
+        pool.shutdown();
+    }
+    
+    @Benchmark
+    public void parallelMergeSort() {
+        MergeSort.parallelSort(array.clone(), pool, granularity, null);
+    }
+    
+    @Benchmark
+    public void parallelQuickSort() {
+        QuickSort.parallelSort(array.clone(), pool, granularity, null);
+    }
+    
+    @Benchmark
+    public void parallelSampleSort() {
+        SampleSort.sort(array.clone(), pool, null);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ParallelSortingBenchmark.class.getSimpleName())
+                .build();
+        
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.benchmark;
+
+import org.example.algorithms.PartialSort;
+import org.example.algorithms.QuickSort;
+import org.example.util.ArrayUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-k via quickselect plus prefix sort and via a bounded heap, against sorting the
+ * whole input and taking its prefix.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class PartialSortBenchmark {
+    
+    @Param({"1000000", "10000000"})
+    public int size;
+    
+    @Param({"10", "1000", "100000"})
+    public int k;
+    
+    private int[] array;
+    
+    @Setup(Level.Iteration)
+    public void setup() {
+        array = ArrayUtils.generateRandomArray(size, Integer.MAX_VALUE);
+    }
+    
+    @Benchmark
+    public int[] partialSort() {
+        return PartialSort.smallest(array, k);
+    }
+    
+    @Benchmark
+    public int[] boundedHeap() {
+        return PartialSort.smallest(Arrays.stream(array).iterator(), k);
+    }
+    
+    @Benchmark
+    public int[] quickSortFull() {
+        int[] copy = array.clone();
+        QuickSort.sortDualPivot(copy);
+        return Arrays.copyOf(copy, k);
+    }
+    
+    @Benchmark
+    public int[] javaSortFull() {
+        int[] copy = array.clone();
+        Arrays.sort(copy);
+        return Arrays.copyOf(copy, k);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(PartialSortBenchmark.class.getSimpleName())
+                .build();
+        
+        new Runner(opt).run();
+    }
+}
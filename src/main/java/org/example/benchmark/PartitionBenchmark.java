@@ -0,0 +1,62 @@
+package org.example.benchmark;
+
+import org.example.util.ArrayUtils;
+import org.example.util.PartitionUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single partition pass over random data with each PartitionUtils scheme.
+ * Every invocation partitions a fresh copy, so the copy cost is shared by all cases.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class PartitionBenchmark {
+    
+    @Param({"1000000", "10000000"})
+    public int size;
+    
+    private int[] array;
+    private int pivotIndex;
+    
+    @Setup(Level.Iteration)
+    public void setup() {
+        array = ArrayUtils.generateRandomArray(size, Integer.MAX_VALUE);
+        pivotIndex = size / 2;
+    }
+    
+    @Benchmark
+    public int lomutoPartition() {
+        int[] copy = array.clone();
+        return PartitionUtils.partition(copy, 0, copy.length - 1, pivotIndex, null);
+    }
+    
+    @Benchmark
+    public int hoarePartition() {
+        int[] copy = array.clone();
+        return PartitionUtils.hoarePartition(copy, 0, copy.length - 1, pivotIndex, null);
+    }
+    
+    @Benchmark
+    public int blockPartition() {
+        int[] copy = array.clone();
+        return PartitionUtils.blockPartition(copy, 0, copy.length - 1, pivotIndex, null);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(PartitionBenchmark.class.getSimpleName())
+                .build();
+        
+        new Runner(opt).run();
+    }
+}
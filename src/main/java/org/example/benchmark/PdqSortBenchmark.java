@@ -0,0 +1,80 @@
+package org.example.benchmark;
+
+import org.example.algorithms.PdqSort;
+import org.example.algorithms.QuickSort;
+import org.example.util.ArrayUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares pdqsort with the QuickSort engines and Arrays.sort on patterned inputs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class PdqSortBenchmark {
+    
+    @Param({"10000", "1000000"})
+    public int size;
+    
+    @Param({"sorted", "reversed", "organPipe", "random"})
+    public String distribution;
+    
+    private int[] array;
+    
+    @Setup(Level.Iteration)
+    public void setup() {
+        switch (distribution) {
+            case "sorted":
+                array = ArrayUtils.generateSortedArray(size);
+                break;
+            case "reversed":
+                array = ArrayUtils.generateReverseSortedArray(size);
+                break;
+            case "organPipe":
+                array = ArrayUtils.generateOrganPipeArray(size);
+                break;
+            default:
+                array = ArrayUtils.generateRandomArray(size, Integer.MAX_VALUE);
+                break;
+        }
+    }
+    
+    @Benchmark
+    public void pdqSort() {
+        PdqSort.sort(array.clone());
+    }
+    
+    @Benchmark
+    public void quickSort() {
+        QuickSort.sort(array.clone());
+    }
+    
+    @Benchmark
+    public void quickSortDualPivot() {
+        QuickSort.sortDualPivot(array.clone());
+    }
+    
+    @Benchmark
+    public void javaSort() {
+        int[] copy = array.clone();
+        Arrays.sort(copy);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(PdqSortBenchmark.class.getSimpleName())
+                .build();
+        
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.benchmark;
+
+import org.example.algorithms.MergeSort;
+import org.example.util.ArrayUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MergeSort with a fresh scratch buffer per call against a caller-provided buffer and the
+ * per-thread arena. Run with the GC profiler (enabled in {@link #main}, or {@code -prof gc}
+ * on the command line): gc.alloc.rate.norm should be about 4n bytes for {@code allocating}
+ * and about zero for the other two. Input is copied into a preallocated work array so the
+ * copy itself does not allocate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class ScratchBufferBenchmark {
+    
+    @Param({"1000", "10000", "100000"})
+    public int size;
+    
+    private int[] input;
+    private int[] work;
+    private int[] buffer;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        input = ArrayUtils.generateRandomArray(size, Integer.MAX_VALUE);
+        work = new int[size];
+        buffer = new int[size];
+    }
+    
+    @Benchmark
+    public int[] allocating() {
+        System.arraycopy(input, 0, work, 0, size);
+        MergeSort.sort(work);
+        return work;
+    }
+    
+    @Benchmark
+    public int[] callerBuffer() {
+        System.arraycopy(input, 0, work, 0, size);
+        MergeSort.sortWithBuffer(work, buffer);
+        return work;
+    }
+    
+    @Benchmark
+    public int[] pooledArena() {
+        System.arraycopy(input, 0, work, 0, size);
+        MergeSort.sortPooled(work);
+        return work;
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ScratchBufferBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        
+        new Runner(opt).run();
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.benchmark;
 
 import org.example.algorithms.DeterministicSelect;
+import org.example.algorithms.PivotStrategy;
 import org.example.util.ArrayUtils;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.Runner;
@@ -11,6 +12,12 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Median selection on random and adversarial inputs. Median of medians must stay linear on
+ * every distribution; the last-element {@link #quickSelect()} baseline goes quadratic on the
+ * sorted, reversed, organ-pipe and all-equal inputs, and
+ * {@link #introSelect()} shows what the median-of-medians fallback costs when it is needed.
+ */
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
 @State(Scope.Benchmark)
@@ -22,12 +29,31 @@ public class SelectBenchmark {
     @Param({"100", "1000", "10000", "100000"})
     public int size;
     
+    @Param({"random", "sorted", "reversed", "organPipe", "allEqual"})
+    public String distribution = "random";
+    
     private int[] array;
     private int k;
     
     @Setup(Level.Iteration)
     public void setup() {
-        array = ArrayUtils.generateRandomArray(size, 1000);
+        switch (distribution) {
+            case "sorted":
+                array = ArrayUtils.generateSortedArray(size);
+                break;
+            case "reversed":
+                array = ArrayUtils.generateReverseSortedArray(size);
+                break;
+            case "organPipe":
+                array = ArrayUtils.generateOrganPipeArray(size);
+                break;
+            case "allEqual":
+                array = ArrayUtils.generateDuplicateArray(size, 7);
+                break;
+            default:
+                array = ArrayUtils.generateRandomArray(size, 1000);
+                break;
+        }
         k = size / 2;
     }
     
@@ -36,6 +62,11 @@ public class SelectBenchmark {
         return DeterministicSelect.select(array.clone(), k);
     }
     
+    @Benchmark
+    public int introSelect() {
+        return DeterministicSelect.select(array.clone(), k, PivotStrategy.MEDIAN_OF_THREE, null);
+    }
+    
     @Benchmark
     public int javaSortSelect() {
         int[] copy = array.clone();
@@ -50,20 +81,21 @@ public class SelectBenchmark {
     }
     
     private int quickSelect(int[] arr, int left, int right, int k) {
-        if (left == right) {
-            return arr[left];
-        }
-        
-        int pivotIndex = partition(arr, left, right);
-        int leftSize = pivotIndex - left;
-        
-        if (k == leftSize) {
-            return arr[pivotIndex];
-        } else if (k < leftSize) {
-            return quickSelect(arr, left, pivotIndex - 1, k);
-        } else {
-            return quickSelect(arr, pivotIndex + 1, right, k - leftSize - 1);
+        // Iterative, since adversarial inputs shrink the range by one element per round
+        while (left < right) {
+            int pivotIndex = partition(arr, left, right);
+            int leftSize = pivotIndex - left;
+            
+            if (k == leftSize) {
+                return arr[pivotIndex];
+            } else if (k < leftSize) {
+                right = pivotIndex - 1;
+            } else {
+                left = pivotIndex + 1;
+                k -= leftSize + 1;
+            }
         }
+        return arr[left];
     }
     
     private int partition(int[] arr, int left, int right) {
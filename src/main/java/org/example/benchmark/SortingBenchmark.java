@@ -2,6 +2,7 @@ package org.example.benchmark;
 
 import org.example.algorithms.MergeSort;
 import org.example.algorithms.QuickSort;
+import org.example.algorithms.RadixSort;
 import org.example.util.ArrayUtils;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.runner.Runner;
@@ -19,14 +20,122 @@ import java.util.concurrent.TimeUnit;
 @Fork(1)
 public class SortingBenchmark {
     
-    @Param({"100", "1000", "10000", "100000"})
+    @Param({"100", "1000", "10000", "100000", "10000000"})
     public int size;
     
+    @Param({"random", "nearlySorted"})
+    public String distribution = "random";
+    
     private int[] array;
     
     @Setup(Level.Iteration)
     public void setup() {
-        array = ArrayUtils.generateRandomArray(size, 1000);
+        if (distribution.equals("nearlySorted")) {
+            array = ArrayUtils.generateNearlySortedArray(size, size / 100);
+        } else {
+            array = ArrayUtils.generateRandomArray(size, 1000);
+        }
+    }
+    
+    /**
+     * The same input widened to each primitive element type. Kept in its own state so the
+     * elementType parameter only multiplies the typed benchmarks below.
+     */
+    @State(Scope.Benchmark)
+    public static class TypedInput {
+        
+        @Param({"int", "long", "double", "float"})
+        public String elementType = "int";
+        
+        int[] ints;
+        long[] longs;
+        double[] doubles;
+        float[] floats;
+        
+        @Setup(Level.Iteration)
+        public void setup(SortingBenchmark benchmark) {
+            ints = benchmark.array;
+            longs = null;
+            doubles = null;
+            floats = null;
+            
+            switch (elementType) {
+                case "long":
+                    longs = new long[ints.length];
+                    for (int i = 0; i < ints.length; i++) {
+                        longs[i] = (long) ints[i] << 32 | i;
+                    }
+                    break;
+                case "double":
+                    doubles = new double[ints.length];
+                    for (int i = 0; i < ints.length; i++) {
+                        doubles[i] = ints[i] + 1.0 / (i + 1);
+                    }
+                    break;
+                case "float":
+                    floats = new float[ints.length];
+                    for (int i = 0; i < ints.length; i++) {
+                        floats[i] = ints[i] + 1.0f / (i + 1);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+    
+    @Benchmark
+    public void mergeSortTyped(TypedInput input) {
+        switch (input.elementType) {
+            case "long":
+                MergeSort.sort(input.longs.clone());
+                break;
+            case "double":
+                MergeSort.sort(input.doubles.clone());
+                break;
+            case "float":
+                MergeSort.sort(input.floats.clone());
+                break;
+            default:
+                MergeSort.sort(input.ints.clone());
+                break;
+        }
+    }
+    
+    @Benchmark
+    public void quickSortTyped(TypedInput input) {
+        switch (input.elementType) {
+            case "long":
+                QuickSort.sort(input.longs.clone());
+                break;
+            case "double":
+                QuickSort.sort(input.doubles.clone());
+                break;
+            case "float":
+                QuickSort.sort(input.floats.clone());
+                break;
+            default:
+                QuickSort.sort(input.ints.clone());
+                break;
+        }
+    }
+    
+    @Benchmark
+    public void javaSortTyped(TypedInput input) {
+        switch (input.elementType) {
+            case "long":
+                java.util.Arrays.sort(input.longs.clone());
+                break;
+            case "double":
+                java.util.Arrays.sort(input.doubles.clone());
+                break;
+            case "float":
+                java.util.Arrays.sort(input.floats.clone());
+                break;
+            default:
+                java.util.Arrays.sort(input.ints.clone());
+                break;
+        }
     }
     
     @Benchmark
@@ -34,17 +143,58 @@ public class SortingBenchmark {
         MergeSort.sort(array.clone());
     }
     
+    @Benchmark
+    public void mergeSortBottomUp() {
+        MergeSort.sortBottomUp(array.clone());
+    }
+    
     @Benchmark
     public void quickSort() {
         QuickSort.sort(array.clone());
     }
     
+    @Benchmark
+    public void quickSortDualPivot() {
+        QuickSort.sortDualPivot(array.clone());
+    }
+    
+    @Benchmark
+    public void quickSortBlock() {
+        QuickSort.sortBlock(array.clone());
+    }
+    
+    @Benchmark
+    public void radixSort() {
+        RadixSort.sort(array.clone());
+    }
+    
+    @Benchmark
+    public void parallelMergeSort() {
+        MergeSort.parallelSort(array.clone());
+    }
+    
+    @Benchmark
+    public void parallelQuickSort() {
+        QuickSort.parallelSort(array.clone());
+    }
+    
+    @Benchmark
+    public void parallelRadixSort() {
+        RadixSort.parallelSort(array.clone());
+    }
+    
     @Benchmark
     public void javaSort() {
         int[] copy = array.clone();
         java.util.Arrays.sort(copy);
     }
     
+    @Benchmark
+    public void javaParallelSort() {
+        int[] copy = array.clone();
+        java.util.Arrays.parallelSort(copy);
+    }
+    
     public static void main(String[] args) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(SortingBenchmark.class.getSimpleName())
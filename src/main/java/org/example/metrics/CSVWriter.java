@@ -50,7 +50,9 @@ public class CSVWriter {
             String.valueOf(metrics.getArrayAccesses()),
             String.valueOf(metrics.getAllocations()),
             String.valueOf(metrics.getSwaps()),
-            String.valueOf(depthTracker.getMaxDepth())
+            String.valueOf(depthTracker.getMaxDepth()),
+            String.valueOf(metrics.getFallbacks()),
+            String.valueOf(metrics.getPeakAuxiliaryBytes())
         );
     }
     
@@ -57,6 +57,13 @@ public class MetricsCollector {
         return depthTracker.exitRecursion();
     }
     
+    /**
+     * Record an explicitly tracked depth - convenience method.
+     */
+    public void recordDepth(int depth) {
+        depthTracker.recordDepth(depth);
+    }
+    
     /**
      * Increment comparisons - convenience method.
      */
@@ -113,6 +120,55 @@ public class MetricsCollector {
         performanceMetrics.incrementSwaps(count);
     }
     
+    /**
+     * Increment worst-case fallbacks - convenience method.
+     */
+    public void incrementFallbacks() {
+        performanceMetrics.incrementFallbacks();
+    }
+    
+    /**
+     * Increment bytes read - convenience method.
+     */
+    public void incrementBytesRead(long count) {
+        performanceMetrics.incrementBytesRead(count);
+    }
+    
+    /**
+     * Increment bytes written - convenience method.
+     */
+    public void incrementBytesWritten(long count) {
+        performanceMetrics.incrementBytesWritten(count);
+    }
+    
+    /**
+     * Increment merge passes - convenience method.
+     */
+    public void incrementMergePasses() {
+        performanceMetrics.incrementMergePasses();
+    }
+    
+    /**
+     * Record an auxiliary buffer size in bytes - convenience method.
+     */
+    public void recordAuxiliaryBytes(long bytes) {
+        performanceMetrics.recordAuxiliaryBytes(bytes);
+    }
+    
+    /**
+     * Record time spent in a named phase - convenience method.
+     */
+    public void recordPhase(String phase, long nanos) {
+        performanceMetrics.recordPhase(phase, nanos);
+    }
+    
+    /**
+     * Record a choice made by an adaptive algorithm - convenience method.
+     */
+    public void recordDecision(String decision) {
+        performanceMetrics.recordDecision(decision);
+    }
+    
     /**
      * Get comprehensive summary of all metrics.
      */
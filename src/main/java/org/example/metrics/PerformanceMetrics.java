@@ -1,5 +1,10 @@
 package org.example.metrics;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -11,6 +16,13 @@ public class PerformanceMetrics {
     private final AtomicLong arrayAccesses = new AtomicLong(0);
     private final AtomicLong allocations = new AtomicLong(0);
     private final AtomicLong swaps = new AtomicLong(0);
+    private final AtomicLong fallbacks = new AtomicLong(0);
+    private final AtomicLong bytesRead = new AtomicLong(0);
+    private final AtomicLong bytesWritten = new AtomicLong(0);
+    private final AtomicLong mergePasses = new AtomicLong(0);
+    private final AtomicLong peakAuxiliaryBytes = new AtomicLong(0);
+    private final Map<String, Long> phaseTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final List<String> decisions = Collections.synchronizedList(new ArrayList<>());
     
     private long startTime;
     private long endTime;
@@ -127,6 +139,109 @@ public class PerformanceMetrics {
         return swaps.get();
     }
     
+    /**
+     * Increment the counter of subranges handed to a worst-case fallback sort.
+     */
+    public void incrementFallbacks() {
+        fallbacks.incrementAndGet();
+    }
+    
+    /**
+     * Get total number of worst-case fallbacks.
+     */
+    public long getFallbacks() {
+        return fallbacks.get();
+    }
+    
+    /**
+     * Increment the number of bytes read from external storage.
+     */
+    public void incrementBytesRead(long count) {
+        bytesRead.addAndGet(count);
+    }
+    
+    /**
+     * Get total number of bytes read from external storage.
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+    
+    /**
+     * Increment the number of bytes written to external storage.
+     */
+    public void incrementBytesWritten(long count) {
+        bytesWritten.addAndGet(count);
+    }
+    
+    /**
+     * Get total number of bytes written to external storage.
+     */
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+    
+    /**
+     * Increment the number of merge passes over external runs.
+     */
+    public void incrementMergePasses() {
+        mergePasses.incrementAndGet();
+    }
+    
+    /**
+     * Get total number of merge passes over external runs.
+     */
+    public long getMergePasses() {
+        return mergePasses.get();
+    }
+    
+    /**
+     * Record the size of an auxiliary heap buffer in bytes; only the largest is kept.
+     */
+    public void recordAuxiliaryBytes(long bytes) {
+        peakAuxiliaryBytes.accumulateAndGet(bytes, Math::max);
+    }
+    
+    /**
+     * Get the largest auxiliary buffer recorded, in bytes.
+     */
+    public long getPeakAuxiliaryBytes() {
+        return peakAuxiliaryBytes.get();
+    }
+    
+    /**
+     * Add {@code nanos} to the time spent in the named phase. Phases keep the order in which
+     * they were first recorded.
+     */
+    public void recordPhase(String phase, long nanos) {
+        phaseTimes.merge(phase, nanos, Long::sum);
+    }
+    
+    /**
+     * Get a snapshot of the time spent per phase in nanoseconds, in recording order.
+     */
+    public Map<String, Long> getPhaseTimes() {
+        synchronized (phaseTimes) {
+            return new LinkedHashMap<>(phaseTimes);
+        }
+    }
+    
+    /**
+     * Record a choice made by an adaptive algorithm, such as the engine it dispatched to.
+     */
+    public void recordDecision(String decision) {
+        decisions.add(decision);
+    }
+    
+    /**
+     * Get a snapshot of the recorded decisions, in recording order.
+     */
+    public List<String> getDecisions() {
+        synchronized (decisions) {
+            return new ArrayList<>(decisions);
+        }
+    }
+    
     /**
      * Reset all metrics to zero.
      */
@@ -135,6 +250,13 @@ public class PerformanceMetrics {
         arrayAccesses.set(0);
         allocations.set(0);
         swaps.set(0);
+        fallbacks.set(0);
+        bytesRead.set(0);
+        bytesWritten.set(0);
+        mergePasses.set(0);
+        peakAuxiliaryBytes.set(0);
+        phaseTimes.clear();
+        decisions.clear();
         startTime = 0;
         endTime = 0;
     }
@@ -143,7 +265,24 @@ public class PerformanceMetrics {
      * Get a summary string of all metrics.
      */
     public String getSummary() {
-        return String.format("Time: %.3fms, Comparisons: %d, ArrayAccesses: %d, Allocations: %d, Swaps: %d",
-                getExecutionTimeMillis(), getComparisons(), getArrayAccesses(), getAllocations(), getSwaps());
+        StringBuilder summary = new StringBuilder(String.format(
+                "Time: %.3fms, Comparisons: %d, ArrayAccesses: %d, Allocations: %d, Swaps: %d, Fallbacks: %d, PeakAuxBytes: %d",
+                getExecutionTimeMillis(), getComparisons(), getArrayAccesses(), getAllocations(), getSwaps(),
+                getFallbacks(), getPeakAuxiliaryBytes()));
+        
+        Map<String, Long> phases = getPhaseTimes();
+        if (!phases.isEmpty()) {
+            summary.append(", Phases:");
+            for (Map.Entry<String, Long> phase : phases.entrySet()) {
+                summary.append(String.format(" %s=%.3fms", phase.getKey(), phase.getValue() / 1_000_000.0));
+            }
+        }
+        
+        List<String> recorded = getDecisions();
+        if (!recorded.isEmpty()) {
+            summary.append(", Decisions: ").append(String.join(" ", recorded));
+        }
+        
+        return summary.toString();
     }
 }
@@ -28,6 +28,14 @@ public class RecursionDepthTracker {
         return currentDepth.decrementAndGet();
     }
     
+    /**
+     * Record a depth reached by a caller that tracks its own depth,
+     * such as a fork/join task where a shared current depth would interleave.
+     */
+    public void recordDepth(int depth) {
+        updateMaxDepth(depth);
+    }
+    
     /**
      * Get current recursion depth.
      */
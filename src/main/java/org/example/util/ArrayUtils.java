@@ -1,9 +1,8 @@
 package org.example.util;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 public class ArrayUtils {
-    private static final Random random = new Random();
     
     public static void swap(int[] array, int i, int j) {
         int temp = array[i];
@@ -12,6 +11,7 @@ public class ArrayUtils {
     }
     
     public static void shuffle(int[] array) {
+        SplittableRandom random = RandomUtils.current();
         for (int i = array.length - 1; i > 0; i--) {
             int j = random.nextInt(i + 1);
             swap(array, i, j);
@@ -19,6 +19,7 @@ public class ArrayUtils {
     }
     
     public static void shuffle(int[] array, int start, int end) {
+        SplittableRandom random = RandomUtils.current();
         for (int i = end; i > start; i--) {
             int j = start + random.nextInt(i - start + 1);
             swap(array, i, j);
@@ -42,7 +43,7 @@ public class ArrayUtils {
     }
     
     public static int randomPartition(int[] array, int left, int right) {
-        int randomIndex = left + random.nextInt(right - left + 1);
+        int randomIndex = left + RandomUtils.current().nextInt(right - left + 1);
         return partition(array, left, right, randomIndex);
     }
     
@@ -62,12 +63,14 @@ public class ArrayUtils {
     }
     
     public static void fillRandom(int[] array, int bound) {
+        SplittableRandom random = RandomUtils.current();
         for (int i = 0; i < array.length; i++) {
             array[i] = random.nextInt(bound);
         }
     }
     
     public static void fillRandom(int[] array, int min, int max) {
+        SplittableRandom random = RandomUtils.current();
         for (int i = 0; i < array.length; i++) {
             array[i] = min + random.nextInt(max - min + 1);
         }
@@ -101,6 +104,32 @@ public class ArrayUtils {
         return array;
     }
     
+    /**
+     * Ascending first half followed by a descending second half.
+     */
+    public static int[] generateOrganPipeArray(int size) {
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = Math.min(i, size - i - 1);
+        }
+        return array;
+    }
+    
+    /**
+     * Sorted array of 0..size-1 with {@code swaps} random pairs exchanged.
+     */
+    public static int[] generateNearlySortedArray(int size, int swaps) {
+        int[] array = generateSortedArray(size);
+        if (size < 2) {
+            return array;
+        }
+        SplittableRandom random = RandomUtils.current();
+        for (int s = 0; s < swaps; s++) {
+            swap(array, random.nextInt(size), random.nextInt(size));
+        }
+        return array;
+    }
+    
     public static int[] generateDuplicateArray(int size, int value) {
         int[] array = new int[size];
         for (int i = 0; i < size; i++) {
@@ -0,0 +1,147 @@
+package org.example.util;
+
+/**
+ * Helpers that let the double[] and float[] sorts compare with plain {@code <} while still
+ * producing the total order of {@link Double#compare}: -0.0 before 0.0 and NaN after
+ * everything. NaNs are moved to the end before sorting, and the zeros, which {@code <}
+ * treats as equal, are put back in sign order afterwards.
+ */
+public class FloatingPointUtils {
+    
+    /**
+     * Move every NaN to the end of {@code array} and return the number of other values,
+     * which then occupy [0, end).
+     */
+    public static int moveNaNsToEnd(double[] array) {
+        int end = array.length;
+        
+        for (int i = end - 1; i >= 0; i--) {
+            double value = array[i];
+            if (value != value) {
+                array[i] = array[--end];
+                array[end] = value;
+            }
+        }
+        
+        return end;
+    }
+    
+    public static int moveNaNsToEnd(float[] array) {
+        int end = array.length;
+        
+        for (int i = end - 1; i >= 0; i--) {
+            float value = array[i];
+            if (value != value) {
+                array[i] = array[--end];
+                array[end] = value;
+            }
+        }
+        
+        return end;
+    }
+    
+    /**
+     * In a range [0, end) sorted with {@code <}, rewrite the block of zeros so that every
+     * -0.0 comes before every 0.0.
+     */
+    public static void orderSignedZeros(double[] array, int end) {
+        int from = firstNotNegative(array, end);
+        int negativeZeros = 0;
+        int to = from;
+        
+        for (; to < end && array[to] == 0.0; to++) {
+            if (Double.doubleToRawLongBits(array[to]) < 0) {
+                negativeZeros++;
+            }
+        }
+        
+        for (int i = from; i < to; i++) {
+            array[i] = i - from < negativeZeros ? -0.0 : 0.0;
+        }
+    }
+    
+    public static void orderSignedZeros(float[] array, int end) {
+        int from = firstNotNegative(array, end);
+        int negativeZeros = 0;
+        int to = from;
+        
+        for (; to < end && array[to] == 0.0f; to++) {
+            if (Float.floatToRawIntBits(array[to]) < 0) {
+                negativeZeros++;
+            }
+        }
+        
+        for (int i = from; i < to; i++) {
+            array[i] = i - from < negativeZeros ? -0.0f : 0.0f;
+        }
+    }
+    
+    /**
+     * Given that a selection over [0, end) with {@code <} placed a zero at rank k, return the
+     * zero that rank k holds under {@link Double#compare}: -0.0 while k falls among the
+     * negative zeros, 0.0 afterwards.
+     */
+    public static double signedZeroAt(double[] array, int end, int k) {
+        int below = 0;
+        int negativeZeros = 0;
+        
+        for (int i = 0; i < end; i++) {
+            double value = array[i];
+            if (value < 0.0) {
+                below++;
+            } else if (value == 0.0 && Double.doubleToRawLongBits(value) < 0) {
+                negativeZeros++;
+            }
+        }
+        
+        return k - below < negativeZeros ? -0.0 : 0.0;
+    }
+    
+    public static float signedZeroAt(float[] array, int end, int k) {
+        int below = 0;
+        int negativeZeros = 0;
+        
+        for (int i = 0; i < end; i++) {
+            float value = array[i];
+            if (value < 0.0f) {
+                below++;
+            } else if (value == 0.0f && Float.floatToRawIntBits(value) < 0) {
+                negativeZeros++;
+            }
+        }
+        
+        return k - below < negativeZeros ? -0.0f : 0.0f;
+    }
+    
+    private static int firstNotNegative(double[] array, int end) {
+        int low = 0;
+        int high = end;
+        
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (array[mid] < 0.0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        
+        return low;
+    }
+    
+    private static int firstNotNegative(float[] array, int end) {
+        int low = 0;
+        int high = end;
+        
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (array[mid] < 0.0f) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        
+        return low;
+    }
+}
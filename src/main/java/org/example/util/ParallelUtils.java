@@ -0,0 +1,31 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+public class ParallelUtils {
+    
+    /**
+     * Run {@code body} for every index in [0, count) as fork/join tasks on {@code pool} and
+     * wait for all of them.
+     */
+    public static void parallelFor(ForkJoinPool pool, int count, IntConsumer body) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            tasks.add(ForkJoinTask.adapt(() -> body.accept(index)));
+        }
+        
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+    
+    /**
+     * Start of slice {@code slice} when [0, n) is cut into {@code slices} nearly equal parts.
+     */
+    public static int sliceStart(int slice, int slices, int n) {
+        return (int) ((long) slice * n / slices);
+    }
+}
@@ -2,7 +2,18 @@ package org.example.util;
 
 import org.example.metrics.MetricsCollector;
 
+import java.nio.IntBuffer;
+
 public class PartitionUtils {
+    private static final int BLOCK_SIZE = 64;
+    
+    /**
+     * Length of the offset scratch array taken by
+     * {@link #blockPartition(int[], int, int, int, int[], MetricsCollector)}.
+     */
+    public static final int BLOCK_SCRATCH_LENGTH = 2 * BLOCK_SIZE;
+    
+    private static final int NINTHER_THRESHOLD = 128;
     
     public static int partition(int[] array, int left, int right, int pivotIndex, MetricsCollector metrics) {
         swap(array, pivotIndex, right);
@@ -43,7 +54,7 @@ public class PartitionUtils {
     }
     
     public static int randomPartition(int[] array, int left, int right, MetricsCollector metrics) {
-        int randomIndex = left + (int) (Math.random() * (right - left + 1));
+        int randomIndex = left + RandomUtils.current().nextInt(right - left + 1);
         return partition(array, left, right, randomIndex, metrics);
     }
     
@@ -108,6 +119,44 @@ public class PartitionUtils {
         return mid;
     }
     
+    /**
+     * Index of the median of {@code array[a]}, {@code array[b]} and {@code array[c]}, found
+     * without moving any element.
+     */
+    public static int medianIndex(int[] array, int a, int b, int c, MetricsCollector metrics) {
+        if (metrics != null) {
+            metrics.incrementComparisons(3);
+            metrics.incrementArrayAccesses(6);
+        }
+        
+        int x = array[a];
+        int y = array[b];
+        int z = array[c];
+        
+        if (x < y) {
+            return y < z ? b : (x < z ? c : a);
+        }
+        return x < z ? a : (y < z ? c : b);
+    }
+    
+    /**
+     * Tukey's ninther: the median of the medians of three evenly spaced triples. Ranges of
+     * NINTHER_THRESHOLD elements or fewer use the median of first, middle and last. No
+     * element is moved.
+     */
+    public static int ninther(int[] array, int left, int right, MetricsCollector metrics) {
+        int mid = left + (right - left) / 2;
+        if (right - left + 1 <= NINTHER_THRESHOLD) {
+            return medianIndex(array, left, mid, right, metrics);
+        }
+        
+        int step = (right - left + 1) / 8;
+        int first = medianIndex(array, left, left + step, left + 2 * step, metrics);
+        int middle = medianIndex(array, mid - step, mid, mid + step, metrics);
+        int last = medianIndex(array, right - 2 * step, right - step, right, metrics);
+        return medianIndex(array, first, middle, last, metrics);
+    }
+    
     public static int hoarePartition(int[] array, int left, int right, int pivotIndex, MetricsCollector metrics) {
         swap(array, pivotIndex, left);
         
@@ -150,6 +199,492 @@ public class PartitionUtils {
         }
     }
     
+    /**
+     * Branch-free block partition (BlockQuicksort) around the value at {@code pivotIndex}.
+     * Each side is scanned a block at a time, recording the offsets of misplaced elements
+     * without branching on the comparison; the recorded pairs are then swapped. The short
+     * residue between the last blocks is finished with a plain Hoare scan.
+     * Afterwards [left, p) is less than the pivot and (p, right] is not less than it,
+     * where p is the returned pivot index.
+     */
+    public static int blockPartition(int[] array, int left, int right, int pivotIndex, MetricsCollector metrics) {
+        return blockPartition(array, left, right, pivotIndex, new int[BLOCK_SCRATCH_LENGTH], metrics);
+    }
+    
+    /**
+     * {@link #blockPartition(int[], int, int, int, MetricsCollector)} with caller-provided
+     * offset scratch of at least {@link #BLOCK_SCRATCH_LENGTH} ints, so a sort can reuse one
+     * array for every partition.
+     */
+    public static int blockPartition(int[] array, int left, int right, int pivotIndex, int[] offsets,
+                                     MetricsCollector metrics) {
+        swap(array, pivotIndex, left);
+        
+        if (metrics != null) {
+            metrics.incrementSwaps();
+            metrics.incrementArrayAccesses(4);
+        }
+        
+        int pivot = array[left];
+        int first = left + 1;
+        int last = right + 1;
+        
+        if (last - first > 2 * BLOCK_SIZE) {
+            int numLeft = 0;
+            int numRight = 0;
+            int startLeft = 0;
+            int startRight = 0;
+            
+            while (last - first > 2 * BLOCK_SIZE) {
+                if (numLeft == 0) {
+                    startLeft = 0;
+                    for (int i = 0; i < BLOCK_SIZE; i++) {
+                        offsets[numLeft] = i;
+                        numLeft += array[first + i] >= pivot ? 1 : 0;
+                    }
+                    
+                    if (metrics != null) {
+                        metrics.incrementComparisons(BLOCK_SIZE);
+                        metrics.incrementArrayAccesses(BLOCK_SIZE);
+                    }
+                }
+                
+                if (numRight == 0) {
+                    startRight = 0;
+                    for (int i = 0; i < BLOCK_SIZE; i++) {
+                        offsets[BLOCK_SIZE + numRight] = i;
+                        numRight += array[last - 1 - i] < pivot ? 1 : 0;
+                    }
+                    
+                    if (metrics != null) {
+                        metrics.incrementComparisons(BLOCK_SIZE);
+                        metrics.incrementArrayAccesses(BLOCK_SIZE);
+                    }
+                }
+                
+                int num = Math.min(numLeft, numRight);
+                for (int k = 0; k < num; k++) {
+                    swap(array, first + offsets[startLeft + k], last - 1 - offsets[BLOCK_SIZE + startRight + k]);
+                }
+                
+                if (metrics != null) {
+                    metrics.incrementSwaps(num);
+                    metrics.incrementArrayAccesses(4L * num);
+                }
+                
+                numLeft -= num;
+                numRight -= num;
+                startLeft += num;
+                startRight += num;
+                
+                if (numLeft == 0) {
+                    first += BLOCK_SIZE;
+                }
+                if (numRight == 0) {
+                    last -= BLOCK_SIZE;
+                }
+            }
+        }
+        
+        // Everything before first is less than the pivot and everything from last on is not.
+        int i = first;
+        int j = last - 1;
+        
+        while (true) {
+            while (i <= j) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                if (array[i] >= pivot) {
+                    break;
+                }
+                i++;
+            }
+            
+            while (i <= j) {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                if (array[j] < pivot) {
+                    break;
+                }
+                j--;
+            }
+            
+            if (i >= j) {
+                break;
+            }
+            
+            swap(array, i, j);
+            i++;
+            j--;
+            
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+        
+        int pivotPosition = i - 1;
+        swap(array, left, pivotPosition);
+        
+        if (metrics != null) {
+            metrics.incrementSwaps();
+            metrics.incrementArrayAccesses(4);
+        }
+        
+        return pivotPosition;
+    }
+    
+    /**
+     * Partition for a range whose pivot equals the element just before it (pdqsort's
+     * partition_left). Keys equal to the pivot go to the left side, so afterwards [left, p]
+     * is not greater than the pivot and (p, right] is greater, where p is the returned
+     * pivot index. When every key in the range is at least that predecessor, [left, p]
+     * holds only copies of the pivot and needs no further sorting.
+     */
+    public static int partitionLeft(int[] array, int left, int right, int pivotIndex, MetricsCollector metrics) {
+        swap(array, pivotIndex, left);
+        
+        int pivot = array[left];
+        int i = left;
+        int j = right + 1;
+        long comparisons = 0;
+        long swaps = 1;
+        
+        while (true) {
+            do {
+                j--;
+                comparisons++;
+            } while (j > left && array[j] > pivot);
+            
+            do {
+                i++;
+                comparisons++;
+            } while (i < j && array[i] <= pivot);
+            
+            if (i >= j) {
+                break;
+            }
+            
+            swap(array, i, j);
+            swaps++;
+        }
+        
+        swap(array, left, j);
+        swaps++;
+        
+        if (metrics != null) {
+            metrics.incrementComparisons(comparisons);
+            metrics.incrementArrayAccesses(comparisons + 4 * swaps);
+            metrics.incrementSwaps(swaps);
+        }
+        
+        return j;
+    }
+    
+    /**
+     * Dutch national flag partition around the value at {@code pivotIndex}.
+     * Returns lt and gt packed into one long, read back with {@link #equalStart} and
+     * {@link #equalEnd}, such that [left, lt) is less than the pivot, [lt, gt] equals it
+     * and (gt, right] is greater, so equal keys can be excluded from further recursion.
+     * Packing keeps the partition free of allocation inside sort and select loops.
+     */
+    public static long threeWayPartition(int[] array, int left, int right, int pivotIndex, MetricsCollector metrics) {
+        int pivot = array[pivotIndex];
+        int lt = left;
+        int i = left;
+        int gt = right;
+        
+        while (i <= gt) {
+            int value = array[i];
+            
+            if (value < pivot) {
+                swap(array, lt, i);
+                lt++;
+                i++;
+            } else if (value > pivot) {
+                swap(array, i, gt);
+                gt--;
+            } else {
+                i++;
+            }
+        }
+        
+        if (metrics != null) {
+            // Every element is read once and swapped once unless it equals the pivot;
+            // all but the smaller ones need a second comparison
+            long length = right - left + 1;
+            long less = lt - left;
+            long swaps = less + (right - gt);
+            metrics.incrementComparisons(2 * length - less);
+            metrics.incrementArrayAccesses(1 + length + 4 * swaps);
+            metrics.incrementSwaps(swaps);
+        }
+        
+        return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * First index of the pivot-equal run in bounds returned by {@link #threeWayPartition}.
+     */
+    public static int equalStart(long bounds) {
+        return (int) (bounds >>> 32);
+    }
+    
+    /**
+     * Last index of the pivot-equal run in bounds returned by {@link #threeWayPartition}.
+     */
+    public static int equalEnd(long bounds) {
+        return (int) bounds;
+    }
+    
+    /**
+     * Dual-pivot (Yaroslavskiy) partition using the values at {@code pivotIndex1} and
+     * {@code pivotIndex2} as pivots p <= q. Returns the final pivot positions lp and rp
+     * packed into one long, read back with {@link #lowerPivot} and {@link #upperPivot}:
+     * [left, lp) is less than p, (lp, rp) lies in [p, q] and (rp, right] is greater than q.
+     */
+    public static long dualPivotPartition(int[] array, int left, int right, int pivotIndex1, int pivotIndex2,
+                                           MetricsCollector metrics) {
+        swap(array, pivotIndex1, left);
+        if (pivotIndex2 == left) {
+            pivotIndex2 = pivotIndex1;
+        }
+        swap(array, pivotIndex2, right);
+        
+        if (metrics != null) {
+            metrics.incrementSwaps(2);
+            metrics.incrementArrayAccesses(8);
+            metrics.incrementComparisons();
+            metrics.incrementArrayAccesses(2);
+        }
+        
+        if (array[left] > array[right]) {
+            swap(array, left, right);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+        
+        int p = array[left];
+        int q = array[right];
+        int lt = left + 1;
+        int gt = right - 1;
+        int k = lt;
+        
+        while (k <= gt) {
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses();
+            }
+            
+            if (array[k] < p) {
+                swap(array, k, lt);
+                lt++;
+                
+                if (metrics != null) {
+                    metrics.incrementSwaps();
+                    metrics.incrementArrayAccesses(4);
+                }
+            } else {
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+                
+                if (array[k] > q) {
+                    while (k < gt && array[gt] > q) {
+                        gt--;
+                        if (metrics != null) {
+                            metrics.incrementComparisons();
+                            metrics.incrementArrayAccesses();
+                        }
+                    }
+                    
+                    swap(array, k, gt);
+                    gt--;
+                    
+                    if (metrics != null) {
+                        metrics.incrementSwaps();
+                        metrics.incrementArrayAccesses(4);
+                        metrics.incrementComparisons();
+                        metrics.incrementArrayAccesses();
+                    }
+                    
+                    if (array[k] < p) {
+                        swap(array, k, lt);
+                        lt++;
+                        
+                        if (metrics != null) {
+                            metrics.incrementSwaps();
+                            metrics.incrementArrayAccesses(4);
+                        }
+                    }
+                }
+            }
+            k++;
+        }
+        
+        lt--;
+        gt++;
+        swap(array, left, lt);
+        swap(array, right, gt);
+        
+        if (metrics != null) {
+            metrics.incrementSwaps(2);
+            metrics.incrementArrayAccesses(8);
+        }
+        
+        return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Final position of the smaller pivot in bounds returned by {@link #dualPivotPartition}.
+     */
+    public static int lowerPivot(long pivots) {
+        return (int) (pivots >>> 32);
+    }
+    
+    /**
+     * Final position of the larger pivot in bounds returned by {@link #dualPivotPartition}.
+     */
+    public static int upperPivot(long pivots) {
+        return (int) pivots;
+    }
+    
+    /**
+     * Lomuto partition over an {@link IntBuffer} using absolute indices, so direct and
+     * memory-mapped buffers can be partitioned in place without copying to the heap.
+     */
+    public static int partition(IntBuffer buffer, int left, int right, int pivotIndex, MetricsCollector metrics) {
+        swap(buffer, pivotIndex, right);
+        
+        if (metrics != null) {
+            metrics.incrementSwaps();
+            metrics.incrementArrayAccesses(4);
+        }
+        
+        int pivot = buffer.get(right);
+        int i = left - 1;
+        
+        for (int j = left; j < right; j++) {
+            if (metrics != null) {
+                metrics.incrementComparisons();
+                metrics.incrementArrayAccesses(2);
+            }
+            
+            if (buffer.get(j) <= pivot) {
+                i++;
+                swap(buffer, i, j);
+                
+                if (metrics != null) {
+                    metrics.incrementSwaps();
+                    metrics.incrementArrayAccesses(4);
+                }
+            }
+        }
+        
+        swap(buffer, i + 1, right);
+        
+        if (metrics != null) {
+            metrics.incrementSwaps();
+            metrics.incrementArrayAccesses(4);
+        }
+        
+        return i + 1;
+    }
+    
+    public static int medianOfThree(IntBuffer buffer, int left, int right, MetricsCollector metrics) {
+        int mid = left + (right - left) / 2;
+        
+        if (metrics != null) {
+            metrics.incrementComparisons(3);
+            metrics.incrementArrayAccesses(6);
+        }
+        
+        if (buffer.get(left) > buffer.get(mid)) {
+            swap(buffer, left, mid);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+        
+        if (buffer.get(left) > buffer.get(right)) {
+            swap(buffer, left, right);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+        
+        if (buffer.get(mid) > buffer.get(right)) {
+            swap(buffer, mid, right);
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+        
+        return mid;
+    }
+    
+    /**
+     * Hoare partition over an {@link IntBuffer}. Returns j such that [left, j] is not
+     * greater than the pivot and (j, right] is not less than it.
+     */
+    public static int hoarePartition(IntBuffer buffer, int left, int right, int pivotIndex, MetricsCollector metrics) {
+        swap(buffer, pivotIndex, left);
+        
+        if (metrics != null) {
+            metrics.incrementSwaps();
+            metrics.incrementArrayAccesses(4);
+        }
+        
+        int pivot = buffer.get(left);
+        int i = left - 1;
+        int j = right + 1;
+        
+        while (true) {
+            do {
+                i++;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+            } while (buffer.get(i) < pivot);
+            
+            do {
+                j--;
+                if (metrics != null) {
+                    metrics.incrementComparisons();
+                    metrics.incrementArrayAccesses();
+                }
+            } while (buffer.get(j) > pivot);
+            
+            if (i >= j) {
+                return j;
+            }
+            
+            swap(buffer, i, j);
+            
+            if (metrics != null) {
+                metrics.incrementSwaps();
+                metrics.incrementArrayAccesses(4);
+            }
+        }
+    }
+    
+    private static void swap(IntBuffer buffer, int i, int j) {
+        int temp = buffer.get(i);
+        buffer.put(i, buffer.get(j));
+        buffer.put(j, temp);
+    }
+    
     private static void swap(int[] array, int i, int j) {
         int temp = array[i];
         array[i] = array[j];
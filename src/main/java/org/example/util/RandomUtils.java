@@ -0,0 +1,39 @@
+package org.example.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Per-thread random numbers for pivot choice, sampling and input generation. Every thread
+ * gets its own {@link SplittableRandom} split from one root generator, so threads never
+ * contend on shared state. After {@link #setSeed} a single-threaded run replays the same
+ * sequence; with several threads each stream is still seeded from the root, but which
+ * thread receives which split depends on scheduling.
+ */
+public class RandomUtils {
+    private static SplittableRandom root = new SplittableRandom();
+    private static volatile ThreadLocal<SplittableRandom> local = newLocal();
+    
+    /**
+     * The calling thread's generator. Do not share it with other threads.
+     */
+    public static SplittableRandom current() {
+        return local.get();
+    }
+    
+    /**
+     * Reseed the root generator. Streams already handed out are discarded; every thread,
+     * including the caller, draws a fresh split on its next call to {@link #current()}.
+     */
+    public static synchronized void setSeed(long seed) {
+        root = new SplittableRandom(seed);
+        local = newLocal();
+    }
+    
+    private static ThreadLocal<SplittableRandom> newLocal() {
+        return ThreadLocal.withInitial(RandomUtils::split);
+    }
+    
+    private static synchronized SplittableRandom split() {
+        return root.split();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.util;
+
+import org.example.metrics.MetricsCollector;
+
+/**
+ * Reusable int scratch space for algorithms that need a buffer as large as their input.
+ * The retained buffer grows on demand, doubling up to {@code maxRetained} ints; a request
+ * above the cap is served by a one-off array that is never retained, so a single huge sort
+ * cannot pin memory for the lifetime of the thread. Instances are not thread-safe;
+ * {@link #local()} hands each thread its own.
+ */
+public class ScratchArena {
+    public static final int DEFAULT_MAX_RETAINED = 1 << 22;
+    
+    private static final ThreadLocal<ScratchArena> LOCAL =
+            ThreadLocal.withInitial(() -> new ScratchArena(DEFAULT_MAX_RETAINED));
+    
+    private final int maxRetained;
+    private int[] buffer;
+    
+    public ScratchArena(int maxRetained) {
+        ValidationUtils.validateNonNegative(maxRetained, "Max retained");
+        this.maxRetained = maxRetained;
+    }
+    
+    /**
+     * The calling thread's arena, created with {@link #DEFAULT_MAX_RETAINED}.
+     */
+    public static ScratchArena local() {
+        return LOCAL.get();
+    }
+    
+    /**
+     * Return a buffer of at least {@code length} ints. Its contents are unspecified, and it
+     * stays valid until the next call on this arena. Allocations are reported to
+     * {@code metrics} when it is not null.
+     */
+    public int[] intBuffer(int length, MetricsCollector metrics) {
+        ValidationUtils.validateNonNegative(length, "Length");
+        
+        if (length > maxRetained) {
+            if (metrics != null) {
+                metrics.incrementAllocations(length);
+            }
+            return new int[length];
+        }
+        
+        if (buffer == null || buffer.length < length) {
+            int current = buffer == null ? 0 : buffer.length;
+            int capacity = (int) Math.min(maxRetained, Math.max(length, 2L * current));
+            buffer = new int[capacity];
+            if (metrics != null) {
+                metrics.incrementAllocations(capacity);
+            }
+        }
+        
+        return buffer;
+    }
+    
+    public int[] intBuffer(int length) {
+        return intBuffer(length, null);
+    }
+    
+    /**
+     * Drop the retained buffer so it can be garbage collected.
+     */
+    public void release() {
+        buffer = null;
+    }
+    
+    /**
+     * Number of ints currently retained.
+     */
+    public int retainedCapacity() {
+        return buffer == null ? 0 : buffer.length;
+    }
+    
+    public int getMaxRetained() {
+        return maxRetained;
+    }
+}
@@ -52,4 +52,10 @@ public class ValidationUtils {
             throw new IllegalArgumentException(name + " cannot be null");
         }
     }
+    
+    public static void validateSameLength(int expected, int actual, String name) {
+        if (actual != expected) {
+            throw new IllegalArgumentException(name + " length " + actual + " does not match expected length " + expected);
+        }
+    }
 }
@@ -1,10 +1,15 @@
 package org.example;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public class MainTest {
     
@@ -20,10 +25,17 @@ public class MainTest {
         assertTrue(output.contains("Usage:"));
         assertTrue(output.contains("Algorithms:"));
         assertTrue(output.contains("mergesort"));
+        assertTrue(output.contains("mergesort-inplace"));
         assertTrue(output.contains("quicksort"));
+        assertTrue(output.contains("radixsort"));
+        assertTrue(output.contains("samplesort"));
+        assertTrue(output.contains("adaptive"));
+        assertTrue(output.contains("external"));
+        assertTrue(output.contains("mmap"));
         assertTrue(output.contains("select"));
         assertTrue(output.contains("closest"));
         assertTrue(output.contains("all"));
+        assertTrue(output.contains("--seed"));
         
         System.setOut(System.out);
     }
@@ -67,4 +79,50 @@ public class MainTest {
         
         System.setErr(System.err);
     }
+    
+    @Test
+    public void testMainWithMappedSort(@TempDir Path tempDir) throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(6 * Integer.BYTES);
+        data.asIntBuffer().put(new int[]{42, -7, 0, 13, -7, 5});
+        Path file = tempDir.resolve("data.bin");
+        Files.write(file, data.array());
+        
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outContent));
+        
+        Main.main(new String[]{"mmap", file.toString()});
+        
+        System.setOut(System.out);
+        
+        int[] sorted = new int[6];
+        ByteBuffer.wrap(Files.readAllBytes(file)).asIntBuffer().get(sorted);
+        assertArrayEquals(new int[]{-7, -7, 0, 5, 13, 42}, sorted);
+        assertTrue(outContent.toString().contains("in place"));
+    }
+    
+    @Test
+    public void testMainWithSeed(@TempDir Path tempDir) {
+        ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outContent));
+        
+        Main.main(new String[]{"quicksort", "--seed", "42", "500", "1", tempDir.resolve("seeded.csv").toString()});
+        
+        String output = outContent.toString();
+        assertTrue(output.contains("Run 1:"));
+        assertTrue(Files.exists(tempDir.resolve("seeded.csv")));
+        
+        System.setOut(System.out);
+    }
+    
+    @Test
+    public void testMainWithSeedMissingValue() {
+        ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(errContent));
+        
+        Main.main(new String[]{"quicksort", "--seed"});
+        
+        assertTrue(errContent.toString().contains("--seed requires a value"));
+        
+        System.setErr(System.err);
+    }
 }
@@ -0,0 +1,157 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.example.metrics.PerformanceMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class AdaptiveSortTest {
+    private Random random;
+    
+    @BeforeEach
+    public void setUp() {
+        random = new Random(42);
+    }
+    
+    @Test
+    public void testSortNullAndTrivialArrays() {
+        assertDoesNotThrow(() -> AdaptiveSort.sort((int[]) null));
+        
+        int[] single = {7};
+        AdaptiveSort.sort(single);
+        assertArrayEquals(new int[]{7}, single);
+    }
+    
+    @Test
+    public void testChooseByShape() {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int[] sorted = random.ints(10_000).sorted().toArray();
+        int[] reversed = new int[10_000];
+        for (int i = 0; i < reversed.length; i++) {
+            reversed[i] = reversed.length - i;
+        }
+        int[] fewDistinct = random.ints(10_000, 0, 4).map(x -> (x - 2) * (Integer.MAX_VALUE / 2)).toArray();
+        
+        assertEquals(AdaptiveSort.Engine.INSERTION, AdaptiveSort.choose(random.ints(20).toArray(), pool));
+        assertEquals(AdaptiveSort.Engine.BLOCK_QUICKSORT, AdaptiveSort.choose(random.ints(200).toArray(), pool));
+        assertEquals(AdaptiveSort.Engine.RUN_MERGE, AdaptiveSort.choose(sorted, pool));
+        assertEquals(AdaptiveSort.Engine.RUN_MERGE, AdaptiveSort.choose(reversed, pool));
+        assertEquals(AdaptiveSort.Engine.RUN_MERGE, AdaptiveSort.choose(new int[10_000], pool));
+        assertEquals(AdaptiveSort.Engine.THREE_WAY, AdaptiveSort.choose(fewDistinct, pool));
+        assertEquals(AdaptiveSort.Engine.RADIX, AdaptiveSort.choose(random.ints(10_000, 0, 10_000).toArray(), pool));
+        assertEquals(AdaptiveSort.Engine.RADIX, AdaptiveSort.choose(random.ints(10_000).toArray(), pool));
+    }
+    
+    @Test
+    public void testChooseRadixNeedsLongerArraysForWideRanges() {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        
+        assertEquals(AdaptiveSort.Engine.RADIX, AdaptiveSort.choose(random.ints(300, 0, 256).toArray(), pool));
+        assertEquals(AdaptiveSort.Engine.BLOCK_QUICKSORT, AdaptiveSort.choose(random.ints(300).toArray(), pool));
+        assertEquals(AdaptiveSort.Engine.RADIX, AdaptiveSort.choose(random.ints(600).toArray(), pool));
+    }
+    
+    @Test
+    public void testChooseParallelRadixOnLargeArrays() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ForkJoinPool singlePool = new ForkJoinPool(1);
+        try {
+            int[] array = random.ints(1 << 18).toArray();
+            
+            assertEquals(AdaptiveSort.Engine.PARALLEL_RADIX, AdaptiveSort.choose(array, pool));
+            assertEquals(AdaptiveSort.Engine.RADIX, AdaptiveSort.choose(array, singlePool));
+        } finally {
+            pool.shutdown();
+            singlePool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testChooseDoesNotModifyArray() {
+        int[] array = random.ints(5000).toArray();
+        int[] copy = array.clone();
+        
+        AdaptiveSort.choose(array, ForkJoinPool.commonPool());
+        
+        assertArrayEquals(copy, array);
+    }
+    
+    @Test
+    public void testSortEveryShape() {
+        int size = 50_000;
+        int[][] inputs = {
+            random.ints(size).toArray(),
+            random.ints(size, 0, size).toArray(),
+            random.ints(size, 0, 3).map(x -> x * 1_000_000_000).toArray(),
+            random.ints(size).sorted().toArray(),
+            random.ints(size, -1000, 1000).map(x -> -x).sorted().map(x -> -x).toArray(),
+            random.ints(600).toArray(),
+            random.ints(300).toArray(),
+            random.ints(30).toArray()
+        };
+        
+        for (int[] input : inputs) {
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            
+            AdaptiveSort.sort(input);
+            
+            assertArrayEquals(expected, input);
+        }
+    }
+    
+    @Test
+    public void testSortOnPool() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int[] array = random.ints(300_000).toArray();
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            MetricsCollector metrics = new MetricsCollector();
+            
+            AdaptiveSort.sort(array, pool, metrics);
+            
+            assertArrayEquals(expected, array);
+            assertEquals(List.of("PARALLEL_RADIX"), metrics.getPerformanceMetrics().getDecisions());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testSortRecordsDecisionAndProbe() {
+        int[] array = random.ints(20_000, 0, 1000).toArray();
+        MetricsCollector metrics = new MetricsCollector();
+        
+        AdaptiveSort.sort(array, metrics);
+        
+        PerformanceMetrics performance = metrics.getPerformanceMetrics();
+        assertEquals(List.of("RADIX"), performance.getDecisions());
+        assertTrue(performance.getPhaseTimes().containsKey("probe"));
+        assertTrue(performance.getComparisons() > 0);
+        assertTrue(performance.getExecutionTimeNanos() > 0);
+        assertTrue(metrics.getSummary().contains("Decisions: RADIX"));
+    }
+    
+    @Test
+    public void testSortWithNullMetricsOnPool() {
+        int[] array = random.ints(5000).toArray();
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        AdaptiveSort.sort(array, ForkJoinPool.commonPool(), null);
+        
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    public void testNullPool() {
+        assertThrows(IllegalArgumentException.class, () -> AdaptiveSort.sort(new int[]{2, 1}, null, null));
+        assertThrows(IllegalArgumentException.class, () -> AdaptiveSort.choose(new int[]{2, 1}, null));
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.algorithms;
 
 import org.example.metrics.MetricsCollector;
+import org.example.util.ArrayUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -95,7 +96,7 @@ public class DeterministicSelectTest {
     
     @Test
     public void testSelectNullArray() {
-        assertThrows(IllegalArgumentException.class, () -> DeterministicSelect.select(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> DeterministicSelect.select((int[]) null, 0));
     }
     
     @Test
@@ -210,6 +211,62 @@ public class DeterministicSelectTest {
         assertEquals(9, DeterministicSelect.select(array, array.length - 1));
     }
     
+    @Test
+    public void testSelectLongArray() {
+        long[] array = random.longs(2000).toArray();
+        long[] sorted = array.clone();
+        Arrays.sort(sorted);
+        
+        for (int k : new int[]{0, 1, 999, 1998, 1999}) {
+            assertEquals(sorted[k], DeterministicSelect.select(array.clone(), k));
+        }
+    }
+    
+    @Test
+    public void testSelectLongArrayWithDuplicates() {
+        long[] array = new long[5000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(3);
+        }
+        long[] sorted = array.clone();
+        Arrays.sort(sorted);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        assertEquals(sorted[2500], DeterministicSelect.select(array, 2500, metrics));
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+    }
+    
+    @Test
+    public void testSelectDoubleArrayWithNaNAndSignedZeros() {
+        double[] array = {0.0, Double.NaN, -0.0, 1.0, -0.0, -2.0, Double.NaN, 0.0};
+        double[] sorted = array.clone();
+        Arrays.sort(sorted);
+        
+        for (int k = 0; k < array.length; k++) {
+            assertEquals(0, Double.compare(sorted[k], DeterministicSelect.select(array.clone(), k)), "k = " + k);
+        }
+    }
+    
+    @Test
+    public void testSelectFloatArray() {
+        float[] array = new float[1000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextFloat() - 0.5f;
+        }
+        float[] sorted = array.clone();
+        Arrays.sort(sorted);
+        
+        assertEquals(sorted[500], DeterministicSelect.select(array.clone(), 500));
+        assertEquals(sorted[0], DeterministicSelect.select(array.clone(), 0));
+    }
+    
+    @Test
+    public void testSelectLongArrayInvalidRank() {
+        assertThrows(IllegalArgumentException.class, () -> DeterministicSelect.select(new long[]{1L}, 1));
+        assertThrows(IllegalArgumentException.class, () -> DeterministicSelect.select(new double[0], 0));
+        assertThrows(IllegalArgumentException.class, () -> DeterministicSelect.select((float[]) null, 0));
+    }
+    
     private int[] generateRandomArray(int size) {
         int[] array = new int[size];
         for (int i = 0; i < size; i++) {
@@ -217,4 +274,93 @@ public class DeterministicSelectTest {
         }
         return array;
     }
+    
+    @Test
+    public void testSelectWithEachPivotStrategy() {
+        int[] original = new int[3000];
+        for (int i = 0; i < original.length; i++) {
+            original[i] = random.nextInt(500);
+        }
+        int[] sorted = original.clone();
+        Arrays.sort(sorted);
+        
+        for (PivotStrategy strategy : new PivotStrategy[]{
+                PivotStrategy.RANDOM, PivotStrategy.MEDIAN_OF_THREE,
+                PivotStrategy.NINTHER, PivotStrategy.MEDIAN_OF_MEDIANS}) {
+            for (int k : new int[]{0, 1234, original.length - 1}) {
+                assertEquals(sorted[k], DeterministicSelect.select(original.clone(), k, strategy, null));
+            }
+        }
+    }
+    
+    @Test
+    public void testSelectFallsBackToMedianOfMedians() {
+        int[] array = new int[1000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+        // Always the smallest element on sorted input: each round discards a single element
+        PivotStrategy worst = (values, left, right, metrics) -> left;
+        MetricsCollector metrics = new MetricsCollector();
+        
+        assertEquals(999, DeterministicSelect.select(array, 999, worst, metrics));
+        assertEquals(1, metrics.getPerformanceMetrics().getFallbacks());
+    }
+    
+    @Test
+    public void testSelectWithGoodStrategyDoesNotFallBack() {
+        int[] array = new int[1000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+        MetricsCollector metrics = new MetricsCollector();
+        
+        assertEquals(500, DeterministicSelect.select(array, 500, PivotStrategy.NINTHER, metrics));
+        assertEquals(0, metrics.getPerformanceMetrics().getFallbacks());
+    }
+    
+    @Test
+    public void testSelectLinearOnAdversarialInputs() {
+        int n = 100_000;
+        int[][] inputs = {
+            ArrayUtils.generateSortedArray(n),
+            ArrayUtils.generateReverseSortedArray(n),
+            ArrayUtils.generateOrganPipeArray(n),
+            ArrayUtils.generateDuplicateArray(n, 7),
+            generateRandomArray(n)
+        };
+        
+        for (int[] input : inputs) {
+            int[] sorted = input.clone();
+            Arrays.sort(sorted);
+            MetricsCollector metrics = new MetricsCollector();
+            
+            assertEquals(sorted[n / 2], DeterministicSelect.select(input, n / 2, metrics));
+            
+            long comparisons = metrics.getPerformanceMetrics().getComparisons();
+            assertTrue(comparisons <= 12L * n, "Expected at most 12n comparisons, got " + comparisons);
+        }
+    }
+    
+    @Test
+    public void testSelectDoesNotAllocate() {
+        int[] array = generateRandomArray(10_000);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        DeterministicSelect.select(array, 1234, metrics);
+        
+        assertEquals(0, metrics.getPerformanceMetrics().getAllocations());
+    }
+    
+    @Test
+    public void testMedianOfMediansPivotIsCentral() {
+        int n = 10_000;
+        int[] array = ArrayUtils.generateSortedArray(n);
+        ArrayUtils.shuffle(array);
+        
+        int pivot = array[DeterministicSelect.medianOfMediansPivot(array, 0, n - 1, null)];
+        
+        // Values are 0..n-1, so the pivot is its own rank; BFPRT guarantees 3n/10 on each side
+        assertTrue(pivot >= 3 * n / 10 - 5 && pivot <= 7 * n / 10 + 5, "Pivot rank " + pivot);
+    }
 }
@@ -0,0 +1,134 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.example.metrics.PerformanceMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ExternalMergeSortTest {
+    private Random random;
+    
+    @TempDir
+    Path tempDir;
+    
+    @BeforeEach
+    public void setUp() {
+        random = new Random(42);
+    }
+    
+    @Test
+    public void testSortEmptyFile() throws IOException {
+        Path input = write(new int[0]);
+        Path output = tempDir.resolve("sorted.bin");
+        
+        ExternalMergeSort.sort(input, output);
+        
+        assertArrayEquals(new int[0], read(output));
+    }
+    
+    @Test
+    public void testSortSingleChunk() throws IOException {
+        int[] values = random.ints(1000).toArray();
+        Path input = write(values);
+        Path output = tempDir.resolve("sorted.bin");
+        MetricsCollector metrics = new MetricsCollector();
+        
+        ExternalMergeSort.sort(input, output, metrics);
+        
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, read(output));
+        assertEquals(0, metrics.getPerformanceMetrics().getMergePasses());
+    }
+    
+    @Test
+    public void testSortWithMultipleMergePasses() throws IOException {
+        int[] values = random.ints(6400, -500, 500).toArray();
+        Path input = write(values);
+        Path output = tempDir.resolve("sorted.bin");
+        MetricsCollector metrics = new MetricsCollector();
+        
+        ExternalMergeSort.sort(input, output, 100, 4, ExternalMergeSort.ChunkSorter.MERGE_SORT, metrics);
+        
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, read(output));
+        
+        // 64 runs merged four at a time: 64 -> 16 -> 4 -> 1, each pass rewriting every int
+        PerformanceMetrics performance = metrics.getPerformanceMetrics();
+        assertEquals(3, performance.getMergePasses());
+        assertEquals(4L * values.length * Integer.BYTES, performance.getBytesRead());
+        assertEquals(4L * values.length * Integer.BYTES, performance.getBytesWritten());
+        assertTrue(performance.getComparisons() > 0);
+    }
+    
+    @Test
+    public void testSortWithQuickSortChunks() throws IOException {
+        int[] values = random.ints(5000).toArray();
+        Path input = write(values);
+        Path output = tempDir.resolve("sorted.bin");
+        
+        ExternalMergeSort.sort(input, output, 512, 64, ExternalMergeSort.ChunkSorter.QUICK_SORT, null);
+        
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, read(output));
+    }
+    
+    @Test
+    public void testSortLeavesNoTempFiles() throws IOException {
+        int[] values = random.ints(2000).toArray();
+        Path input = write(values);
+        Path output = tempDir.resolve("sorted.bin");
+        
+        ExternalMergeSort.sort(input, output, 100, 2, ExternalMergeSort.ChunkSorter.QUICK_SORT, null);
+        
+        try (var files = Files.list(tempDir)) {
+            assertEquals(2, files.count());
+        }
+    }
+    
+    @Test
+    public void testSortRejectsTruncatedInput() throws IOException {
+        Path input = tempDir.resolve("truncated.bin");
+        Files.write(input, new byte[]{1, 2, 3, 4, 5});
+        
+        assertThrows(IllegalArgumentException.class,
+                () -> ExternalMergeSort.sort(input, tempDir.resolve("sorted.bin")));
+    }
+    
+    @Test
+    public void testSortRejectsInvalidParameters() throws IOException {
+        Path input = write(new int[]{1, 2, 3});
+        Path output = tempDir.resolve("sorted.bin");
+        
+        assertThrows(IllegalArgumentException.class,
+                () -> ExternalMergeSort.sort(input, output, 0, 4, ExternalMergeSort.ChunkSorter.QUICK_SORT, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ExternalMergeSort.sort(input, output, 10, 1, ExternalMergeSort.ChunkSorter.QUICK_SORT, null));
+    }
+    
+    private Path write(int[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES);
+        buffer.asIntBuffer().put(values);
+        Path path = tempDir.resolve("input.bin");
+        Files.write(path, buffer.array());
+        return path;
+    }
+    
+    private static int[] read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        int[] values = new int[buffer.remaining() / Integer.BYTES];
+        buffer.asIntBuffer().get(values);
+        return values;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class KWayMergeTest {
+    private Random random;
+    
+    @BeforeEach
+    public void setUp() {
+        random = new Random(42);
+    }
+    
+    @Test
+    public void testMergeNoRuns() {
+        assertArrayEquals(new int[]{}, KWayMerge.merge(new int[0][]));
+    }
+    
+    @Test
+    public void testMergeNullRuns() {
+        assertThrows(IllegalArgumentException.class, () -> KWayMerge.merge((int[][]) null));
+    }
+    
+    @Test
+    public void testMergeSingleRun() {
+        int[][] runs = {{1, 2, 3}};
+        assertArrayEquals(new int[]{1, 2, 3}, KWayMerge.merge(runs));
+    }
+    
+    @Test
+    public void testMergeWithEmptyRuns() {
+        int[][] runs = {{}, {5, 9}, {}, {-1, 5, 7}, {}};
+        assertArrayEquals(new int[]{-1, 5, 5, 7, 9}, KWayMerge.merge(runs));
+    }
+    
+    @Test
+    public void testMergeManyRuns() {
+        for (int k : new int[]{2, 3, 5, 16, 100, 1024}) {
+            int[][] runs = generateRuns(k, 50);
+            
+            int[] expected = Arrays.stream(runs).flatMapToInt(Arrays::stream).toArray();
+            Arrays.sort(expected);
+            
+            assertArrayEquals(expected, KWayMerge.merge(runs), "k = " + k);
+        }
+    }
+    
+    @Test
+    public void testMergeComparisonsAreLogarithmic() {
+        int k = 64;
+        int[][] runs = generateRuns(k, 200);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        int[] merged = KWayMerge.merge(runs, metrics);
+        
+        // log2(64) = 6 comparisons per element, fewer once runs drain
+        long comparisons = metrics.getPerformanceMetrics().getComparisons();
+        assertTrue(comparisons <= 6L * merged.length + k, "comparisons = " + comparisons);
+        assertTrue(comparisons >= 5L * merged.length, "comparisons = " + comparisons);
+    }
+    
+    @Test
+    public void testMergeStreamingSources() {
+        int[][] runs = generateRuns(37, 40);
+        List<PrimitiveIterator.OfInt> sources = new ArrayList<>();
+        for (int[] run : runs) {
+            sources.add(Arrays.stream(run).iterator());
+        }
+        
+        IntStream.Builder sink = IntStream.builder();
+        MetricsCollector metrics = new MetricsCollector();
+        KWayMerge.merge(sources, sink::add, metrics);
+        
+        assertArrayEquals(KWayMerge.merge(runs), sink.build().toArray());
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+    }
+    
+    @Test
+    public void testMergeStreamingNoSources() {
+        IntStream.Builder sink = IntStream.builder();
+        KWayMerge.merge(new ArrayList<PrimitiveIterator.OfInt>(), sink::add);
+        assertEquals(0, sink.build().count());
+    }
+    
+    private int[][] generateRuns(int k, int maxLength) {
+        int[][] runs = new int[k][];
+        for (int i = 0; i < k; i++) {
+            runs[i] = random.ints(random.nextInt(maxLength + 1), -1000, 1000).toArray();
+            Arrays.sort(runs[i]);
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.Random;
+
+public class LeafSorterTest {
+    private Random random;
+    
+    @BeforeEach
+    public void setUp() {
+        random = new Random(42);
+    }
+    
+    @Test
+    public void testNetworkSortsAllZeroOneInputs() {
+        // By the 0-1 principle a comparator network that sorts every 0/1 input sorts everything
+        for (int n = 0; n <= SortingNetworks.MAX_LENGTH; n++) {
+            for (int bits = 0; bits < (1 << n); bits++) {
+                int[] array = new int[n];
+                for (int i = 0; i < n; i++) {
+                    array[i] = (bits >>> i) & 1;
+                }
+                int[] expected = array.clone();
+                Arrays.sort(expected);
+                
+                SortingNetworks.sort(array, 0, n - 1, null);
+                
+                assertArrayEquals(expected, array, "n=" + n + " bits=" + bits);
+            }
+        }
+    }
+    
+    @Test
+    public void testNetworkSize() {
+        // Batcher's odd-even merge sort uses 19 comparators for 8 inputs and 63 for 16
+        assertEquals(19, SortingNetworks.size(8));
+        assertEquals(63, SortingNetworks.size(16));
+    }
+    
+    @Test
+    public void testLeafSortersSortSubranges() {
+        for (LeafSorter leafSorter : new LeafSorter[]{LeafSorter.INSERTION, LeafSorter.NETWORK, LeafSorter.VECTOR}) {
+            for (int n = 1; n <= 40; n++) {
+                int[] array = random.ints(n + 6, -50, 50).toArray();
+                array[3] = Integer.MAX_VALUE;
+                array[4] = Integer.MIN_VALUE;
+                int[] expected = array.clone();
+                Arrays.sort(expected, 3, 3 + n);
+                
+                leafSorter.sort(array, 3, 3 + n - 1, null);
+                
+                assertArrayEquals(expected, array, "n=" + n);
+            }
+        }
+    }
+    
+    @Test
+    public void testLeafSorterMaxLength() {
+        assertEquals(Integer.MAX_VALUE, LeafSorter.INSERTION.maxLength());
+        assertEquals(SortingNetworks.MAX_LENGTH, LeafSorter.NETWORK.maxLength());
+        assertTrue(LeafSorter.VECTOR.maxLength() >= 8);
+    }
+    
+    @Test
+    public void testLeafSorterMetrics() {
+        int[] array = random.ints(16).toArray();
+        MetricsCollector metrics = new MetricsCollector();
+        
+        LeafSorter.NETWORK.sort(array, 0, 15, metrics);
+        
+        assertEquals(63, metrics.getPerformanceMetrics().getComparisons());
+        assertEquals(4 * 63, metrics.getPerformanceMetrics().getArrayAccesses());
+    }
+}
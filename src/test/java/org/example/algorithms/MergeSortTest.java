@@ -1,12 +1,14 @@
 package org.example.algorithms;
 
 import org.example.metrics.MetricsCollector;
+import org.example.util.ArrayUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class MergeSortTest {
     private Random random;
@@ -103,7 +105,7 @@ public class MergeSortTest {
     
     @Test
     public void testSortNullArray() {
-        assertDoesNotThrow(() -> MergeSort.sort(null));
+        assertDoesNotThrow(() -> MergeSort.sort((int[]) null));
     }
     
     @Test
@@ -156,6 +158,468 @@ public class MergeSortTest {
                 "Expected depth around log2(1000)≈10, got " + maxDepth);
     }
     
+    @Test
+    public void testParallelSortLargeRandomArray() {
+        int[] array = generateRandomArray(100000);
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        MergeSort.parallelSort(array);
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    public void testParallelSortSmallGranularity() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int size : new int[]{0, 1, 2, 17, 100, 1000, 4099}) {
+                int[] array = generateRandomArray(size);
+                int[] expected = array.clone();
+                Arrays.sort(expected);
+                
+                MergeSort.parallelSort(array, pool, 16, null);
+                assertArrayEquals(expected, array);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testParallelSortWithMetrics() {
+        int[] array = generateRandomArray(1000);
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        MetricsCollector metrics = new MetricsCollector();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        try {
+            MergeSort.parallelSort(array, pool, 100, metrics);
+        } finally {
+            pool.shutdown();
+        }
+        
+        assertArrayEquals(expected, array);
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+        int maxDepth = metrics.getDepthTracker().getMaxDepth();
+        assertTrue(maxDepth >= 6 && maxDepth <= 7,
+                "Expected same depth as sequential sort, got " + maxDepth);
+    }
+    
+    @Test
+    public void testParallelSortMatchesSequentialMetrics() {
+        int[] array = generateRandomArray(5000);
+        int[] arrayCopy = array.clone();
+        MetricsCollector sequential = new MetricsCollector();
+        MetricsCollector parallel = new MetricsCollector();
+        
+        MergeSort.sort(array, sequential);
+        MergeSort.parallelSort(arrayCopy, ForkJoinPool.commonPool(), 256, parallel);
+        
+        assertArrayEquals(array, arrayCopy);
+        assertEquals(sequential.getPerformanceMetrics().getComparisons(),
+                parallel.getPerformanceMetrics().getComparisons());
+        assertEquals(sequential.getDepthTracker().getMaxDepth(), parallel.getDepthTracker().getMaxDepth());
+    }
+    
+    @Test
+    public void testParallelSortInvalidGranularity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MergeSort.parallelSort(new int[]{2, 1}, ForkJoinPool.commonPool(), 0, null));
+    }
+    
+    @Test
+    public void testSortBottomUp() {
+        for (int size : new int[]{0, 1, 2, 15, 16, 30, 31, 45, 61, 1000, 65537}) {
+            int[] array = generateRandomArray(size);
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            MergeSort.sortBottomUp(array);
+            assertArrayEquals(expected, array);
+        }
+    }
+    
+    @Test
+    public void testSortBottomUpWithExtremeValues() {
+        int[] array = {Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1, 1, 7, -7, 3, 3, 3, 9, -9, 12, 15, 2, 8, 4};
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        MergeSort.sortBottomUp(array);
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    public void testSortBottomUpMatchesRecursiveComparisons() {
+        // Both variants merge the same runs when n is CUTOFF_THRESHOLD times a power of two.
+        int[] array = generateRandomArray(15 * 64);
+        int[] arrayCopy = array.clone();
+        MetricsCollector recursive = new MetricsCollector();
+        MetricsCollector bottomUp = new MetricsCollector();
+        
+        MergeSort.sort(array, recursive);
+        MergeSort.sortBottomUp(arrayCopy, bottomUp);
+        
+        assertArrayEquals(array, arrayCopy);
+        assertEquals(recursive.getPerformanceMetrics().getComparisons(),
+                bottomUp.getPerformanceMetrics().getComparisons());
+        assertTrue(bottomUp.getPerformanceMetrics().getArrayAccesses()
+                < recursive.getPerformanceMetrics().getArrayAccesses());
+        assertEquals(0, bottomUp.getDepthTracker().getMaxDepth());
+    }
+    
+    @Test
+    public void testSortAdaptive() {
+        for (int size : new int[]{0, 1, 2, 31, 32, 33, 64, 1000, 100000}) {
+            int[] array = generateRandomArray(size);
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            MergeSort.sortAdaptive(array);
+            assertArrayEquals(expected, array);
+        }
+    }
+    
+    @Test
+    public void testSortAdaptiveSortedInputIsLinear() {
+        int[] array = new int[100000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i / 3;
+        }
+        int[] expected = array.clone();
+        MetricsCollector metrics = new MetricsCollector();
+        
+        MergeSort.sortAdaptive(array, metrics);
+        
+        assertArrayEquals(expected, array);
+        assertEquals(array.length - 1, metrics.getPerformanceMetrics().getComparisons());
+        assertEquals(0, metrics.getPerformanceMetrics().getAllocations());
+    }
+    
+    @Test
+    public void testSortAdaptiveReversedInputIsLinear() {
+        int[] array = new int[100000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = array.length - i;
+        }
+        MetricsCollector metrics = new MetricsCollector();
+        
+        MergeSort.sortAdaptive(array, metrics);
+        
+        for (int i = 0; i < array.length; i++) {
+            assertEquals(i + 1, array[i]);
+        }
+        assertEquals(array.length - 1, metrics.getPerformanceMetrics().getComparisons());
+    }
+    
+    @Test
+    public void testSortAdaptiveConcatenatedRuns() {
+        int runs = 50;
+        int runLength = 2000;
+        int[] array = new int[runs * runLength];
+        for (int r = 0; r < runs; r++) {
+            int value = random.nextInt(1000);
+            boolean descending = r % 3 == 0;
+            for (int i = 0; i < runLength; i++) {
+                value += 1 + random.nextInt(5);
+                array[r * runLength + (descending ? runLength - 1 - i : i)] = value;
+            }
+        }
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        MergeSort.sortAdaptive(array, metrics);
+        
+        assertArrayEquals(expected, array);
+        long n = array.length;
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() < n * 8,
+                "Expected about n log(runs) comparisons, got " + metrics.getPerformanceMetrics().getComparisons());
+    }
+    
+    @Test
+    public void testSortAdaptiveWithDuplicatesAndExtremes() {
+        int[] array = new int[5000];
+        for (int i = 0; i < array.length; i++) {
+            int pick = random.nextInt(4);
+            array[i] = pick == 0 ? Integer.MIN_VALUE : pick == 1 ? Integer.MAX_VALUE : random.nextInt(3);
+        }
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        MergeSort.sortAdaptive(array);
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    public void testArgsort() {
+        int[] keys = {30, 10, 20, 10, 30, 0};
+        
+        int[] permutation = MergeSort.argsort(keys);
+        
+        assertArrayEquals(new int[]{5, 1, 3, 2, 0, 4}, permutation);
+        assertArrayEquals(new int[]{30, 10, 20, 10, 30, 0}, keys);
+    }
+    
+    @Test
+    public void testArgsortIsStable() {
+        int[] keys = new int[10000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(50);
+        }
+        
+        int[] permutation = MergeSort.argsort(keys);
+        
+        for (int i = 1; i < permutation.length; i++) {
+            int previous = keys[permutation[i - 1]];
+            int current = keys[permutation[i]];
+            assertTrue(previous < current || (previous == current && permutation[i - 1] < permutation[i]));
+        }
+    }
+    
+    @Test
+    public void testArgsortEmptyAndNull() {
+        assertArrayEquals(new int[]{}, MergeSort.argsort(new int[]{}));
+        assertThrows(IllegalArgumentException.class, () -> MergeSort.argsort(null));
+    }
+    
+    @Test
+    public void testArgsortWithMetrics() {
+        int[] keys = generateRandomArray(1000);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        MergeSort.argsort(keys, metrics);
+        
+        assertEquals(4L * keys.length, metrics.getPerformanceMetrics().getAllocations());
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+    }
+    
+    @Test
+    public void testSortLongArray() {
+        long[] array = {5_000_000_000L, -1L, Long.MAX_VALUE, 0L, Long.MIN_VALUE, -1L};
+        MergeSort.sort(array);
+        assertArrayEquals(new long[]{Long.MIN_VALUE, -1L, -1L, 0L, 5_000_000_000L, Long.MAX_VALUE}, array);
+    }
+    
+    @Test
+    public void testSortLargeLongArray() {
+        long[] array = random.longs(5000).toArray();
+        long[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        MetricsCollector metrics = new MetricsCollector();
+        MergeSort.sort(array, metrics);
+        
+        assertArrayEquals(expected, array);
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+    }
+    
+    @Test
+    public void testSortDoubleArrayWithNaNAndSignedZeros() {
+        double[] array = {Double.NaN, 0.0, -0.0, Double.POSITIVE_INFINITY, -1.5, Double.NEGATIVE_INFINITY, 0.0, -0.0};
+        double[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        MergeSort.sort(array);
+        
+        for (int i = 0; i < array.length; i++) {
+            assertEquals(0, Double.compare(expected[i], array[i]), "index " + i);
+        }
+    }
+    
+    @Test
+    public void testSortLargeDoubleArray() {
+        double[] array = new double[5000];
+        for (int i = 0; i < array.length; i++) {
+            int pick = random.nextInt(10);
+            array[i] = pick == 0 ? Double.NaN : pick == 1 ? -0.0 : pick == 2 ? 0.0 : random.nextGaussian();
+        }
+        double[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        MergeSort.sort(array);
+        
+        for (int i = 0; i < array.length; i++) {
+            assertEquals(0, Double.compare(expected[i], array[i]), "index " + i);
+        }
+    }
+    
+    @Test
+    public void testSortFloatArray() {
+        float[] array = {3.5f, Float.NaN, -0.0f, 0.0f, -7.25f, Float.MIN_VALUE};
+        float[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        MergeSort.sort(array);
+        
+        for (int i = 0; i < array.length; i++) {
+            assertEquals(0, Float.compare(expected[i], array[i]), "index " + i);
+        }
+    }
+    
+    @Test
+    public void testCoSortIntPayloadIsStable() {
+        int[] keys = new int[5000];
+        int[] values = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(20);
+            values[i] = i;
+        }
+        int[] original = keys.clone();
+        MetricsCollector metrics = new MetricsCollector();
+        
+        MergeSort.coSort(keys, values, metrics);
+        
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(original[values[i]], keys[i]);
+            if (i > 0) {
+                assertTrue(keys[i - 1] < keys[i] || (keys[i - 1] == keys[i] && values[i - 1] < values[i]));
+            }
+        }
+        assertEquals(2L * keys.length, metrics.getPerformanceMetrics().getAllocations());
+    }
+    
+    @Test
+    public void testCoSortLongPayload() {
+        int[] keys = {3, 1, 2, 1};
+        long[] values = {30L, 10L, 20L, 11L};
+        
+        MergeSort.coSort(keys, values);
+        
+        assertArrayEquals(new int[]{1, 1, 2, 3}, keys);
+        assertArrayEquals(new long[]{10L, 11L, 20L, 30L}, values);
+    }
+    
+    @Test
+    public void testCoSortRejectsMismatchedLengths() {
+        assertThrows(IllegalArgumentException.class, () -> MergeSort.coSort(new int[]{1, 2}, new int[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> MergeSort.coSort(new int[]{1}, (long[]) null));
+    }
+    
+    @Test
+    public void testSortWithBuffer() {
+        int[] array = generateRandomArray(1000);
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        MergeSort.sortWithBuffer(array, new int[2000], metrics);
+        
+        assertArrayEquals(expected, array);
+        assertEquals(0, metrics.getPerformanceMetrics().getAllocations());
+    }
+    
+    @Test
+    public void testSortWithBufferTooSmall() {
+        assertThrows(IllegalArgumentException.class, () -> MergeSort.sortWithBuffer(new int[]{3, 2, 1}, new int[2]));
+        assertThrows(IllegalArgumentException.class, () -> MergeSort.sortWithBuffer(new int[]{3, 2, 1}, null));
+    }
+    
+    @Test
+    public void testSortPooledAllocatesOnlyOnGrowth() {
+        MetricsCollector metrics = new MetricsCollector();
+        MergeSort.sortPooled(generateRandomArray(5000), metrics);
+        
+        for (int run = 0; run < 3; run++) {
+            int[] array = generateRandomArray(4000);
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            MergeSort.sortPooled(array, metrics);
+            
+            assertArrayEquals(expected, array);
+            assertEquals(0, metrics.getPerformanceMetrics().getAllocations());
+        }
+    }
+    
+    @Test
+    public void testBufferedEntryPointsReportTheirBuffer() {
+        MetricsCollector sorted = new MetricsCollector();
+        MetricsCollector parallel = new MetricsCollector();
+        MetricsCollector bottomUp = new MetricsCollector();
+        
+        MergeSort.sort(generateRandomArray(3000), sorted);
+        MergeSort.parallelSort(generateRandomArray(3000), ForkJoinPool.commonPool(), 500, parallel);
+        MergeSort.sortBottomUp(generateRandomArray(3000), bottomUp);
+        
+        for (MetricsCollector metrics : new MetricsCollector[]{sorted, parallel, bottomUp}) {
+            assertEquals(3000, metrics.getPerformanceMetrics().getAllocations());
+        }
+    }
+    
+    @Test
+    public void testSortInPlace() {
+        for (int size : new int[]{0, 1, 2, 15, 16, 31, 100, 1000, 4097}) {
+            for (int[] array : new int[][]{
+                    generateRandomArray(size),
+                    ArrayUtils.generateSortedArray(size),
+                    ArrayUtils.generateReverseSortedArray(size),
+                    ArrayUtils.generateOrganPipeArray(size)}) {
+                int[] expected = array.clone();
+                Arrays.sort(expected);
+                
+                MergeSort.sortInPlace(array);
+                
+                assertArrayEquals(expected, array, "size " + size);
+            }
+        }
+    }
+    
+    @Test
+    public void testSortInPlaceReportsNoAuxiliaryMemory() {
+        int[] array = generateRandomArray(10000);
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        MetricsCollector inPlace = new MetricsCollector();
+        MetricsCollector buffered = new MetricsCollector();
+        
+        MergeSort.sort(array.clone(), buffered);
+        MergeSort.sortInPlace(array, inPlace);
+        
+        assertArrayEquals(expected, array);
+        assertEquals(0, inPlace.getPerformanceMetrics().getPeakAuxiliaryBytes());
+        assertEquals(0, inPlace.getPerformanceMetrics().getAllocations());
+        assertEquals(10000L * Integer.BYTES, buffered.getPerformanceMetrics().getPeakAuxiliaryBytes());
+        assertTrue(inPlace.getPerformanceMetrics().getSwaps() > 0);
+    }
+    
+    @Test
+    public void testScratchAllocatingEntryPointsReportAuxiliaryMemory() {
+        int n = 4000;
+        MetricsCollector adaptive = new MetricsCollector();
+        MetricsCollector argsort = new MetricsCollector();
+        MetricsCollector coSort = new MetricsCollector();
+        MetricsCollector longs = new MetricsCollector();
+        
+        MergeSort.sortAdaptive(generateRandomArray(n), adaptive);
+        MergeSort.argsort(generateRandomArray(n), argsort);
+        MergeSort.coSort(generateRandomArray(n), new long[n], coSort);
+        MergeSort.sort(random.longs(n).toArray(), longs);
+        
+        assertEquals((long) n * Integer.BYTES, adaptive.getPerformanceMetrics().getPeakAuxiliaryBytes());
+        assertEquals(4L * n * Integer.BYTES, argsort.getPerformanceMetrics().getPeakAuxiliaryBytes());
+        assertEquals((long) n * (Integer.BYTES + Long.BYTES), coSort.getPerformanceMetrics().getPeakAuxiliaryBytes());
+        assertEquals((long) n * Long.BYTES, longs.getPerformanceMetrics().getPeakAuxiliaryBytes());
+    }
+    
+    @Test
+    public void testSortWithLeafSorter() {
+        for (LeafSorter leafSorter : new LeafSorter[]{LeafSorter.INSERTION, LeafSorter.NETWORK, LeafSorter.VECTOR}) {
+            int[] array = generateRandomArray(5000);
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            MetricsCollector metrics = new MetricsCollector();
+            
+            MergeSort.sort(array, leafSorter, metrics);
+            
+            assertArrayEquals(expected, array);
+            assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+        }
+        
+        assertThrows(IllegalArgumentException.class, () -> MergeSort.sort(new int[]{2, 1}, null, null));
+    }
+    
     private int[] generateRandomArray(int size) {
         int[] array = new int[size];
         for (int i = 0; i < size; i++) {
@@ -0,0 +1,120 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class PartialSortTest {
+    private Random random;
+    
+    @BeforeEach
+    public void setUp() {
+        random = new Random(42);
+    }
+    
+    @Test
+    public void testSortPrefix() {
+        int[] array = {9, 3, 7, 1, 8, 2, 6, 4, 5, 0};
+        PartialSort.sort(array, 4);
+        
+        assertArrayEquals(new int[]{0, 1, 2, 3}, Arrays.copyOf(array, 4));
+        for (int i = 4; i < array.length; i++) {
+            assertTrue(array[i] >= 3);
+        }
+    }
+    
+    @Test
+    public void testSortWholeArray() {
+        int[] array = {5, -2, 9, 0, -2};
+        PartialSort.sort(array, array.length);
+        assertArrayEquals(new int[]{-2, -2, 0, 5, 9}, array);
+    }
+    
+    @Test
+    public void testSortZeroElements() {
+        int[] array = {3, 1, 2};
+        PartialSort.sort(array, 0);
+        assertArrayEquals(new int[]{3, 1, 2}, array);
+    }
+    
+    @Test
+    public void testSortInvalidK() {
+        assertThrows(IllegalArgumentException.class, () -> PartialSort.sort(new int[]{1, 2}, 3));
+        assertThrows(IllegalArgumentException.class, () -> PartialSort.sort(new int[]{1, 2}, -1));
+        assertThrows(IllegalArgumentException.class, () -> PartialSort.sort(null, 0));
+    }
+    
+    @Test
+    public void testSmallestLeavesInputUnchanged() {
+        int[] array = random.ints(1000, -500, 500).toArray();
+        int[] original = array.clone();
+        
+        int[] smallest = PartialSort.smallest(array, 25);
+        
+        int[] expected = original.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(Arrays.copyOf(expected, 25), smallest);
+        assertArrayEquals(original, array);
+    }
+    
+    @Test
+    public void testSmallestMatchesFullSort() {
+        for (int k : new int[]{1, 10, 500, 9999, 10000}) {
+            int[] array = random.ints(10000).toArray();
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            assertArrayEquals(Arrays.copyOf(expected, k), PartialSort.smallest(array, k), "k = " + k);
+        }
+    }
+    
+    @Test
+    public void testSmallestWithManyDuplicates() {
+        int[] array = random.ints(100000, 0, 3).toArray();
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        assertArrayEquals(Arrays.copyOf(expected, 50000), PartialSort.smallest(array, 50000));
+    }
+    
+    @Test
+    public void testSmallestWithMetrics() {
+        int[] array = random.ints(100000).toArray();
+        MetricsCollector metrics = new MetricsCollector();
+        
+        PartialSort.smallest(array, 100, metrics);
+        
+        // Expected ~2-3.4n comparisons for quickselect, far below n log2 n for a full sort
+        long comparisons = metrics.getPerformanceMetrics().getComparisons();
+        assertTrue(comparisons > 0);
+        assertTrue(comparisons < 8L * array.length, "comparisons = " + comparisons);
+    }
+    
+    @Test
+    public void testSmallestFromStream() {
+        int[] array = random.ints(5000).toArray();
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        int[] smallest = PartialSort.smallest(Arrays.stream(array).iterator(), 64, metrics);
+        
+        assertArrayEquals(Arrays.copyOf(expected, 64), smallest);
+        assertEquals(64, metrics.getPerformanceMetrics().getAllocations());
+    }
+    
+    @Test
+    public void testSmallestFromShortStream() {
+        int[] smallest = PartialSort.smallest(Arrays.stream(new int[]{4, -1, 2}).iterator(), 10);
+        assertArrayEquals(new int[]{-1, 2, 4}, smallest);
+    }
+    
+    @Test
+    public void testSmallestFromStreamZeroElements() {
+        assertArrayEquals(new int[]{}, PartialSort.smallest(Arrays.stream(new int[]{1, 2}).iterator(), 0));
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.example.util.ArrayUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class PdqSortTest {
+    private Random random;
+    
+    @BeforeEach
+    public void setUp() {
+        random = new Random(42);
+    }
+    
+    @Test
+    public void testSortEmptyArray() {
+        int[] array = {};
+        PdqSort.sort(array);
+        assertArrayEquals(new int[]{}, array);
+    }
+    
+    @Test
+    public void testSortNullArray() {
+        assertDoesNotThrow(() -> PdqSort.sort(null));
+    }
+    
+    @Test
+    public void testSortSmallArray() {
+        int[] array = {3, 1, 4, 1, 5, 9, 2, 6, 5, 3};
+        PdqSort.sort(array);
+        assertArrayEquals(new int[]{1, 1, 2, 3, 3, 4, 5, 5, 6, 9}, array);
+    }
+    
+    @Test
+    public void testSortRandomArrays() {
+        for (int size : new int[]{2, 23, 24, 25, 128, 129, 1000, 100000}) {
+            int[] array = generateRandomArray(size, Integer.MAX_VALUE);
+            assertSortsLikeJava(array);
+        }
+    }
+    
+    @Test
+    public void testSortPatternedInputs() {
+        int size = 50000;
+        assertSortsLikeJava(ArrayUtils.generateSortedArray(size));
+        assertSortsLikeJava(ArrayUtils.generateReverseSortedArray(size));
+        assertSortsLikeJava(ArrayUtils.generateOrganPipeArray(size));
+        assertSortsLikeJava(ArrayUtils.generateNearlySortedArray(size, 50));
+        assertSortsLikeJava(ArrayUtils.generateDuplicateArray(size, 3));
+        assertSortsLikeJava(generateRandomArray(size, 4));
+    }
+    
+    @Test
+    public void testSortWithExtremeValues() {
+        int[] array = new int[1000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        }
+        assertSortsLikeJava(array);
+    }
+    
+    @Test
+    public void testSortedInputIsLinear() {
+        int[] array = ArrayUtils.generateSortedArray(100000);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        PdqSort.sort(array, metrics);
+        
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() < 4L * array.length,
+                "Expected linear comparisons on sorted input, got " + metrics.getPerformanceMetrics().getComparisons());
+        assertEquals(0, metrics.getPerformanceMetrics().getFallbacks());
+    }
+    
+    @Test
+    public void testReversedInputIsLinear() {
+        int[] array = ArrayUtils.generateReverseSortedArray(100000);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        PdqSort.sort(array, metrics);
+        
+        assertArrayEquals(ArrayUtils.generateSortedArray(100000), array);
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() < 4L * array.length,
+                "Expected linear comparisons on reversed input, got " + metrics.getPerformanceMetrics().getComparisons());
+    }
+    
+    @Test
+    public void testSortWithMetrics() {
+        int[] array = generateRandomArray(10000, 1000);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        PdqSort.sort(array, metrics);
+        
+        assertTrue(ArrayUtils.isSorted(array));
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+        assertTrue(metrics.getPerformanceMetrics().getSwaps() > 0);
+        assertTrue(metrics.getDepthTracker().getMaxDepth() > 0);
+    }
+    
+    private void assertSortsLikeJava(int[] array) {
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        PdqSort.sort(array);
+        assertArrayEquals(expected, array);
+    }
+    
+    private int[] generateRandomArray(int size, int bound) {
+        int[] array = new int[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = random.nextInt(bound);
+        }
+        return array;
+    }
+}
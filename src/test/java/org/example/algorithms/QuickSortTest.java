@@ -1,12 +1,18 @@
 package org.example.algorithms;
 
 import org.example.metrics.MetricsCollector;
+import org.example.util.ArrayUtils;
+import org.example.util.PartitionUtils;
+import org.example.util.RandomUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class QuickSortTest {
     private Random random;
@@ -91,7 +97,7 @@ public class QuickSortTest {
     
     @Test
     public void testSortNullArray() {
-        assertDoesNotThrow(() -> QuickSort.sort(null));
+        assertDoesNotThrow(() -> QuickSort.sort((int[]) null));
     }
     
     @Test
@@ -174,6 +180,482 @@ public class QuickSortTest {
         assertArrayEquals(new int[]{Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE}, array);
     }
     
+    @Test
+    public void testParallelSortLargeRandomArray() {
+        int[] array = generateRandomArray(100000);
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        QuickSort.parallelSort(array);
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    public void testParallelSortSmallThreshold() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int size : new int[]{0, 1, 2, 17, 100, 1000, 4099}) {
+                int[] array = generateRandomArray(size);
+                int[] expected = array.clone();
+                Arrays.sort(expected);
+                
+                QuickSort.parallelSort(array, pool, 16, null);
+                assertArrayEquals(expected, array);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testParallelSortWithMetrics() {
+        int[] array = generateRandomArray(10000);
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        QuickSort.parallelSort(array, ForkJoinPool.commonPool(), 64, metrics);
+        
+        assertArrayEquals(expected, array);
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+        assertTrue(metrics.getPerformanceMetrics().getSwaps() > 0);
+        int maxDepth = metrics.getDepthTracker().getMaxDepth();
+        assertTrue(maxDepth > 0 && maxDepth <= 2 * (int) Math.ceil(Math.log(array.length) / Math.log(2)) + 2,
+                "Expected depth <= 2*log2(n)+2, got " + maxDepth);
+    }
+    
+    @Test
+    public void testParallelSortInvalidThreshold() {
+        assertThrows(IllegalArgumentException.class,
+                () -> QuickSort.parallelSort(new int[]{2, 1}, ForkJoinPool.commonPool(), 0, null));
+    }
+    
+    @Test
+    public void testSortThreeWay() {
+        int[] array = {3, 1, 4, 1, 5, 9, 2, 6, 5, 3};
+        QuickSort.sortThreeWay(array);
+        assertArrayEquals(new int[]{1, 1, 2, 3, 3, 4, 5, 5, 6, 9}, array);
+    }
+    
+    @Test
+    public void testSortThreeWayLowCardinality() {
+        int[] array = new int[10000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(4) - 2;
+        }
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        QuickSort.sortThreeWay(array);
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    public void testSortThreeWayAllSameElementsIsLinear() {
+        int[] array = new int[10000];
+        Arrays.fill(array, 5);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        QuickSort.sortThreeWay(array, metrics);
+        
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() <= 2L * array.length);
+        assertTrue(metrics.getDepthTracker().getMaxDepth() <= 1);
+    }
+    
+    @Test
+    public void testSortDualPivot() {
+        for (int size : new int[]{0, 1, 2, 27, 28, 100, 1000, 10000}) {
+            int[] array = generateRandomArray(size);
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            QuickSort.sortDualPivot(array);
+            assertArrayEquals(expected, array);
+        }
+    }
+    
+    @Test
+    public void testSortDualPivotPresortedInputs() {
+        int[] sorted = new int[5000];
+        int[] reversed = new int[5000];
+        int[] duplicates = new int[5000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+            reversed[i] = sorted.length - i;
+            duplicates[i] = i % 3;
+        }
+        
+        for (int[] array : new int[][]{sorted, reversed, duplicates}) {
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            QuickSort.sortDualPivot(array);
+            assertArrayEquals(expected, array);
+        }
+    }
+    
+    @Test
+    public void testSortDualPivotWithMetrics() {
+        int[] array = generateRandomArray(1000);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        QuickSort.sortDualPivot(array, metrics);
+        
+        assertTrue(isSorted(array));
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+        assertTrue(metrics.getPerformanceMetrics().getSwaps() > 0);
+        assertTrue(metrics.getDepthTracker().getMaxDepth() > 0);
+    }
+    
+    @Test
+    public void testSortDualPivotWithExtremeValues() {
+        int[] array = new int[100];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i % 2 == 0 ? Integer.MIN_VALUE + i : Integer.MAX_VALUE - i;
+        }
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        QuickSort.sortDualPivot(array);
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    public void testDepthGuardFallsBackOnDegenerateInput() {
+        // Lomuto partitioning peels one element per pass off an all-equal range.
+        int[] array = new int[20000];
+        Arrays.fill(array, 7);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        QuickSort.sort(array, metrics);
+        
+        assertTrue(isSorted(array));
+        assertTrue(metrics.getPerformanceMetrics().getFallbacks() > 0);
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() < 2_000_000L,
+                "Expected O(n log n) comparisons, got " + metrics.getPerformanceMetrics().getComparisons());
+    }
+    
+    @Test
+    public void testDualPivotDepthGuardFallsBack() {
+        int[] array = dualPivotKiller(20000);
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        QuickSort.sortDualPivot(array, metrics);
+        
+        assertArrayEquals(expected, array);
+        assertTrue(metrics.getPerformanceMetrics().getFallbacks() > 0);
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() < 5_000_000L,
+                "Expected O(n log n) comparisons, got " + metrics.getPerformanceMetrics().getComparisons());
+    }
+    
+    @Test
+    public void testDepthGuardHeapSortsCorrectly() {
+        int[] array = new int[5000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i % 2 == 0 ? 1 : random.nextInt(3);
+        }
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        QuickSort.sort(array);
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    public void testParallelSortDepthGuard() {
+        int[] array = new int[50000];
+        Arrays.fill(array, 3);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        QuickSort.parallelSort(array, ForkJoinPool.commonPool(), 64, metrics);
+        
+        assertTrue(isSorted(array));
+        assertTrue(metrics.getPerformanceMetrics().getFallbacks() > 0);
+    }
+    
+    @Test
+    public void testSortBlock() {
+        for (int size : new int[]{0, 1, 2, 27, 28, 200, 1000, 100000}) {
+            int[] array = new int[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = random.nextInt();
+            }
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            QuickSort.sortBlock(array);
+            assertArrayEquals(expected, array);
+        }
+    }
+    
+    @Test
+    public void testSortBlockDuplicatesAndPatterns() {
+        int[] duplicates = generateRandomArray(10000);
+        int[] sorted = new int[10000];
+        int[] reversed = new int[10000];
+        int[] same = new int[10000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+            reversed[i] = -i;
+            same[i] = 42;
+        }
+        
+        for (int[] array : new int[][]{duplicates, sorted, reversed, same}) {
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            QuickSort.sortBlock(array);
+            assertArrayEquals(expected, array);
+        }
+    }
+    
+    @Test
+    public void testSortBlockFewDistinctNeedsNoFallback() {
+        int[] equal = new int[200000];
+        int[] fewDistinct = new int[200000];
+        for (int i = 0; i < fewDistinct.length; i++) {
+            fewDistinct[i] = random.nextInt(4);
+        }
+        
+        for (int[] array : new int[][]{equal, fewDistinct}) {
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            MetricsCollector metrics = new MetricsCollector();
+            
+            QuickSort.sortBlock(array, metrics);
+            
+            assertArrayEquals(expected, array);
+            assertEquals(0, metrics.getPerformanceMetrics().getFallbacks());
+        }
+    }
+    
+    @Test
+    public void testSortBlockWithMetrics() {
+        int[] array = generateRandomArray(5000);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        QuickSort.sortBlock(array, metrics);
+        
+        assertTrue(isSorted(array));
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+        assertTrue(metrics.getPerformanceMetrics().getSwaps() > 0);
+    }
+    
+    @Test
+    public void testSortBlockWithLeafSorter() {
+        for (LeafSorter leafSorter : new LeafSorter[]{LeafSorter.INSERTION, LeafSorter.NETWORK, LeafSorter.VECTOR}) {
+            for (int size : new int[]{10, 100, 5000}) {
+                int[] array = generateRandomArray(size);
+                int[] expected = array.clone();
+                Arrays.sort(expected);
+                
+                QuickSort.sortBlock(array, leafSorter, null);
+                
+                assertArrayEquals(expected, array);
+            }
+        }
+    }
+    
+    @Test
+    public void testSortIntBuffer() {
+        int[] values = generateRandomArray(5000);
+        IntBuffer buffer = ByteBuffer.allocateDirect(values.length * Integer.BYTES).asIntBuffer();
+        buffer.put(values).flip();
+        
+        QuickSort.sort(buffer);
+        
+        int[] sorted = new int[values.length];
+        buffer.get(sorted);
+        Arrays.sort(values);
+        assertArrayEquals(values, sorted);
+    }
+    
+    @Test
+    public void testSortIntBufferRespectsPositionAndLimit() {
+        int[] values = {9, 8, 5, 3, 7, 1, 0, -1};
+        IntBuffer buffer = IntBuffer.wrap(values);
+        buffer.position(2).limit(6);
+        
+        QuickSort.sort(buffer);
+        
+        assertArrayEquals(new int[]{9, 8, 1, 3, 5, 7, 0, -1}, values);
+    }
+    
+    @Test
+    public void testSortIntBufferWithMetrics() {
+        int[] values = new int[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(3);
+        }
+        IntBuffer buffer = IntBuffer.wrap(values.clone());
+        MetricsCollector metrics = new MetricsCollector();
+        
+        QuickSort.sort(buffer, metrics);
+        
+        Arrays.sort(values);
+        assertArrayEquals(values, buffer.array());
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+        assertTrue(metrics.getDepthTracker().getMaxDepth() < 64);
+    }
+    
+    @Test
+    public void testSortLongArray() {
+        long[] array = {5_000_000_000L, -1L, Long.MAX_VALUE, 0L, Long.MIN_VALUE, -1L};
+        QuickSort.sort(array);
+        assertArrayEquals(new long[]{Long.MIN_VALUE, -1L, -1L, 0L, 5_000_000_000L, Long.MAX_VALUE}, array);
+    }
+    
+    @Test
+    public void testSortLargeLongArray() {
+        long[] array = random.longs(5000).toArray();
+        long[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        MetricsCollector metrics = new MetricsCollector();
+        QuickSort.sort(array, metrics);
+        
+        assertArrayEquals(expected, array);
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+    }
+    
+    @Test
+    public void testSortDoubleArrayWithNaNAndSignedZeros() {
+        double[] array = {Double.NaN, 0.0, -0.0, Double.POSITIVE_INFINITY, -1.5, Double.NEGATIVE_INFINITY, 0.0, -0.0};
+        double[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        QuickSort.sort(array);
+        
+        for (int i = 0; i < array.length; i++) {
+            assertEquals(0, Double.compare(expected[i], array[i]), "index " + i);
+        }
+    }
+    
+    @Test
+    public void testSortLargeDoubleArray() {
+        double[] array = new double[5000];
+        for (int i = 0; i < array.length; i++) {
+            int pick = random.nextInt(10);
+            array[i] = pick == 0 ? Double.NaN : pick == 1 ? -0.0 : pick == 2 ? 0.0 : random.nextGaussian();
+        }
+        double[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        QuickSort.sort(array);
+        
+        for (int i = 0; i < array.length; i++) {
+            assertEquals(0, Double.compare(expected[i], array[i]), "index " + i);
+        }
+    }
+    
+    @Test
+    public void testSortFloatArray() {
+        float[] array = {3.5f, Float.NaN, -0.0f, 0.0f, -7.25f, Float.MIN_VALUE};
+        float[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        QuickSort.sort(array);
+        
+        for (int i = 0; i < array.length; i++) {
+            assertEquals(0, Float.compare(expected[i], array[i]), "index " + i);
+        }
+    }
+    
+    @Test
+    public void testSortLongArrayAllEqual() {
+        long[] array = new long[10000];
+        Arrays.fill(array, 42L);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        QuickSort.sort(array, metrics);
+        
+        assertEquals(0, metrics.getPerformanceMetrics().getFallbacks());
+    }
+    
+    @Test
+    public void testCoSortIntPayload() {
+        int[] keys = generateRandomArray(5000);
+        int[] values = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = i;
+        }
+        int[] original = keys.clone();
+        MetricsCollector metrics = new MetricsCollector();
+        
+        QuickSort.coSort(keys, values, metrics);
+        
+        assertTrue(isSorted(keys));
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(original[values[i]], keys[i]);
+        }
+        assertEquals(0, metrics.getPerformanceMetrics().getAllocations());
+    }
+    
+    @Test
+    public void testCoSortLongPayload() {
+        int[] keys = new int[3000];
+        long[] values = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(4);
+            values[i] = keys[i] * 1_000_000_000_000L + i;
+        }
+        
+        QuickSort.coSort(keys, values);
+        
+        assertTrue(isSorted(keys));
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(keys[i], values[i] / 1_000_000_000_000L);
+        }
+    }
+    
+    @Test
+    public void testCoSortRejectsMismatchedLengths() {
+        assertThrows(IllegalArgumentException.class, () -> QuickSort.coSort(new int[]{1, 2}, new long[]{1L}));
+        assertThrows(IllegalArgumentException.class, () -> QuickSort.coSort(null, new int[0]));
+    }
+    
+    /**
+     * Input on which every dual-pivot round draws four of its five samples from the smallest
+     * keys left, so each partition peels only four elements off the range. Built by replaying
+     * the partitions on placeholders that compare greater than every key handed out so far.
+     */
+    private int[] dualPivotKiller(int size) {
+        int unassigned = Integer.MAX_VALUE - size;
+        int[] proxy = new int[size];
+        for (int i = 0; i < size; i++) {
+            proxy[i] = unassigned + i;
+        }
+        int[] origin = new int[size];
+        int[] result = new int[size];
+        int next = 0;
+        
+        int left = 0;
+        int right = size - 1;
+        while (right - left + 1 > 32) {
+            int seventh = (right - left + 1) / 7;
+            int e3 = left + (right - left) / 2;
+            int[] samples = {e3 - 2 * seventh, e3 - seventh, e3, e3 + seventh, e3 + 2 * seventh};
+            // The fifth sample stays a placeholder, so it already sorts last
+            for (int sample = 0; sample < 4; sample++) {
+                origin[next] = proxy[samples[sample]] - unassigned;
+                proxy[samples[sample]] = next++;
+            }
+            
+            long pivots = PartitionUtils.dualPivotPartition(proxy, left, right, samples[1], samples[3], null);
+            left = PartitionUtils.upperPivot(pivots) + 1;
+        }
+        
+        for (int i = 0; i < next; i++) {
+            result[origin[i]] = i;
+        }
+        for (int i = left; i <= right; i++) {
+            result[proxy[i] - unassigned] = next++;
+        }
+        return result;
+    }
+    
     private int[] generateRandomArray(int size) {
         int[] array = new int[size];
         for (int i = 0; i < size; i++) {
@@ -181,4 +663,61 @@ public class QuickSortTest {
         }
         return array;
     }
+    
+    private boolean isSorted(int[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] < array[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Test
+    public void testSortWithEachPivotStrategy() {
+        int[] original = ArrayUtils.generateRandomArray(5000, -1000, 1000);
+        int[] expected = original.clone();
+        Arrays.sort(expected);
+        
+        for (PivotStrategy strategy : new PivotStrategy[]{
+                PivotStrategy.RANDOM, PivotStrategy.MEDIAN_OF_THREE,
+                PivotStrategy.NINTHER, PivotStrategy.MEDIAN_OF_MEDIANS}) {
+            int[] array = original.clone();
+            QuickSort.sort(array, strategy, null);
+            assertArrayEquals(expected, array);
+        }
+    }
+    
+    @Test
+    public void testPivotStrategiesStayInRange() {
+        int[] array = ArrayUtils.generateRandomArray(300, 0, 100);
+        
+        for (PivotStrategy strategy : new PivotStrategy[]{
+                PivotStrategy.RANDOM, PivotStrategy.MEDIAN_OF_THREE,
+                PivotStrategy.NINTHER, PivotStrategy.MEDIAN_OF_MEDIANS}) {
+            int pivot = strategy.selectPivot(array, 50, 249, null);
+            assertTrue(pivot >= 50 && pivot <= 249, strategy + " returned " + pivot);
+        }
+    }
+    
+    @Test
+    public void testSortWithStrategyIsReproducibleAfterSeed() {
+        int[] original = ArrayUtils.generateRandomArray(2000, 0, 10000);
+        
+        RandomUtils.setSeed(11);
+        MetricsCollector first = new MetricsCollector();
+        QuickSort.sort(original.clone(), PivotStrategy.RANDOM, first);
+        
+        RandomUtils.setSeed(11);
+        MetricsCollector second = new MetricsCollector();
+        QuickSort.sort(original.clone(), PivotStrategy.RANDOM, second);
+        
+        assertEquals(first.getPerformanceMetrics().getComparisons(),
+                second.getPerformanceMetrics().getComparisons());
+    }
+    
+    @Test
+    public void testSortWithNullStrategy() {
+        assertThrows(IllegalArgumentException.class, () -> QuickSort.sort(new int[]{2, 1}, null, null));
+    }
 }
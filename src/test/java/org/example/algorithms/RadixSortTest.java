@@ -0,0 +1,197 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class RadixSortTest {
+    private Random random;
+    
+    @BeforeEach
+    public void setUp() {
+        random = new Random(42);
+    }
+    
+    @Test
+    public void testSortEmptyArray() {
+        int[] array = {};
+        RadixSort.sort(array);
+        assertArrayEquals(new int[]{}, array);
+    }
+    
+    @Test
+    public void testSortNullArray() {
+        assertDoesNotThrow(() -> RadixSort.sort(null));
+    }
+    
+    @Test
+    public void testSortSingleElement() {
+        int[] array = {-7};
+        RadixSort.sort(array);
+        assertArrayEquals(new int[]{-7}, array);
+    }
+    
+    @Test
+    public void testSortWithMixedSigns() {
+        int[] array = {3, -1, 4, -1, 5, -9, 2, -6, 5, -3};
+        RadixSort.sort(array);
+        assertArrayEquals(new int[]{-9, -6, -3, -1, -1, 2, 3, 4, 5, 5}, array);
+    }
+    
+    @Test
+    public void testSortWithExtremeValues() {
+        int[] array = {Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1, 1, 256, -256};
+        RadixSort.sort(array);
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, -256, -1, 0, 1, 256, Integer.MAX_VALUE}, array);
+    }
+    
+    @Test
+    public void testSortLargeRandomArray() {
+        int[] array = new int[100000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt();
+        }
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        RadixSort.sort(array);
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    public void testSkipsUniformPasses() {
+        // Keys below 256 differ only in the lowest digit, so one scatter pass remains
+        // and its result must be copied back from the scratch buffer.
+        int[] array = new int[1000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(256);
+        }
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        RadixSort.sort(array, metrics);
+        
+        assertArrayEquals(expected, array);
+        // counting pass + one scatter pass + copy back
+        assertEquals(1000 + 2 * 1000 + 2 * 1000, metrics.getPerformanceMetrics().getArrayAccesses());
+    }
+    
+    @Test
+    public void testSortAllSameElements() {
+        int[] array = {5, 5, 5, 5, 5};
+        MetricsCollector metrics = new MetricsCollector();
+        
+        RadixSort.sort(array, metrics);
+        
+        assertArrayEquals(new int[]{5, 5, 5, 5, 5}, array);
+        assertEquals(5, metrics.getPerformanceMetrics().getArrayAccesses());
+    }
+    
+    @Test
+    public void testSortWithMetrics() {
+        int[] array = {64, 34, 25, 12, 22, 11, 90};
+        MetricsCollector metrics = new MetricsCollector();
+        
+        RadixSort.sort(array, metrics);
+        
+        assertArrayEquals(new int[]{11, 12, 22, 25, 34, 64, 90}, array);
+        assertTrue(metrics.getPerformanceMetrics().getArrayAccesses() > 0);
+        assertTrue(metrics.getPerformanceMetrics().getAllocations() >= array.length);
+        assertEquals(0, metrics.getPerformanceMetrics().getComparisons());
+    }
+    
+    @Test
+    public void testArgsortMatchesMergeSortArgsort() {
+        int[] keys = new int[20000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(2000) - 1000;
+        }
+        int[] original = keys.clone();
+        
+        assertArrayEquals(MergeSort.argsort(keys), RadixSort.argsort(keys));
+        assertArrayEquals(original, keys);
+    }
+    
+    @Test
+    public void testArgsortWithExtremes() {
+        int[] keys = {Integer.MAX_VALUE, -1, Integer.MIN_VALUE, 0, -1, Integer.MAX_VALUE};
+        assertArrayEquals(new int[]{2, 1, 4, 3, 0, 5}, RadixSort.argsort(keys));
+    }
+    
+    @Test
+    public void testArgsortAllocations() {
+        MetricsCollector metrics = new MetricsCollector();
+        RadixSort.argsort(new int[]{7, 7, 7, 7}, metrics);
+        // Uniform keys: only the histograms and the identity permutation
+        assertEquals(4 * 256 + 4, metrics.getPerformanceMetrics().getAllocations());
+        
+        metrics = new MetricsCollector();
+        RadixSort.argsort(new int[]{3, 1, 2, 0}, metrics);
+        // One active pass: histograms, permutation, one key buffer and one index buffer
+        assertEquals(4 * 256 + 3 * 4, metrics.getPerformanceMetrics().getAllocations());
+        
+        metrics = new MetricsCollector();
+        RadixSort.argsort(new int[]{1 << 20, 1, 1 << 10, 0}, metrics);
+        assertEquals(4 * 256 + 4 * 4, metrics.getPerformanceMetrics().getAllocations());
+    }
+    
+    @Test
+    public void testArgsortEmptyAndNull() {
+        assertArrayEquals(new int[]{}, RadixSort.argsort(new int[]{}));
+        assertThrows(IllegalArgumentException.class, () -> RadixSort.argsort(null));
+    }
+    
+    @Test
+    public void testParallelSortMatchesSequential() {
+        int[][] inputs = {
+            random.ints(300_000).toArray(),
+            random.ints(300_000, -1000, 1000).toArray(),
+            random.ints(300_000, 0, 1 << 20).sorted().toArray(),
+            new int[300_000]
+        };
+        
+        for (int[] array : inputs) {
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            RadixSort.parallelSort(array);
+            
+            assertArrayEquals(expected, array);
+        }
+    }
+    
+    @Test
+    public void testParallelSortOnDedicatedPool() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            int[] array = random.ints(200_000).toArray();
+            array[0] = Integer.MIN_VALUE;
+            array[1] = Integer.MAX_VALUE;
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            MetricsCollector metrics = new MetricsCollector();
+            
+            RadixSort.parallelSort(array, pool, metrics);
+            
+            assertArrayEquals(expected, array);
+            assertEquals(200_000L * Integer.BYTES, metrics.getPerformanceMetrics().getPeakAuxiliaryBytes());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testParallelSortSmallArrayAndNullPool() {
+        int[] array = {5, -3, 9, 0};
+        RadixSort.parallelSort(array);
+        assertArrayEquals(new int[]{-3, 0, 5, 9}, array);
+        
+        assertThrows(IllegalArgumentException.class, () -> RadixSort.parallelSort(array, null, null));
+    }
+}
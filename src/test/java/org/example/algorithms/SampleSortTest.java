@@ -0,0 +1,138 @@
+package org.example.algorithms;
+
+import org.example.metrics.MetricsCollector;
+import org.example.metrics.PerformanceMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class SampleSortTest {
+    private Random random;
+    
+    @BeforeEach
+    public void setUp() {
+        random = new Random(42);
+    }
+    
+    @Test
+    public void testSortNullAndTrivialArrays() {
+        assertDoesNotThrow(() -> SampleSort.sort((int[]) null));
+        
+        int[] single = {7};
+        SampleSort.sort(single);
+        assertArrayEquals(new int[]{7}, single);
+    }
+    
+    @Test
+    public void testSortSmallArrayBelowThreshold() {
+        int[] array = random.ints(1000).toArray();
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        SampleSort.sort(array);
+        
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    public void testSortLargeArray() {
+        int[] array = random.ints(500_000).toArray();
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        
+        SampleSort.sort(array);
+        
+        assertArrayEquals(expected, array);
+    }
+    
+    @Test
+    public void testSortLowCardinalityAndPatterns() {
+        int size = 200_000;
+        int[][] inputs = {
+            random.ints(size, 0, 4).toArray(),
+            new int[size],
+            random.ints(size, Integer.MIN_VALUE, Integer.MAX_VALUE).sorted().toArray(),
+            random.ints(size, -1000, 1000).map(x -> -x).sorted().map(x -> -x).toArray()
+        };
+        
+        for (int[] array : inputs) {
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            SampleSort.sort(array);
+            
+            assertArrayEquals(expected, array);
+        }
+    }
+    
+    @Test
+    public void testSortOnDedicatedPool() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int[] array = random.ints(300_000).toArray();
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            SampleSort.sort(array, pool, null);
+            
+            assertArrayEquals(expected, array);
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testSortEqualKeysSkipSorting() {
+        int[] array = new int[300_000];
+        Arrays.fill(array, 7);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        SampleSort.sort(array, metrics);
+        
+        assertTrue(Arrays.stream(array).allMatch(x -> x == 7));
+        // One tree level plus the equality test per element; sorting the bucket would double it
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() < 3L * array.length);
+    }
+    
+    @Test
+    public void testSortFrequentKeyOnWidePool() {
+        ForkJoinPool pool = new ForkJoinPool(16);
+        try {
+            int[] array = random.ints(300_000).toArray();
+            for (int i = 0; i < array.length; i += 3) {
+                array[i] = 0;
+            }
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            
+            SampleSort.sort(array, pool, null);
+            
+            assertArrayEquals(expected, array);
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void testSortReportsPhaseTimings() {
+        int[] array = random.ints(300_000).toArray();
+        MetricsCollector metrics = new MetricsCollector();
+        
+        SampleSort.sort(array, metrics);
+        
+        PerformanceMetrics performance = metrics.getPerformanceMetrics();
+        assertEquals(List.of("sample", "classify", "scatter", "sort"),
+                List.copyOf(performance.getPhaseTimes().keySet()));
+        assertTrue(performance.getComparisons() > 0);
+        assertEquals(300_000L * Integer.BYTES + 300_000, performance.getPeakAuxiliaryBytes());
+    }
+    
+    @Test
+    public void testSortRejectsNullPool() {
+        assertThrows(IllegalArgumentException.class, () -> SampleSort.sort(new int[]{2, 1}, null, null));
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.benchmark;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveSortBenchmarkTest {
+    
+    @Test
+    public void testAdaptiveSortBenchmarkCreation() {
+        AdaptiveSortBenchmark benchmark = new AdaptiveSortBenchmark();
+        assertNotNull(benchmark);
+    }
+    
+    @Test
+    public void testAdaptiveSortBenchmarkEveryDistribution() {
+        for (String distribution : new String[]{"random", "dense", "fewDistinct", "nearlySorted", "reversed"}) {
+            AdaptiveSortBenchmark benchmark = createBenchmark(distribution);
+            
+            assertDoesNotThrow(() -> benchmark.adaptiveSort());
+        }
+    }
+    
+    @Test
+    public void testFixedEngineBenchmarks() {
+        AdaptiveSortBenchmark benchmark = createBenchmark("random");
+        
+        assertDoesNotThrow(() -> benchmark.quickSortBlock());
+        assertDoesNotThrow(() -> benchmark.quickSortThreeWay());
+        assertDoesNotThrow(() -> benchmark.radixSort());
+        assertDoesNotThrow(() -> benchmark.parallelRadixSort());
+        assertDoesNotThrow(() -> benchmark.mergeSortAdaptive());
+        assertDoesNotThrow(() -> benchmark.javaSort());
+    }
+    
+    private AdaptiveSortBenchmark createBenchmark(String distribution) {
+        AdaptiveSortBenchmark benchmark = new AdaptiveSortBenchmark();
+        benchmark.size = 2000;
+        benchmark.distribution = distribution;
+        benchmark.setup();
+        return benchmark;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.benchmark;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+public class KWayMergeBenchmarkTest {
+    
+    @Test
+    public void testKWayMergeBenchmarkCreation() {
+        KWayMergeBenchmark benchmark = new KWayMergeBenchmark();
+        assertNotNull(benchmark);
+    }
+    
+    @Test
+    public void testKWayMergeBenchmarkMethods() {
+        for (int k : new int[]{2, 7, 1024}) {
+            KWayMergeBenchmark benchmark = new KWayMergeBenchmark();
+            benchmark.k = k;
+            benchmark.size = 5000;
+            benchmark.setup();
+            
+            assertArrayEquals(benchmark.concatenateAndSort(), benchmark.loserTreeArrays());
+        }
+    }
+}
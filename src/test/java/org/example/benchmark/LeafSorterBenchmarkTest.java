@@ -0,0 +1,53 @@
+package org.example.benchmark;
+
+import org.example.algorithms.LeafSorter;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+public class LeafSorterBenchmarkTest {
+    
+    @Test
+    public void testLeafSorterBenchmarkCreation() {
+        LeafSorterBenchmark benchmark = new LeafSorterBenchmark();
+        assertNotNull(benchmark);
+    }
+    
+    @Test
+    public void testLeafSorterBenchmarkMethods() {
+        for (String leafSorter : new String[]{"insertion", "network", "vector"}) {
+            LeafSorterBenchmark benchmark = new LeafSorterBenchmark();
+            benchmark.leafSorter = leafSorter;
+            benchmark.leafLength = 16;
+            benchmark.size = 1000;
+            benchmark.setup();
+            
+            int[] leaves = benchmark.leaves();
+            for (int left = 0; left < 1 << 16; left += 16) {
+                for (int i = left + 1; i < left + 16; i++) {
+                    assertTrue(leaves[i - 1] <= leaves[i]);
+                }
+            }
+            
+            int[] merged = benchmark.mergeSort();
+            int[] expected = merged.clone();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, merged);
+            assertArrayEquals(expected, benchmark.quickSortBlock());
+        }
+    }
+    
+    @Test
+    public void testLeafLengthsStayWithinSorterLimit() {
+        assertArrayEquals(new String[]{"8", "16"}, LeafSorterBenchmark.leafLengths(LeafSorter.INSERTION));
+        for (String length : LeafSorterBenchmark.leafLengths(LeafSorter.VECTOR)) {
+            assertTrue(Integer.parseInt(length) <= LeafSorter.VECTOR.maxLength());
+        }
+    }
+    
+    @Test
+    public void testLeafSorterBenchmarkRejectsUnknownSorter() {
+        assertThrows(IllegalArgumentException.class, () -> LeafSorterBenchmark.leafSorter("bogus"));
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.benchmark;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LowCardinalityBenchmarkTest {
+    
+    @Test
+    public void testLowCardinalityBenchmarkCreation() {
+        LowCardinalityBenchmark benchmark = new LowCardinalityBenchmark();
+        assertNotNull(benchmark);
+    }
+    
+    @Test
+    public void testQuickSortBenchmark() {
+        LowCardinalityBenchmark benchmark = createBenchmark(10);
+        
+        assertDoesNotThrow(() -> benchmark.quickSort());
+    }
+    
+    @Test
+    public void testQuickSortThreeWayBenchmark() {
+        LowCardinalityBenchmark benchmark = createBenchmark(1);
+        
+        assertDoesNotThrow(() -> benchmark.quickSortThreeWay());
+    }
+    
+    @Test
+    public void testJavaSortBenchmark() {
+        LowCardinalityBenchmark benchmark = createBenchmark(1000);
+        
+        assertDoesNotThrow(() -> benchmark.javaSort());
+    }
+    
+    private LowCardinalityBenchmark createBenchmark(int cardinality) {
+        LowCardinalityBenchmark benchmark = new LowCardinalityBenchmark();
+        benchmark.size = 100;
+        benchmark.cardinality = cardinality;
+        benchmark.setup();
+        return benchmark;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.benchmark;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSortingBenchmarkTest {
+    
+    @Test
+    public void testParallelSortingBenchmarkCreation() {
+        ParallelSortingBenchmark benchmark = new ParallelSortingBenchmark();
+        assertNotNull(benchmark);
+    }
+    
+    @Test
+    public void testParallelMergeSortBenchmark() {
+        ParallelSortingBenchmark benchmark = createBenchmark();
+        
+        assertDoesNotThrow(() -> benchmark.parallelMergeSort());
+        benchmark.tearDownPool();
+    }
+    
+    @Test
+    public void testParallelQuickSortBenchmark() {
+        ParallelSortingBenchmark benchmark = createBenchmark();
+        
+        assertDoesNotThrow(() -> benchmark.parallelQuickSort());
+        benchmark.tearDownPool();
+    }
+    
+    @Test
+    public void testParallelSampleSortBenchmark() {
+        ParallelSortingBenchmark benchmark = createBenchmark();
+        
+        assertDoesNotThrow(() -> benchmark.parallelSampleSort());
+        benchmark.tearDownPool();
+    }
+    
+    private ParallelSortingBenchmark createBenchmark() {
+        ParallelSortingBenchmark benchmark = new ParallelSortingBenchmark();
+        benchmark.threads = 2;
+        benchmark.size = 1000;
+        benchmark.granularity = 64;
+        benchmark.setupPool();
+        benchmark.setup();
+        return benchmark;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.benchmark;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartialSortBenchmarkTest {
+    
+    @Test
+    public void testPartialSortBenchmarkCreation() {
+        PartialSortBenchmark benchmark = new PartialSortBenchmark();
+        assertNotNull(benchmark);
+    }
+    
+    @Test
+    public void testPartialSortBenchmarkMethods() {
+        PartialSortBenchmark benchmark = new PartialSortBenchmark();
+        benchmark.size = 10000;
+        benchmark.k = 100;
+        benchmark.setup();
+        
+        int[] expected = benchmark.javaSortFull();
+        assertArrayEquals(expected, benchmark.partialSort());
+        assertArrayEquals(expected, benchmark.boundedHeap());
+        assertArrayEquals(expected, benchmark.quickSortFull());
+    }
+}
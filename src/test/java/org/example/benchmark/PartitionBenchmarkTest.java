@@ -0,0 +1,26 @@
+package org.example.benchmark;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionBenchmarkTest {
+    
+    @Test
+    public void testPartitionBenchmarkCreation() {
+        PartitionBenchmark benchmark = new PartitionBenchmark();
+        assertNotNull(benchmark);
+    }
+    
+    @Test
+    public void testPartitionBenchmarks() {
+        PartitionBenchmark benchmark = new PartitionBenchmark();
+        benchmark.size = 1000;
+        benchmark.setup();
+        
+        int lomuto = benchmark.lomutoPartition();
+        int block = benchmark.blockPartition();
+        
+        assertEquals(lomuto, block);
+        assertDoesNotThrow(() -> benchmark.hoarePartition());
+    }
+}
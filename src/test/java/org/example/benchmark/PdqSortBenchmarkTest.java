@@ -0,0 +1,28 @@
+package org.example.benchmark;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PdqSortBenchmarkTest {
+    
+    @Test
+    public void testPdqSortBenchmarkCreation() {
+        PdqSortBenchmark benchmark = new PdqSortBenchmark();
+        assertNotNull(benchmark);
+    }
+    
+    @Test
+    public void testPdqSortBenchmarkAllDistributions() {
+        for (String distribution : new String[]{"sorted", "reversed", "organPipe", "random"}) {
+            PdqSortBenchmark benchmark = new PdqSortBenchmark();
+            benchmark.size = 1000;
+            benchmark.distribution = distribution;
+            benchmark.setup();
+            
+            assertDoesNotThrow(() -> benchmark.pdqSort());
+            assertDoesNotThrow(() -> benchmark.quickSort());
+            assertDoesNotThrow(() -> benchmark.quickSortDualPivot());
+            assertDoesNotThrow(() -> benchmark.javaSort());
+        }
+    }
+}
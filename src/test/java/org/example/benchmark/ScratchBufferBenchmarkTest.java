@@ -0,0 +1,24 @@
+package org.example.benchmark;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScratchBufferBenchmarkTest {
+    
+    @Test
+    public void testScratchBufferBenchmarkCreation() {
+        ScratchBufferBenchmark benchmark = new ScratchBufferBenchmark();
+        assertNotNull(benchmark);
+    }
+    
+    @Test
+    public void testScratchBufferBenchmarkMethods() {
+        ScratchBufferBenchmark benchmark = new ScratchBufferBenchmark();
+        benchmark.size = 1000;
+        benchmark.setup();
+        
+        int[] expected = benchmark.allocating().clone();
+        assertArrayEquals(expected, benchmark.callerBuffer());
+        assertArrayEquals(expected, benchmark.pooledArena());
+    }
+}
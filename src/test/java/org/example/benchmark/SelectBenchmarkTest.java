@@ -60,4 +60,19 @@ public class SelectBenchmarkTest {
         
         assertEquals(result1, result2);
     }
+    
+    @Test
+    public void testAdversarialDistributions() {
+        for (String distribution : new String[]{"sorted", "reversed", "organPipe", "allEqual"}) {
+            SelectBenchmark benchmark = new SelectBenchmark();
+            benchmark.size = 500;
+            benchmark.distribution = distribution;
+            benchmark.setup();
+            
+            int expected = benchmark.javaSortSelect();
+            assertEquals(expected, benchmark.deterministicSelect(), distribution);
+            assertEquals(expected, benchmark.introSelect(), distribution);
+            assertEquals(expected, benchmark.quickSelect(), distribution);
+        }
+    }
 }
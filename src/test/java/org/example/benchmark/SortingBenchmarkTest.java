@@ -30,6 +30,15 @@ public class SortingBenchmarkTest {
         assertDoesNotThrow(() -> benchmark.mergeSort());
     }
     
+    @Test
+    public void testMergeSortBottomUpBenchmark() {
+        SortingBenchmark benchmark = new SortingBenchmark();
+        benchmark.size = 100;
+        benchmark.setup();
+        
+        assertDoesNotThrow(() -> benchmark.mergeSortBottomUp());
+    }
+    
     @Test
     public void testQuickSortBenchmark() {
         SortingBenchmark benchmark = new SortingBenchmark();
@@ -39,6 +48,71 @@ public class SortingBenchmarkTest {
         assertDoesNotThrow(() -> benchmark.quickSort());
     }
     
+    @Test
+    public void testQuickSortDualPivotBenchmark() {
+        SortingBenchmark benchmark = new SortingBenchmark();
+        benchmark.size = 100;
+        benchmark.setup();
+        
+        assertDoesNotThrow(() -> benchmark.quickSortDualPivot());
+    }
+    
+    @Test
+    public void testQuickSortBlockBenchmark() {
+        SortingBenchmark benchmark = new SortingBenchmark();
+        benchmark.size = 100;
+        benchmark.setup();
+        
+        assertDoesNotThrow(() -> benchmark.quickSortBlock());
+    }
+    
+    @Test
+    public void testRadixSortBenchmark() {
+        SortingBenchmark benchmark = new SortingBenchmark();
+        benchmark.size = 100;
+        benchmark.setup();
+        
+        assertDoesNotThrow(() -> benchmark.radixSort());
+    }
+    
+    @Test
+    public void testNearlySortedDistribution() {
+        SortingBenchmark benchmark = new SortingBenchmark();
+        benchmark.size = 1000;
+        benchmark.distribution = "nearlySorted";
+        benchmark.setup();
+        
+        assertDoesNotThrow(() -> benchmark.quickSortDualPivot());
+    }
+    
+    @Test
+    public void testParallelMergeSortBenchmark() {
+        SortingBenchmark benchmark = new SortingBenchmark();
+        benchmark.size = 100;
+        benchmark.setup();
+        
+        assertDoesNotThrow(() -> benchmark.parallelMergeSort());
+    }
+    
+    @Test
+    public void testParallelQuickSortBenchmark() {
+        SortingBenchmark benchmark = new SortingBenchmark();
+        benchmark.size = 100;
+        benchmark.setup();
+        
+        assertDoesNotThrow(() -> benchmark.parallelQuickSort());
+    }
+    
+    @Test
+    public void testParallelRadixSortBenchmark() {
+        SortingBenchmark benchmark = new SortingBenchmark();
+        benchmark.size = 100;
+        benchmark.setup();
+        
+        assertDoesNotThrow(() -> benchmark.parallelRadixSort());
+        assertDoesNotThrow(() -> benchmark.javaParallelSort());
+    }
+    
     @Test
     public void testJavaSortBenchmark() {
         SortingBenchmark benchmark = new SortingBenchmark();
@@ -47,4 +121,21 @@ public class SortingBenchmarkTest {
         
         assertDoesNotThrow(() -> benchmark.javaSort());
     }
+    
+    @Test
+    public void testTypedBenchmarks() {
+        SortingBenchmark benchmark = new SortingBenchmark();
+        benchmark.size = 1000;
+        benchmark.setup();
+        
+        for (String elementType : new String[]{"int", "long", "double", "float"}) {
+            SortingBenchmark.TypedInput input = new SortingBenchmark.TypedInput();
+            input.elementType = elementType;
+            input.setup(benchmark);
+            
+            assertDoesNotThrow(() -> benchmark.mergeSortTyped(input));
+            assertDoesNotThrow(() -> benchmark.quickSortTyped(input));
+            assertDoesNotThrow(() -> benchmark.javaSortTyped(input));
+        }
+    }
 }
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
+
 public class PerformanceMetricsTest {
     private PerformanceMetrics metrics;
     
@@ -95,4 +97,56 @@ public class PerformanceMetricsTest {
         assertTrue(summary.contains("Allocations: 2"));
         assertTrue(summary.contains("Swaps: 3"));
     }
+    
+    @Test
+    public void testFallbacks() {
+        metrics.incrementFallbacks();
+        metrics.incrementFallbacks();
+        
+        assertEquals(2, metrics.getFallbacks());
+        assertTrue(metrics.getSummary().contains("Fallbacks: 2"));
+        
+        metrics.reset();
+        assertEquals(0, metrics.getFallbacks());
+    }
+    
+    @Test
+    public void testPeakAuxiliaryBytes() {
+        metrics.recordAuxiliaryBytes(400);
+        metrics.recordAuxiliaryBytes(100);
+        
+        assertEquals(400, metrics.getPeakAuxiliaryBytes());
+        assertTrue(metrics.getSummary().contains("PeakAuxBytes: 400"));
+        
+        metrics.reset();
+        assertEquals(0, metrics.getPeakAuxiliaryBytes());
+    }
+    
+    @Test
+    public void testPhaseTimes() {
+        metrics.recordPhase("scatter", 2_000_000);
+        metrics.recordPhase("classify", 1_000_000);
+        metrics.recordPhase("scatter", 500_000);
+        
+        assertEquals(List.of("scatter", "classify"), List.copyOf(metrics.getPhaseTimes().keySet()));
+        assertEquals(2_500_000L, metrics.getPhaseTimes().get("scatter"));
+        assertTrue(metrics.getSummary().contains("Phases: scatter=2.500ms classify=1.000ms"));
+        
+        metrics.reset();
+        assertTrue(metrics.getPhaseTimes().isEmpty());
+        assertFalse(metrics.getSummary().contains("Phases"));
+    }
+    
+    @Test
+    public void testDecisions() {
+        metrics.recordDecision("RADIX");
+        metrics.recordDecision("THREE_WAY");
+        
+        assertEquals(List.of("RADIX", "THREE_WAY"), metrics.getDecisions());
+        assertTrue(metrics.getSummary().contains("Decisions: RADIX THREE_WAY"));
+        
+        metrics.reset();
+        assertTrue(metrics.getDecisions().isEmpty());
+        assertFalse(metrics.getSummary().contains("Decisions"));
+    }
 }
@@ -137,4 +137,29 @@ public class ArrayUtilsTest {
         
         assertArrayEquals(new int[]{42, 42, 42, 42, 42}, array);
     }
+    
+    @Test
+    public void testGenerateNearlySortedArray() {
+        int[] array = ArrayUtils.generateNearlySortedArray(100, 3);
+        
+        assertEquals(100, array.length);
+        int displaced = 0;
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] != i) {
+                displaced++;
+            }
+        }
+        assertTrue(displaced <= 6);
+        
+        int[] sorted = array.clone();
+        java.util.Arrays.sort(sorted);
+        assertArrayEquals(ArrayUtils.generateSortedArray(100), sorted);
+    }
+    
+    @Test
+    public void testGenerateOrganPipeArray() {
+        int[] array = ArrayUtils.generateOrganPipeArray(7);
+        
+        assertArrayEquals(new int[]{0, 1, 2, 3, 2, 1, 0}, array);
+    }
 }
@@ -0,0 +1,58 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloatingPointUtilsTest {
+    
+    @Test
+    public void testMoveNaNsToEnd() {
+        double[] array = {Double.NaN, 1.0, Double.NaN, -2.0, 3.0};
+        
+        int end = FloatingPointUtils.moveNaNsToEnd(array);
+        
+        assertEquals(3, end);
+        for (int i = 0; i < end; i++) {
+            assertFalse(Double.isNaN(array[i]));
+        }
+        assertTrue(Double.isNaN(array[3]));
+        assertTrue(Double.isNaN(array[4]));
+    }
+    
+    @Test
+    public void testMoveNaNsToEndFloat() {
+        float[] array = {Float.NaN, Float.NaN};
+        assertEquals(0, FloatingPointUtils.moveNaNsToEnd(array));
+    }
+    
+    @Test
+    public void testOrderSignedZeros() {
+        double[] array = {-1.0, 0.0, -0.0, 0.0, -0.0, 2.0};
+        
+        FloatingPointUtils.orderSignedZeros(array, array.length);
+        
+        assertArrayEquals(new double[]{-1.0, -0.0, -0.0, 0.0, 0.0, 2.0}, array);
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(array[2]));
+        assertEquals(Double.doubleToRawLongBits(0.0), Double.doubleToRawLongBits(array[3]));
+    }
+    
+    @Test
+    public void testOrderSignedZerosFloat() {
+        float[] array = {0.0f, -0.0f};
+        
+        FloatingPointUtils.orderSignedZeros(array, array.length);
+        
+        assertEquals(Float.floatToRawIntBits(-0.0f), Float.floatToRawIntBits(array[0]));
+        assertEquals(Float.floatToRawIntBits(0.0f), Float.floatToRawIntBits(array[1]));
+    }
+    
+    @Test
+    public void testSignedZeroAt() {
+        double[] array = {0.0, -3.0, -0.0, 5.0, -0.0};
+        
+        assertEquals(Double.doubleToRawLongBits(-0.0),
+                     Double.doubleToRawLongBits(FloatingPointUtils.signedZeroAt(array, array.length, 2)));
+        assertEquals(Double.doubleToRawLongBits(0.0),
+                     Double.doubleToRawLongBits(FloatingPointUtils.signedZeroAt(array, array.length, 3)));
+    }
+}
@@ -4,6 +4,9 @@ import org.example.metrics.MetricsCollector;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
 public class PartitionUtilsTest {
     
     @Test
@@ -115,4 +118,270 @@ public class PartitionUtilsTest {
         
         assertTrue(pivotIndex >= 0 && pivotIndex < array.length);
     }
+    
+    @Test
+    public void testThreeWayPartition() {
+        int[] array = {3, 5, 1, 3, 9, 3, 2, 6, 3};
+        long bounds = PartitionUtils.threeWayPartition(array, 0, 8, 0, null);
+        int lt = PartitionUtils.equalStart(bounds);
+        int gt = PartitionUtils.equalEnd(bounds);
+        
+        assertEquals(2, lt);
+        assertEquals(5, gt);
+        for (int i = 0; i < lt; i++) {
+            assertTrue(array[i] < 3);
+        }
+        for (int i = lt; i <= gt; i++) {
+            assertEquals(3, array[i]);
+        }
+        for (int i = gt + 1; i < array.length; i++) {
+            assertTrue(array[i] > 3);
+        }
+    }
+    
+    @Test
+    public void testThreeWayPartitionAllSameElements() {
+        int[] array = {5, 5, 5, 5, 5};
+        MetricsCollector metrics = new MetricsCollector();
+        long bounds = PartitionUtils.threeWayPartition(array, 0, 4, 2, metrics);
+        
+        assertEquals(0, PartitionUtils.equalStart(bounds));
+        assertEquals(4, PartitionUtils.equalEnd(bounds));
+        assertEquals(0, metrics.getPerformanceMetrics().getSwaps());
+    }
+    
+    @Test
+    public void testThreeWayPartitionSubrange() {
+        int[] array = {9, 4, 1, 4, 7, 0};
+        long bounds = PartitionUtils.threeWayPartition(array, 1, 4, 1, null);
+        
+        assertEquals(2, PartitionUtils.equalStart(bounds));
+        assertEquals(3, PartitionUtils.equalEnd(bounds));
+        assertArrayEquals(new int[]{9, 1, 4, 4, 7, 0}, array);
+    }
+    
+    @Test
+    public void testDualPivotPartition() {
+        int[] array = {8, 3, 1, 9, 4, 7, 2, 6, 5, 0};
+        MetricsCollector metrics = new MetricsCollector();
+        long pivots = PartitionUtils.dualPivotPartition(array, 0, 9, 1, 5, metrics);
+        int lp = PartitionUtils.lowerPivot(pivots);
+        int rp = PartitionUtils.upperPivot(pivots);
+        
+        assertEquals(3, array[lp]);
+        assertEquals(7, array[rp]);
+        for (int i = 0; i < lp; i++) {
+            assertTrue(array[i] < 3);
+        }
+        for (int i = lp + 1; i < rp; i++) {
+            assertTrue(array[i] >= 3 && array[i] <= 7);
+        }
+        for (int i = rp + 1; i < array.length; i++) {
+            assertTrue(array[i] > 7);
+        }
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+        assertTrue(metrics.getPerformanceMetrics().getSwaps() > 0);
+    }
+    
+    @Test
+    public void testDualPivotPartitionPivotsOutOfOrder() {
+        int[] array = {5, 1, 9, 2, 8};
+        long pivots = PartitionUtils.dualPivotPartition(array, 0, 4, 4, 0, null);
+        
+        assertEquals(5, array[PartitionUtils.lowerPivot(pivots)]);
+        assertEquals(8, array[PartitionUtils.upperPivot(pivots)]);
+    }
+    
+    @Test
+    public void testDualPivotPartitionAllSameElements() {
+        int[] array = {4, 4, 4, 4, 4, 4};
+        long pivots = PartitionUtils.dualPivotPartition(array, 0, 5, 1, 4, null);
+        
+        assertTrue(PartitionUtils.lowerPivot(pivots) < PartitionUtils.upperPivot(pivots));
+        assertArrayEquals(new int[]{4, 4, 4, 4, 4, 4}, array);
+    }
+    
+    @Test
+    public void testBlockPartition() {
+        java.util.Random random = new java.util.Random(42);
+        for (int size : new int[]{1, 2, 10, 128, 129, 130, 1000, 10000}) {
+            for (int bound : new int[]{3, 1000, Integer.MAX_VALUE}) {
+                int[] array = new int[size];
+                for (int i = 0; i < size; i++) {
+                    array[i] = random.nextInt(bound);
+                }
+                int[] sorted = array.clone();
+                java.util.Arrays.sort(sorted);
+                
+                int pivotIndex = PartitionUtils.blockPartition(array, 0, size - 1, random.nextInt(size), null);
+                int pivot = array[pivotIndex];
+                
+                for (int i = 0; i < pivotIndex; i++) {
+                    assertTrue(array[i] < pivot);
+                }
+                for (int i = pivotIndex + 1; i < size; i++) {
+                    assertTrue(array[i] >= pivot);
+                }
+                int[] partitioned = array.clone();
+                java.util.Arrays.sort(partitioned);
+                assertArrayEquals(sorted, partitioned);
+            }
+        }
+    }
+    
+    @Test
+    public void testBlockPartitionWithMetrics() {
+        int[] array = new int[1000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (i * 7919) % 1000;
+        }
+        MetricsCollector metrics = new MetricsCollector();
+        int pivotIndex = PartitionUtils.blockPartition(array, 0, 999, 500, metrics);
+        
+        assertEquals(array[pivotIndex], pivotIndex);
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() >= 999);
+        assertTrue(metrics.getPerformanceMetrics().getSwaps() > 0);
+    }
+    
+    @Test
+    public void testBlockPartitionSubrange() {
+        int[] array = {100, 5, 3, 9, 1, 7, -100};
+        int pivotIndex = PartitionUtils.blockPartition(array, 1, 5, 1, null);
+        
+        assertEquals(3, pivotIndex);
+        assertEquals(100, array[0]);
+        assertEquals(-100, array[6]);
+        assertEquals(5, array[3]);
+    }
+    
+    @Test
+    public void testBlockPartitionWithScratch() {
+        java.util.Random random = new java.util.Random(7);
+        int[] offsets = new int[PartitionUtils.BLOCK_SCRATCH_LENGTH];
+        for (int round = 0; round < 20; round++) {
+            int[] array = random.ints(1000, 0, 50).toArray();
+            int[] expected = array.clone();
+            java.util.Arrays.sort(expected);
+            
+            int pivotIndex = PartitionUtils.blockPartition(array, 0, 999, random.nextInt(1000), offsets, null);
+            int pivot = array[pivotIndex];
+            
+            for (int i = 0; i < pivotIndex; i++) {
+                assertTrue(array[i] < pivot);
+            }
+            for (int i = pivotIndex + 1; i < 1000; i++) {
+                assertTrue(array[i] >= pivot);
+            }
+            java.util.Arrays.sort(array);
+            assertArrayEquals(expected, array);
+        }
+    }
+    
+    @Test
+    public void testPartitionLeft() {
+        java.util.Random random = new java.util.Random(11);
+        for (int size : new int[]{1, 2, 3, 10, 1000}) {
+            int[] array = random.ints(size, 0, 4).toArray();
+            int[] expected = array.clone();
+            java.util.Arrays.sort(expected);
+            
+            int pivotIndex = PartitionUtils.partitionLeft(array, 0, size - 1, random.nextInt(size), null);
+            int pivot = array[pivotIndex];
+            
+            for (int i = 0; i <= pivotIndex; i++) {
+                assertTrue(array[i] <= pivot);
+            }
+            for (int i = pivotIndex + 1; i < size; i++) {
+                assertTrue(array[i] > pivot);
+            }
+            java.util.Arrays.sort(array);
+            assertArrayEquals(expected, array);
+        }
+    }
+    
+    @Test
+    public void testPartitionLeftAllSameElements() {
+        int[] array = {4, 4, 4, 4, 4, 4};
+        MetricsCollector metrics = new MetricsCollector();
+        
+        assertEquals(5, PartitionUtils.partitionLeft(array, 0, 5, 2, metrics));
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+    }
+    
+    @Test
+    public void testPartitionIntBuffer() {
+        IntBuffer buffer = ByteBuffer.allocateDirect(8 * Integer.BYTES).asIntBuffer();
+        buffer.put(new int[]{3, 1, 4, 1, 5, 9, 2, 6});
+        
+        int pivotIndex = PartitionUtils.partition(buffer, 0, 7, 2, null);
+        
+        assertEquals(4, buffer.get(pivotIndex));
+        for (int i = 0; i < pivotIndex; i++) {
+            assertTrue(buffer.get(i) <= 4);
+        }
+        for (int i = pivotIndex + 1; i < 8; i++) {
+            assertTrue(buffer.get(i) >= 4);
+        }
+    }
+    
+    @Test
+    public void testHoarePartitionIntBuffer() {
+        IntBuffer buffer = IntBuffer.wrap(new int[]{3, 1, 4, 1, 5, 9, 2, 6});
+        MetricsCollector metrics = new MetricsCollector();
+        
+        int split = PartitionUtils.hoarePartition(buffer, 0, 7, 2, metrics);
+        
+        assertTrue(split >= 0 && split < 7);
+        for (int i = 0; i <= split; i++) {
+            assertTrue(buffer.get(i) <= 4);
+        }
+        for (int i = split + 1; i < 8; i++) {
+            assertTrue(buffer.get(i) >= 4);
+        }
+        assertTrue(metrics.getPerformanceMetrics().getComparisons() > 0);
+    }
+    
+    @Test
+    public void testMedianOfThreeIntBuffer() {
+        IntBuffer buffer = IntBuffer.wrap(new int[]{9, 0, 5, 0, 1});
+        
+        int mid = PartitionUtils.medianOfThree(buffer, 0, 4, null);
+        
+        assertEquals(2, mid);
+        assertEquals(5, buffer.get(mid));
+        assertEquals(1, buffer.get(0));
+        assertEquals(9, buffer.get(4));
+    }
+    
+    @Test
+    public void testMedianIndexLeavesArrayUnchanged() {
+        int[] array = {7, 3, 5};
+        MetricsCollector metrics = new MetricsCollector();
+        
+        assertEquals(2, PartitionUtils.medianIndex(array, 0, 1, 2, metrics));
+        assertArrayEquals(new int[]{7, 3, 5}, array);
+        assertEquals(3, metrics.getPerformanceMetrics().getComparisons());
+        assertEquals(0, metrics.getPerformanceMetrics().getSwaps());
+    }
+    
+    @Test
+    public void testNintherFindsMedianOfSortedRange() {
+        int[] array = new int[1000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+        
+        int pivot = PartitionUtils.ninther(array, 0, array.length - 1, null);
+        
+        assertTrue(Math.abs(array[pivot] - 500) < 100);
+    }
+    
+    @Test
+    public void testNintherSmallRangeUsesMedianOfThree() {
+        int[] array = {9, 4, 1, 8, 2};
+        int pivot = PartitionUtils.ninther(array, 0, 4, null);
+        
+        assertTrue(pivot >= 0 && pivot <= 4);
+        assertEquals(2, array[pivot]);
+    }
 }
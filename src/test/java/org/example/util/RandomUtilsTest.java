@@ -0,0 +1,52 @@
+package org.example.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RandomUtilsTest {
+    
+    @AfterEach
+    public void tearDown() {
+        RandomUtils.setSeed(System.nanoTime());
+    }
+    
+    @Test
+    public void testSameSeedReplaysSequence() {
+        RandomUtils.setSeed(42);
+        long[] first = RandomUtils.current().longs(16).toArray();
+        
+        RandomUtils.setSeed(42);
+        long[] second = RandomUtils.current().longs(16).toArray();
+        
+        assertArrayEquals(first, second);
+    }
+    
+    @Test
+    public void testDifferentSeedsDiffer() {
+        RandomUtils.setSeed(1);
+        long first = RandomUtils.current().nextLong();
+        
+        RandomUtils.setSeed(2);
+        long second = RandomUtils.current().nextLong();
+        
+        assertNotEquals(first, second);
+    }
+    
+    @Test
+    public void testCurrentIsStableWithinThread() {
+        assertSame(RandomUtils.current(), RandomUtils.current());
+    }
+    
+    @Test
+    public void testThreadsGetDistinctGenerators() throws InterruptedException {
+        Object mine = RandomUtils.current();
+        Object[] result = new Object[1];
+        Thread thread = new Thread(() -> result[0] = RandomUtils.current());
+        thread.start();
+        thread.join();
+        
+        assertNotNull(result[0]);
+        assertNotSame(mine, result[0]);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.util;
+
+import org.example.metrics.MetricsCollector;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScratchArenaTest {
+    
+    @Test
+    public void testBufferIsReused() {
+        ScratchArena arena = new ScratchArena(1000);
+        
+        int[] first = arena.intBuffer(100);
+        int[] second = arena.intBuffer(50);
+        
+        assertSame(first, second);
+        assertEquals(100, arena.retainedCapacity());
+    }
+    
+    @Test
+    public void testBufferGrowsByDoublingUpToCap() {
+        ScratchArena arena = new ScratchArena(300);
+        
+        arena.intBuffer(100);
+        assertEquals(200, arena.intBuffer(101).length);
+        assertEquals(300, arena.intBuffer(250).length);
+    }
+    
+    @Test
+    public void testOversizedRequestIsNotRetained() {
+        ScratchArena arena = new ScratchArena(100);
+        int[] retained = arena.intBuffer(80);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        int[] oversized = arena.intBuffer(500, metrics);
+        
+        assertEquals(500, oversized.length);
+        assertEquals(500, metrics.getPerformanceMetrics().getAllocations());
+        assertSame(retained, arena.intBuffer(80));
+    }
+    
+    @Test
+    public void testAllocationsReportedOnlyOnGrowth() {
+        ScratchArena arena = new ScratchArena(1000);
+        MetricsCollector metrics = new MetricsCollector();
+        
+        arena.intBuffer(64, metrics);
+        arena.intBuffer(64, metrics);
+        arena.intBuffer(32, metrics);
+        
+        assertEquals(64, metrics.getPerformanceMetrics().getAllocations());
+    }
+    
+    @Test
+    public void testRelease() {
+        ScratchArena arena = new ScratchArena(1000);
+        arena.intBuffer(10);
+        
+        arena.release();
+        
+        assertEquals(0, arena.retainedCapacity());
+    }
+    
+    @Test
+    public void testLocalIsPerThread() throws InterruptedException {
+        ScratchArena mine = ScratchArena.local();
+        ScratchArena[] other = new ScratchArena[1];
+        
+        Thread thread = new Thread(() -> other[0] = ScratchArena.local());
+        thread.start();
+        thread.join();
+        
+        assertSame(mine, ScratchArena.local());
+        assertNotSame(mine, other[0]);
+    }
+    
+    @Test
+    public void testNegativeArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ScratchArena(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ScratchArena(10).intBuffer(-1));
+    }
+}
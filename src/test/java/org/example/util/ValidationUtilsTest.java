@@ -79,4 +79,13 @@ public class ValidationUtilsTest {
         
         assertThrows(IllegalArgumentException.class, () -> ValidationUtils.validateNotNull(null, "test"));
     }
+    
+    @Test
+    public void testValidateSameLength() {
+        assertDoesNotThrow(() -> ValidationUtils.validateSameLength(3, 3, "Values"));
+        
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> ValidationUtils.validateSameLength(3, 2, "Values"));
+        assertTrue(exception.getMessage().contains("Values"));
+    }
 }